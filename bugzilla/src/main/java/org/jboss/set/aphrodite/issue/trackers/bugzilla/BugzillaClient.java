@@ -23,17 +23,22 @@
 package org.jboss.set.aphrodite.issue.trackers.bugzilla;
 
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.API_URL;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ASSIGNEE;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.BLOCKS;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.COMMENT;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.COMMENT_BODY;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.COMMENT_FIELDS;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.COMMENT_ID;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.COMMENT_IS_PRIVATE;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.COMPONENT;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.DEPENDS_ON;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ESTIMATED_TIME;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.FILTER_SHARER_ID;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.HOURS_WORKED;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ID;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ISSUE_IDS;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ISSUE_TYPE;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.LAST_UPDATED;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_ADD_COMMENT;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_CREATE_BUG;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_FILTER_SEARCH;
@@ -44,33 +49,51 @@ import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.MET
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.NAME;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.PRODUCT;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.PRIVATE_COMMENT;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.REPORTER;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.RESULT_BUGS;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.RESULT_FIELDS;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.RESULT_INCLUDE_FIELDS;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.RESULT_LIMIT;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.RESULT_OFFSET;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.RESULT_ORDER;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.RESULT_ORDER_BY_ID;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.RESULT_PERMISSIVE_SEARCH;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.RESULT_TOTAL_MATCHES;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.STATUS;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.SUMMARY;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.TARGET_RELEASE;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.UPDATE_FIELDS;
 import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.VERSION;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
+import org.apache.commons.httpclient.params.HttpConnectionManagerParams;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.xmlrpc.XmlRpcException;
@@ -82,13 +105,15 @@ import org.apache.xmlrpc.client.XmlRpcClientException;
 import org.apache.xmlrpc.client.XmlRpcCommonsTransport;
 import org.apache.xmlrpc.client.XmlRpcCommonsTransportFactory;
 import org.apache.xmlrpc.client.XmlRpcTransport;
-import org.apache.xmlrpc.client.XmlRpcTransportFactory;
+import org.jboss.set.aphrodite.common.ParallelTasks;
 import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.config.TransportType;
 import org.jboss.set.aphrodite.domain.Comment;
 import org.jboss.set.aphrodite.domain.FlagStatus;
 import org.jboss.set.aphrodite.domain.Issue;
 import org.jboss.set.aphrodite.domain.IssueStatus;
 import org.jboss.set.aphrodite.domain.SearchCriteria;
+import org.jboss.set.aphrodite.issue.trackers.bugzilla.StreamingTypeFactory.StreamingConfig;
 import org.jboss.set.aphrodite.spi.AphroditeException;
 import org.jboss.set.aphrodite.spi.NotFoundException;
 
@@ -103,33 +128,93 @@ public class BugzillaClient {
     static final Pattern FILTER_NAME_PARAM_PATTERN = Pattern.compile("namedcmd=([^&]+)");
     static final Pattern SHARER_ID_PARAM_PATTERN = Pattern.compile("sharer_id=([^&]+)");
 
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 4;
+    public static final int DEFAULT_CONNECTION_TIMEOUT_MILLIS = (int) TimeUnit.SECONDS.toMillis(30);
+    // Large searches can take minutes to be processed by the server
+    public static final int DEFAULT_REPLY_TIMEOUT_MILLIS = (int) TimeUnit.MINUTES.toMillis(10);
+    // Small enough for a page to be parsed and converted quickly, and for the server to answer well within the timeout
+    static final int SEARCH_PAGE_SIZE = 200;
+    // Bug.update changes all of its bugs in a single transaction, so keep them short
+    static final int UPDATE_CHUNK_SIZE = 100;
+    // Fields which usually differ from one bug to another, so they are left out of bulk updates
+    static final Set<String> PER_BUG_FIELDS = new HashSet<>(
+            Arrays.asList(SUMMARY, ASSIGNEE, REPORTER, HOURS_WORKED, ESTIMATED_TIME, DEPENDS_ON, BLOCKS));
+
     private final ExecutorService executorService;
     private final IssueWrapper WRAPPER = new IssueWrapper();
     private final URL baseURL;
     private final String apiKey;
+    private final int maxConcurrentRequests;
+    private final boolean eagerLoading;
+    private final MultiThreadedHttpConnectionManager connectionManager;
+    private final XmlRpcClient rpcClient;
+    // null when XML-RPC is used
+    private final BugzillaRestTransport restTransport;
 
     public BugzillaClient(URL baseURL, String apiKey, ExecutorService executorService) throws IllegalStateException {
+        this(baseURL, apiKey, executorService, DEFAULT_MAX_CONNECTIONS_PER_HOST, DEFAULT_CONNECTION_TIMEOUT_MILLIS,
+                DEFAULT_REPLY_TIMEOUT_MILLIS, false);
+    }
+
+    /**
+     * @param maxConnectionsPerHost the size of the connection pool shared by all requests of this client, and the
+     *                              maximum number of pages of a search requested at once.
+     * @param connectionTimeoutMillis the timeout to establish a connection, zero for no timeout.
+     * @param replyTimeoutMillis the timeout to wait for data on an established connection, zero for no timeout.
+     * @param eagerLoading whether the comments of searched issues are retrieved with each page of the search, instead
+     *                     of when the comments of one of the issues of the page are first accessed.
+     */
+    public BugzillaClient(URL baseURL, String apiKey, ExecutorService executorService, int maxConnectionsPerHost,
+                          int connectionTimeoutMillis, int replyTimeoutMillis, boolean eagerLoading) throws IllegalStateException {
+        this(baseURL, apiKey, executorService, maxConnectionsPerHost, connectionTimeoutMillis, replyTimeoutMillis,
+                eagerLoading, TransportType.XMLRPC);
+    }
+
+    /**
+     * @param transport whether the requests are sent to the XML-RPC API, or to the JSON REST API of Bugzilla.
+     */
+    public BugzillaClient(URL baseURL, String apiKey, ExecutorService executorService, int maxConnectionsPerHost,
+                          int connectionTimeoutMillis, int replyTimeoutMillis, boolean eagerLoading,
+                          TransportType transport) throws IllegalStateException {
         this.baseURL = baseURL;
         // remove old authentication login via username and password in call parameters.
         // set header with API key later in XmlRpcClient for every call.
         this.apiKey = apiKey;
         this.executorService = executorService;
-    }
-
+        this.maxConcurrentRequests = maxConnectionsPerHost;
+        this.eagerLoading = eagerLoading;
+
+        connectionManager = new MultiThreadedHttpConnectionManager();
+        HttpConnectionManagerParams params = connectionManager.getParams();
+        params.setDefaultMaxConnectionsPerHost(maxConnectionsPerHost);
+        params.setMaxTotalConnections(maxConnectionsPerHost);
+        params.setConnectionTimeout(connectionTimeoutMillis);
+        params.setSoTimeout(replyTimeoutMillis);
+        rpcClient = createRpcClient(connectionTimeoutMillis, replyTimeoutMillis);
+        restTransport = transport == TransportType.REST ? new BugzillaRestTransport(baseURL, apiKey, connectionManager) : null;
+    }
+
+    /**
+     * The comments of the issue are only retrieved when they are first accessed, see
+     * {@link #getIssueWithComments(String)} to retrieve them with the issue.
+     */
     public Issue getIssue(String trackerId) throws NotFoundException {
         Map<String, Object> params = new HashMap<>();
         params.put(RESULT_INCLUDE_FIELDS, RESULT_FIELDS);
         params.put(ISSUE_IDS, trackerId);
         params.put(RESULT_PERMISSIVE_SEARCH, true);
 
-        Map<String, ?> resultMap = executeRequest(XMLRPC.RPC_STRUCT, METHOD_GET_BUG, params);
+        Map<String, ?> resultMap = executeRequest(XMLRPC.RPC_STRUCT, struct -> {
+            // BugZilla does not contain the "Type" parameter, required by the Issue Class.
+            if (struct.containsKey(SUMMARY))
+                struct.putIfAbsent(ISSUE_TYPE, "UNDEFINED");
+            return toIssue(struct);
+        }, METHOD_GET_BUG, params);
         Object[] bugs = (Object[]) resultMap.get(RESULT_BUGS);
         if (bugs.length == 1) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> results = (Map<String, Object>) bugs[0];
-            // BugZilla does not contain the "Type" parameter, required by the Issue Class.
-            results.putIfAbsent(ISSUE_TYPE, "UNDEFINED");
-            return WRAPPER.bugzillaBugToIssue(results, baseURL);
+            BugzillaIssue issue = (BugzillaIssue) bugs[0];
+            issue.setCommentsLoader(() -> getCommentsForIssue(issue.getTrackerId().get()));
+            return issue;
         } else {
             Utils.logWarnMessage(LOG, "Zero or more than one bug found with id: " + trackerId);
         }
@@ -152,16 +237,12 @@ public class BugzillaClient {
         params.put(ISSUE_IDS, ids.toArray());
         params.put(RESULT_PERMISSIVE_SEARCH, true);
 
-        Map<String, ?> resultMap = executeRequest(XMLRPC.RPC_STRUCT, METHOD_GET_BUG, params);
+        Map<String, ?> resultMap = executeRequest(XMLRPC.RPC_STRUCT, this::toIssue, METHOD_GET_BUG, params);
         Object[] bugs = (Object[]) resultMap.get(RESULT_BUGS);
 
-        List<Issue> issues = new ArrayList<>();
-        for (Object bugObject : bugs) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> bug = (Map<String, Object>) bugObject;
-            issues.add(WRAPPER.bugzillaBugToIssue(bug, baseURL));
-        }
-        return issues;
+        Map<String, BugzillaIssue> issues = fetchAllIssues(bugs);
+        loadComments(issues);
+        return new ArrayList<>(issues.values());
     }
 
     public Issue getIssueWithComments(URL url) throws NotFoundException {
@@ -193,16 +274,17 @@ public class BugzillaClient {
         return getCommentsForIssue(Utils.getParamaterFromUrl(ID_PARAM_PATTERN, issue.getURL()));
     }
 
-    public Map<String, List<Comment>> getCommentsForIssues(Map<String, Issue> issues) {
+    public Map<String, List<Comment>> getCommentsForIssues(Map<String, ? extends Issue> issues) {
         if (issues == null || issues.isEmpty()) {
-            Collections.emptyMap();
+            return Collections.emptyMap();
         }
 
         Map<String, Object> params = new HashMap<>();
         params.put(ISSUE_IDS, extractIssueIdsList(issues.values()));
         params.put(RESULT_INCLUDE_FIELDS, COMMENT_FIELDS);
 
-        return buildMapOfCommentsIndexedByBugId(executeRequest(XMLRPC.RPC_STRUCT, METHOD_GET_COMMENT, params));
+        return buildMapOfCommentsIndexedByBugId(
+                executeRequest(XMLRPC.RPC_STRUCT, BugzillaClient::toComment, METHOD_GET_COMMENT, params));
     }
 
     private Map<String, List<Comment>> buildMapOfCommentsIndexedByBugId(Map<String, Object> results) {
@@ -225,19 +307,19 @@ public class BugzillaClient {
     private List<Comment> buildCommentsForBug(final Object[] commentObjArray) {
         List<Comment> comments = new ArrayList<>(commentObjArray.length);
         for (Object o : commentObjArray) {
-            comments.add(buildComment(XMLRPC.cast(XMLRPC.RPC_STRUCT, o)));
+            comments.add((Comment) o);
         }
         return comments;
     }
 
-    private Comment buildComment(Map<String, Object> comment) {
+    private static Comment buildComment(Map<String, Object> comment) {
         String id = String.valueOf(comment.get(COMMENT_ID));
         String body = (String) comment.get(COMMENT_BODY);
         boolean isPrivate = (Boolean) comment.get(COMMENT_IS_PRIVATE);
         return new Comment(id, body, isPrivate);
     }
 
-    private Object[] extractIssueIdsList(Collection<Issue> collection) {
+    private Object[] extractIssueIdsList(Collection<? extends Issue> collection) {
         return collection.stream()
                 .filter(Objects::nonNull)
                 .map(issue -> issue.getTrackerId().get())
@@ -249,7 +331,7 @@ public class BugzillaClient {
         Map<String, Object> params = new HashMap<>();
         params.put(ISSUE_IDS, trackerId);
         params.put(RESULT_INCLUDE_FIELDS, COMMENT_FIELDS);
-        Map<String, ?> results = executeRequest(XMLRPC.RPC_STRUCT, METHOD_GET_COMMENT, params);
+        Map<String, ?> results = executeRequest(XMLRPC.RPC_STRUCT, BugzillaClient::toComment, METHOD_GET_COMMENT, params);
 
         if (results != null && !results.isEmpty() && results.containsKey(RESULT_BUGS)) {
             Map<String, Object> issues = XMLRPC.cast(XMLRPC.RPC_STRUCT, results.get(RESULT_BUGS));
@@ -259,6 +341,13 @@ public class BugzillaClient {
     }
 
     public List<Issue> searchIssuesByFilter(URL filterUrl) throws NotFoundException {
+        return searchIssuesByFilter(filterUrl, null);
+    }
+
+    /**
+     * @param changedSince if not null, only the issues changed at or after this time are retrieved.
+     */
+    List<Issue> searchIssuesByFilter(URL filterUrl, Date changedSince) throws NotFoundException {
         String filterName = Utils.getParamaterFromUrl(FILTER_NAME_PARAM_PATTERN, filterUrl);
         int sharerId = Integer.parseInt(Utils.getParamaterFromUrl(SHARER_ID_PARAM_PATTERN, filterUrl));
         Map<String, Object> queryMap = new HashMap<>();
@@ -267,7 +356,7 @@ public class BugzillaClient {
         queryMap.put(RESULT_INCLUDE_FIELDS, RESULT_FIELDS);
 
         try {
-            return searchIssues(queryMap);
+            return searchIssues(queryMap, changedSince);
         } catch (RuntimeException e) {
             throw new NotFoundException("Unable to retrieve issues associated with filter url: " + filterUrl, e);
         }
@@ -284,30 +373,128 @@ public class BugzillaClient {
         return searchIssues(queryMap);
     }
 
+    /**
+     * @param changedSince if not null, only the issues changed at or after this time are retrieved.
+     */
+    List<Issue> searchIssues(Map<String, Object> queryMap, Date changedSince) {
+        if (changedSince == null)
+            return searchIssues(queryMap);
+
+        Map<String, Object> changedQueryMap = new HashMap<>(queryMap);
+        changedQueryMap.put(LAST_UPDATED, changedSince);
+        return searchIssues(changedQueryMap);
+    }
+
+    /**
+     * The issues are retrieved in pages of at most {@link #SEARCH_PAGE_SIZE} issues using <code>limit</code> and
+     * <code>offset</code>, up to the limit of the query if any. The issues are ordered by id unless the query has an
+     * order, so that the pages do not overlap nor miss issues. Once the first page is received, the following pages
+     * are requested in batches of <code>maxConnectionsPerHost</code> pages, with the calling thread requesting one of
+     * the pages of each batch so that it never waits for a page still queued on the executor. Each page is converted
+     * as soon as it is parsed, so that the raw responses do not accumulate in memory.
+     *
+     * The remaining pages are requested until the total number of matches, when returned by the server, or
+     * otherwise until a page is not full.
+     */
     private List<Issue> searchIssues(Map<String, Object> queryMap) {
-        List<Issue> issueList = new ArrayList<>(0);
-        Map<String, ?> resultMap = executeRequest(XMLRPC.RPC_STRUCT, METHOD_SEARCH, queryMap);
-        if (resultMap != null && !resultMap.isEmpty()) {
-            Map<String, Issue> issues = fetchAllIssues(XMLRPC.cast(XMLRPC.RPC_ARRAY, resultMap.get(RESULT_BUGS)));
-            Map<String, List<Comment>> comments = getCommentsForIssues(issues);
+        Object limitParam = queryMap.get(RESULT_LIMIT);
+        int limit = limitParam instanceof Integer ? (Integer) limitParam : 0;
+        int pageSize = limit > 0 ? Math.min(limit, SEARCH_PAGE_SIZE) : SEARCH_PAGE_SIZE;
+
+        Map<String, Object> orderedQueryMap = new HashMap<>(queryMap);
+        orderedQueryMap.putIfAbsent(RESULT_ORDER, RESULT_ORDER_BY_ID);
+
+        Map<String, Issue> issues = new LinkedHashMap<>();
+        Map<String, ?> firstPage = searchPage(orderedQueryMap, 0, pageSize);
+        if (addSearchPage(firstPage, issues) < pageSize)
+            return new ArrayList<>(issues.values());
+
+        Object totalMatches = firstPage.get(RESULT_TOTAL_MATCHES);
+        int total = totalMatches instanceof Integer ? (Integer) totalMatches : Integer.MAX_VALUE;
+        if (limit > 0)
+            total = Math.min(total, limit);
+
+        int offset = pageSize;
+        boolean exhausted = false;
+        while (!exhausted && offset < total) {
+            List<Integer> offsets = new ArrayList<>();
+            for (; offsets.size() < maxConcurrentRequests && offset < total; offset += pageSize)
+                offsets.add(offset);
+
+            final int end = total;
+            List<Map<String, ?>> pages = ParallelTasks.map(executorService, maxConcurrentRequests, offsets,
+                    pageOffset -> searchPage(orderedQueryMap, pageOffset, Math.min(pageSize, end - pageOffset)));
+            for (int i = 0; i < pages.size() && !exhausted; i++) {
+                if (addSearchPage(pages.get(i), issues) < Math.min(pageSize, total - offsets.get(i)))
+                    exhausted = true;
+            }
+        }
+        return new ArrayList<>(issues.values());
+    }
 
-            issueList = issues.keySet().stream()
-                    .filter(Objects::nonNull)
-                    .map(id -> associateCommentsToIssue(issues.get(id), comments))
-                    .collect(Collectors.toList());
+    private Map<String, ?> searchPage(Map<String, Object> queryMap, int offset, int limit) {
+        Map<String, Object> params = new HashMap<>(queryMap);
+        params.put(RESULT_LIMIT, limit);
+        params.put(RESULT_OFFSET, offset);
+        if (LOG.isDebugEnabled())
+            LOG.debug("Searching issues " + offset + " to " + (offset + limit));
+        return executeRequest(XMLRPC.RPC_STRUCT, this::toIssue, METHOD_SEARCH, params);
+    }
+
+    /**
+     * @return the number of issues in the page.
+     */
+    private int addSearchPage(Map<String, ?> resultMap, Map<String, Issue> issueMap) {
+        if (resultMap == null || resultMap.isEmpty())
+            return 0;
+
+        Object[] bugs = XMLRPC.cast(XMLRPC.RPC_ARRAY, resultMap.get(RESULT_BUGS));
+        Map<String, BugzillaIssue> issues = fetchAllIssues(bugs);
+        loadComments(issues);
+        issueMap.putAll(issues);
+        return bugs.length;
+    }
+
+    /**
+     * The comments of all the issues are retrieved with a single request, either immediately if eager loading is
+     * enabled, or the first time the comments of one of the issues are accessed.
+     */
+    private void loadComments(Map<String, BugzillaIssue> issues) {
+        if (issues.isEmpty())
+            return;
+
+        if (eagerLoading) {
+            Map<String, List<Comment>> comments = getCommentsForIssues(issues);
+            issues.values().forEach(issue -> associateCommentsToIssue(issue, comments));
+            return;
         }
-        return issueList;
+
+        Supplier<Map<String, List<Comment>>> comments = memoize(() -> getCommentsForIssues(issues));
+        issues.forEach((id, issue) -> issue.setCommentsLoader(() -> comments.get().getOrDefault(id, new ArrayList<>())));
+    }
+
+    private static <T> Supplier<T> memoize(Supplier<T> supplier) {
+        return new Supplier<T>() {
+            private T value;
+
+            @Override
+            public synchronized T get() {
+                if (value == null)
+                    value = supplier.get();
+                return value;
+            }
+        };
     }
 
     private Issue associateCommentsToIssue(Issue issue, Map<String, List<Comment>> comments) {
-        issue.setComments(comments.get(issue.getTrackerId().get()));
+        issue.setComments(comments.getOrDefault(issue.getTrackerId().get(), new ArrayList<>()));
         return issue;
     }
 
-    private Map<String, Issue> fetchAllIssues(final Object[] bugs) {
-        Map<String, Issue> issues = new HashMap<>();
-        for (Map<String, Object> struct : XMLRPC.iterable(XMLRPC.RPC_STRUCT, bugs)) {
-            Issue issue = WRAPPER.bugzillaBugToIssue(struct, baseURL);
+    private Map<String, BugzillaIssue> fetchAllIssues(final Object[] bugs) {
+        Map<String, BugzillaIssue> issues = new LinkedHashMap<>();
+        for (Object bug : bugs) {
+            BugzillaIssue issue = (BugzillaIssue) bug;
             issues.put(issue.getTrackerId().get(), issue);
         }
         return issues;
@@ -318,6 +505,81 @@ public class BugzillaClient {
         return runCommand(METHOD_UPDATE_BUG, params);
     }
 
+    /**
+     * @return the Bug.update parameters of the issue which are usually shared by several issues, i.e. without its id
+     * and without the fields of {@link #PER_BUG_FIELDS}. Issues with equal parameters can be updated together with
+     * {@link #updateIssues(Map, Collection)}.
+     */
+    public Map<String, Object> getBulkUpdate(Issue issue) throws AphroditeException {
+        Map<String, Object> params = normalize(WRAPPER.issueToBugzillaBug(issue));
+        params.remove(ISSUE_IDS);
+        params.keySet().removeAll(PER_BUG_FIELDS);
+        return params;
+    }
+
+    /**
+     * @param current the issue as currently stored by Bugzilla, or null if unknown.
+     * @return the Bug.update parameters of the issue which are left out by {@link #getBulkUpdate(Issue)}, except
+     * those equal to the ones of the current issue. All of them are returned if the current issue is unknown.
+     */
+    public Map<String, Object> getPerBugUpdate(Issue issue, Issue current) throws AphroditeException {
+        Map<String, Object> params = normalize(WRAPPER.issueToBugzillaBug(issue));
+        params.keySet().retainAll(PER_BUG_FIELDS);
+        if (current != null) {
+            Map<String, Object> currentParams = normalize(WRAPPER.issueToBugzillaBug(current));
+            params.entrySet().removeIf(param -> Objects.equals(param.getValue(), currentParams.get(param.getKey())));
+        }
+        return params;
+    }
+
+    // Arrays do not implement equals, so they are replaced by lists, which are sent as arrays as well
+    @SuppressWarnings("unchecked")
+    private static <T> T normalize(T value) {
+        if (value instanceof Object[])
+            return (T) normalize(Arrays.asList((Object[]) value));
+        if (value instanceof List)
+            return (T) ((List<?>) value).stream().map(BugzillaClient::normalize).collect(Collectors.toList());
+        if (value instanceof Map) {
+            Map<Object, Object> map = new HashMap<>();
+            ((Map<?, ?>) value).forEach((key, element) -> map.put(key, normalize(element)));
+            return (T) map;
+        }
+        return value;
+    }
+
+    /**
+     * Apply the same update to all of the issues in a single Bug.update call.
+     *
+     * @param update the parameters returned by {@link #getBulkUpdate(Issue)} for each of the issues.
+     */
+    public boolean updateIssues(Map<String, Object> update, Collection<Issue> issues) throws NotFoundException {
+        List<String> ids = new ArrayList<>(issues.size());
+        for (Issue issue : issues)
+            ids.add(getTrackerId(issue));
+
+        Map<String, Object> params = new HashMap<>(update);
+        params.put(ISSUE_IDS, ids.toArray());
+        return runCommand(METHOD_UPDATE_BUG, params);
+    }
+
+    /**
+     * Apply the given Bug.update parameters to a single bug, e.g. those returned by
+     * {@link #getPerBugUpdate(Issue, Issue)}.
+     */
+    public boolean updateIssue(String trackerId, Map<String, Object> changes) {
+        Map<String, Object> params = new HashMap<>(changes);
+        params.put(ISSUE_IDS, trackerId);
+        return runCommand(METHOD_UPDATE_BUG, params);
+    }
+
+    // The URL is only parsed when the issue has no tracker id
+    String getTrackerId(Issue issue) throws NotFoundException {
+        Optional<String> trackerId = issue.getTrackerId();
+        if (trackerId.isPresent())
+            return trackerId.get();
+        return Utils.getParamaterFromUrl(ID_PARAM_PATTERN, issue.getURL());
+    }
+
     public boolean updateTargetRelease(int id, final String... targetRelease) {
         return updateField(id, TARGET_RELEASE, targetRelease);
     }
@@ -334,8 +596,79 @@ public class BugzillaClient {
         return updateField(id, ESTIMATED_TIME, worktime);
     }
 
+    /**
+     * Bulk variant of {@link #updateTargetRelease(int, String...)}, see {@link #updateBugs(Collection, Map)}.
+     */
+    public Map<Integer, Boolean> updateTargetRelease(Collection<Integer> ids, final String... targetRelease) {
+        return updateBugs(ids, Collections.singletonMap(TARGET_RELEASE, targetRelease));
+    }
+
+    /**
+     * Bulk variant of {@link #updateStatus(int, IssueStatus)}, see {@link #updateBugs(Collection, Map)}.
+     */
+    public Map<Integer, Boolean> updateStatus(Collection<Integer> ids, IssueStatus status) {
+        return updateBugs(ids, Collections.singletonMap(STATUS, status.toString()));
+    }
+
+    /**
+     * Bulk variant of {@link #updateEstimate(int, double)}, see {@link #updateBugs(Collection, Map)}.
+     */
+    public Map<Integer, Boolean> updateEstimate(Collection<Integer> ids, double worktime) {
+        return updateBugs(ids, Collections.singletonMap(ESTIMATED_TIME, worktime));
+    }
+
+    /**
+     * Bulk variant of {@link #updateFlags(int, String, FlagStatus)}, see {@link #updateBugs(Collection, Map)}.
+     */
+    public Map<Integer, Boolean> updateFlags(Collection<Integer> ids, String name, FlagStatus status) {
+        return updateBugs(ids, getFlagChanges(name, status));
+    }
+
+    /**
+     * Apply the same changes to all of the bugs. The bugs are updated in chunks of {@link #UPDATE_CHUNK_SIZE} bugs,
+     * with one Bug.update call per chunk and at most <code>maxConnectionsPerHost</code> calls in flight. The bugs of a
+     * chunk which is rejected, e.g. because one of them does not exist, are then updated one by one.
+     *
+     * @return whether each bug was updated, in the iteration order of the ids.
+     */
+    public Map<Integer, Boolean> updateBugs(Collection<Integer> ids, Map<String, Object> changes) {
+        List<Integer> idList = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int i = 0; i < idList.size(); i += UPDATE_CHUNK_SIZE)
+            chunks.add(idList.subList(i, Math.min(i + UPDATE_CHUNK_SIZE, idList.size())));
+
+        Map<Integer, Boolean> results = new LinkedHashMap<>();
+        ParallelTasks.map(executorService, maxConcurrentRequests, chunks, chunk -> updateChunk(chunk, changes))
+                .forEach(results::putAll);
+        return results;
+    }
+
+    private Map<Integer, Boolean> updateChunk(List<Integer> ids, Map<String, Object> changes) {
+        Map<Integer, Boolean> results = new LinkedHashMap<>();
+        try {
+            updateBugs(ids.toArray(), changes);
+            ids.forEach(id -> results.put(id, true));
+        } catch (RuntimeException e) {
+            if (ids.size() == 1) {
+                Utils.logException(LOG, "Unable to update bug " + ids.get(0) + ":", e);
+                results.put(ids.get(0), false);
+            } else {
+                if (LOG.isDebugEnabled())
+                    LOG.debug("Unable to update bugs " + ids + " together, updating them one by one", e);
+                ids.forEach(id -> results.putAll(updateChunk(Collections.singletonList(id), changes)));
+            }
+        }
+        return results;
+    }
+
+    private void updateBugs(Object[] ids, Map<String, Object> changes) {
+        Map<String, Object> params = new HashMap<>(changes);
+        params.put(ISSUE_IDS, ids);
+        runCommand(METHOD_UPDATE_BUG, params);
+    }
+
     public boolean postComment(Issue issue, Comment comment) throws NotFoundException {
-        String trackerId = issue.getTrackerId().orElse(Utils.getParamaterFromUrl(ID_PARAM_PATTERN, issue.getURL()));
+        String trackerId = getTrackerId(issue);
         return postComment(new Integer(trackerId), comment.getBody(), comment.isPrivate());
     }
 
@@ -348,24 +681,16 @@ public class BugzillaClient {
     }
 
     public boolean postComment(Map<Issue, Comment> commentMap) {
-        List<CompletableFuture<Boolean>> requests = commentMap.entrySet().stream()
-                .map(entry -> CompletableFuture.supplyAsync(
-                        () -> postCommentAndLogExceptions(entry.getKey(), entry.getValue()), executorService))
-                .collect(Collectors.toList());
-
-        return requests.stream()
-                .map(CompletableFuture::join)
+        return ParallelTasks.map(executorService, maxConcurrentRequests, new ArrayList<>(commentMap.entrySet()),
+                entry -> postCommentAndLogExceptions(entry.getKey(), entry.getValue()))
+                .stream()
                 .noneMatch(failed -> !failed);
     }
 
     public boolean postComment(Collection<Issue> issues, Comment comment) {
-        List<CompletableFuture<Boolean>> requests = issues.stream()
-                .map(issue -> CompletableFuture.supplyAsync(
-                        () -> postCommentAndLogExceptions(issue, comment), executorService))
-                .collect(Collectors.toList());
-
-        return requests.stream()
-                .map(CompletableFuture::join)
+        return ParallelTasks.map(executorService, maxConcurrentRequests, new ArrayList<>(issues),
+                issue -> postCommentAndLogExceptions(issue, comment))
+                .stream()
                 .noneMatch(failed -> !failed);
     }
 
@@ -379,6 +704,12 @@ public class BugzillaClient {
     }
 
     public boolean updateFlags(int ids, String name, FlagStatus status) {
+        Map<String, Object> params = getFlagChanges(name, status);
+        params.put(ISSUE_IDS, ids);
+        return runCommand(METHOD_UPDATE_BUG, params);
+    }
+
+    private Map<String, Object> getFlagChanges(String name, FlagStatus status) {
         String flagStatus = status.getSymbol();
         Map<String, String> updates = new HashMap<>();
         updates.put(NAME, name);
@@ -386,18 +717,16 @@ public class BugzillaClient {
         Object[] updateArray = { updates };
 
         Map<String, Object> params = new HashMap<>();
-        params.put(ISSUE_IDS, ids);
         params.put(UPDATE_FIELDS, updateArray);
         params.put(RESULT_PERMISSIVE_SEARCH, true);
-
-        return runCommand(METHOD_UPDATE_BUG, params);
+        return params;
     }
 
     private List<Comment> getCommentList(Map<String, Object> issues) {
         List<Comment> issueComments = new ArrayList<>();
         for (Object[] comments : XMLRPC.iterable(XMLRPC.RPC_ARRAY, issues.values())) {
-            for (Map<String, Object> comment : XMLRPC.iterable(XMLRPC.RPC_STRUCT, comments)) {
-                issueComments.add(buildComment(comment));
+            for (Object comment : comments) {
+                issueComments.add((Comment) comment);
             }
         }
         return issueComments;
@@ -426,23 +755,88 @@ public class BugzillaClient {
     }
 
     private <T> T executeRequest(final XMLRPC<T> type, String method, Object... params) {
+        if (restTransport != null)
+            return executeRequest(type, struct -> struct, method, params);
         try {
             return type.cast(getRpcClient().execute(method, params));
         } catch (XmlRpcException e) {
-            Utils.logException(LOG, e);
-            throw new RuntimeException(e); // TODO improve exception handling
+            throw requestFailed(method, e);
+        }
+    }
+
+    /**
+     * Same as {@link #executeRequest(XMLRPC, String, Object...)}, except that each struct of the response is
+     * converted while the response is parsed, see {@link StreamingTypeFactory}.
+     */
+    private <T> T executeRequest(final XMLRPC<T> type, Function<Map<String, Object>, Object> converter, String method,
+            Object... params) {
+        if (restTransport != null)
+            return type.cast(executeRestRequest(converter, method, params));
+
+        XmlRpcClientConfigImpl defaultConfig = (XmlRpcClientConfigImpl) getRpcClient().getClientConfig();
+        XmlRpcClientConfig config = initClientConfig(new StreamingConfig(converter), defaultConfig.getServerURL(),
+                defaultConfig.getConnectionTimeout(), defaultConfig.getReplyTimeout());
+        try {
+            return type.cast(getRpcClient().execute(config, method, params));
+        } catch (XmlRpcException e) {
+            throw requestFailed(method, e);
+        }
+    }
+
+    private Object executeRestRequest(Function<Map<String, Object>, Object> converter, String method, Object... params) {
+        try {
+            return restTransport.execute(method, getRestParams(params), converter);
+        } catch (IOException e) {
+            throw requestFailed(method, e);
         }
     }
 
+    /**
+     * Both transports report a failed request, whether rejected by Bugzilla or not completed, as an
+     * <code>IllegalStateException</code> caused by the transport's exception. The failure is only logged at debug
+     * level here, it is reported where the exception is handled, which may also recover from it, e.g. by
+     * {@link #updateChunk(List, Map)}.
+     */
+    private static IllegalStateException requestFailed(String method, Exception cause) {
+        IllegalStateException failure = new IllegalStateException("Bugzilla request " + method + " failed", cause);
+        if (LOG.isDebugEnabled())
+            LOG.debug(failure.getMessage(), cause);
+        return failure;
+    }
+
+    // All the methods are called with a single struct of named parameters
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getRestParams(Object... params) {
+        return (Map<String, Object>) params[0];
+    }
+
+    // Only the bug structs of Bug.get and Bug.search responses have a summary, their flags are kept as structs
+    private Object toIssue(Map<String, Object> struct) {
+        return struct.containsKey(SUMMARY) ? WRAPPER.bugzillaBugToIssue(struct, baseURL) : struct;
+    }
+
+    private static Object toComment(Map<String, Object> struct) {
+        return struct.containsKey(COMMENT_BODY) && struct.containsKey(COMMENT_IS_PRIVATE) ? buildComment(struct) : struct;
+    }
+
     private XmlRpcClient getRpcClient() {
+        return rpcClient;
+    }
+
+    /**
+     * The client is thread safe: each request gets its own transport, and all transports share the pooled
+     * connections of a single <code>HttpClient</code>, so that they are kept alive between requests.
+     */
+    private XmlRpcClient createRpcClient(int connectionTimeoutMillis, int replyTimeoutMillis) {
         String apiURL = baseURL + API_URL;
         XmlRpcClient rpcClient = new XmlRpcClient();
         try {
             URL url = new URL(apiURL);
-            rpcClient.setConfig(getClientConfig(url));
+            rpcClient.setConfig(initClientConfig(new XmlRpcClientConfigImpl(), url, connectionTimeoutMillis, replyTimeoutMillis));
+            rpcClient.setTypeFactory(new StreamingTypeFactory(rpcClient));
             // Sometimes org.apache.commons.httpclient.NoHttpResponseException is caught when processing request: The server
             // bugzilla.redhat.com failed to respond, but result seems fine after auto request retrying.
-            XmlRpcTransportFactory xmlRpcTransportFactory = new XmlRpcCommonsTransportFactory(rpcClient) {
+            XmlRpcCommonsTransportFactory xmlRpcTransportFactory = new XmlRpcCommonsTransportFactory(rpcClient) {
                 @Override
                 public XmlRpcTransport getTransport() {
                     return new XmlRpcCommonsTransport(this) {
@@ -455,28 +849,46 @@ public class BugzillaClient {
                     };
                 }
             };
+            xmlRpcTransportFactory.setHttpClient(new HttpClient(connectionManager));
             rpcClient.setTransportFactory(xmlRpcTransportFactory);
         } catch (MalformedURLException e) {
             Utils.logException(LOG, e);
-            throw new RuntimeException(e);
+            throw new IllegalStateException(e);
         }
         return rpcClient;
     }
 
-    private XmlRpcClientConfig getClientConfig(URL apiURL) {
-        XmlRpcClientConfigImpl config = new XmlRpcClientConfigImpl();
+    private static XmlRpcClientConfig initClientConfig(XmlRpcClientConfigImpl config, URL apiURL,
+            int connectionTimeoutMillis, int replyTimeoutMillis) {
         config.setServerURL(apiURL);
         config.setEnabledForExtensions(true);
         config.setContentLengthOptional(false);
+        config.setConnectionTimeout(connectionTimeoutMillis);
+        config.setReplyTimeout(replyTimeoutMillis);
         return config;
     }
 
+    /**
+     * Close the pooled connections of this client.
+     */
+    public void close() {
+        connectionManager.shutdown();
+    }
+
     private boolean runCommand(String method, Object... params) {
+        if (restTransport != null) {
+            try {
+                restTransport.execute(method, getRestParams(params), struct -> struct);
+                return true;
+            } catch (IOException e) {
+                throw requestFailed(method, e);
+            }
+        }
         try {
             getRpcClient().execute(method, params);
             return true;
         } catch (XmlRpcException e) {
-            throw new IllegalStateException(e);
+            throw requestFailed(method, e);
         }
     }
 
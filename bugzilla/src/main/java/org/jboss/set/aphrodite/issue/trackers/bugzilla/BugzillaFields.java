@@ -31,6 +31,7 @@ import java.util.Optional;
  */
 class BugzillaFields {
     static final String API_URL = "xmlrpc.cgi";
+    static final String REST_URL = "rest/";
     static final String ID_QUERY = "show_bug.cgi?id=";
 
     static final String LOGIN = "Bugzilla_login";
@@ -48,8 +49,11 @@ class BugzillaFields {
     static final String CREATION_TIME = "creation_time";
     static final String DEPENDS_ON = "depends_on";
     static final String EXTERNAL_URL = "external_bugs";
+    static final String FLAG_CREATION_DATE = "creation_date";
+    static final String FLAG_MODIFICATION_DATE = "modification_date";
     static final String DESCRIPTION = "description";
     static final String ESTIMATED_TIME = "estimated_time";
+    static final String REMAINING_TIME = "remaining_time";
     static final String FILTER_SHARER_ID = "sharer_id";
     static final String FLAG_ACK_DEVEL = "devel_ack";
     static final String FLAG_ACK_PM = "pm_ack";
@@ -87,6 +91,10 @@ class BugzillaFields {
     static final String RESULT_BUGS = "bugs";
     static final String RESULT_INCLUDE_FIELDS = "include_fields";
     static final String RESULT_LIMIT = "limit";
+    static final String RESULT_OFFSET = "offset";
+    static final String RESULT_ORDER = "order";
+    static final String RESULT_ORDER_BY_ID = "bug_id";
+    static final String RESULT_TOTAL_MATCHES = "total_matches";
     static final String RESULT_PERMISSIVE_SEARCH = "permissive";
 
     static final String SEARCH_EQUALS = "equals";
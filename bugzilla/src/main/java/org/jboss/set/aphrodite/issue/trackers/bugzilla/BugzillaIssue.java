@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.set.aphrodite.issue.trackers.bugzilla;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.jboss.set.aphrodite.config.TrackerType;
+import org.jboss.set.aphrodite.domain.Comment;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.Stage;
+
+/**
+ * A Bugzilla issue whose comments can be retrieved on first access, see {@link BugzillaClient}.
+ */
+public class BugzillaIssue extends Issue {
+
+    // Set when the comments are fetched on first access, cleared once they are
+    private Supplier<List<Comment>> commentsLoader;
+    // The pull requests referenced by the comments, cleared when the comments are replaced
+    private List<URL> pullRequests;
+
+    public BugzillaIssue(URL url) {
+        super(url, TrackerType.BUGZILLA);
+    }
+
+    @Override
+    public synchronized List<Comment> getComments() {
+        if (commentsLoader != null) {
+            super.setComments(commentsLoader.get());
+            commentsLoader = null;
+        }
+        return super.getComments();
+    }
+
+    @Override
+    public synchronized void setComments(List<Comment> comments) {
+        super.setComments(comments);
+        this.commentsLoader = null;
+        this.pullRequests = null;
+    }
+
+    /**
+     * @return the pull requests referenced by the comments of this issue, which are only scanned once.
+     */
+    public synchronized List<URL> getPullRequests() {
+        if (pullRequests == null)
+            pullRequests = Collections.unmodifiableList(BugzillaPatchHomeImpl.extractPullRequests(getComments()));
+        return pullRequests;
+    }
+
+    synchronized void setCommentsLoader(Supplier<List<Comment>> commentsLoader) {
+        this.commentsLoader = commentsLoader;
+    }
+
+    /**
+     * @return a copy of this issue whose lists, maps and stage can be modified without affecting this issue. Comments
+     * which were not retrieved yet are retrieved by the copy on first access.
+     */
+    synchronized BugzillaIssue copy() {
+        BugzillaIssue copy = new BugzillaIssue(getURL());
+        copy.setTrackerId(getTrackerId().orElse(null));
+        copy.setProduct(getProduct().orElse(null));
+        copy.setComponents(new ArrayList<>(getComponents()));
+        copy.setSummary(getSummary().orElse(null));
+        copy.setDescription(getDescription().orElse(null));
+        copy.setAssignee(getAssignee().orElse(null));
+        copy.setReporter(getReporter().orElse(null));
+        Stage stage = new Stage();
+        getStage().getStateMap().forEach(stage::setStatus);
+        copy.setStage(stage);
+        copy.setStatus(getStatus(), getRawStatus());
+        if (getPriority() != null)
+            copy.setPriority(getPriority());
+        copy.setType(getType(), getRawType());
+        if (getAffectedVersions() != null)
+            copy.setAffectedVersions(new ArrayList<>(getAffectedVersions()));
+        copy.setReleases(new ArrayList<>(getReleases()));
+        copy.setStreamStatus(new HashMap<>(getStreamStatus()));
+        copy.setDependsOn(new ArrayList<>(getDependsOn()));
+        copy.setBlocks(new ArrayList<>(getBlocks()));
+        copy.setCreationTime(getCreationTime().orElse(null));
+        copy.setLastUpdated(getLastUpdated().orElse(null));
+        copy.setEstimation(getEstimation().orElse(null));
+        copyPatchesTo(copy);
+        if (commentsLoader != null) {
+            Supplier<List<Comment>> loader = commentsLoader;
+            copy.setCommentsLoader(() -> new ArrayList<>(loader.get()));
+        } else {
+            copy.setComments(new ArrayList<>(super.getComments()));
+        }
+        return copy;
+    }
+}
@@ -33,14 +33,25 @@ import org.jboss.set.aphrodite.domain.IssueStatus;
 import org.jboss.set.aphrodite.domain.SearchCriteria;
 import org.jboss.set.aphrodite.issue.trackers.common.AbstractIssueTracker;
 import org.jboss.set.aphrodite.issue.trackers.common.IssueCreationDetails;
+import org.jboss.set.aphrodite.issue.trackers.common.IssueUpdateResult;
 import org.jboss.set.aphrodite.spi.AphroditeException;
 import org.jboss.set.aphrodite.spi.NotFoundException;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -55,7 +66,17 @@ public class BugzillaIssueTracker extends AbstractIssueTracker {
 
     private static final Log LOG = LogFactory.getLog(BugzillaIssueTracker.class);
 
+    // Each incremental search keeps its whole result, so only the most recently used ones are kept
+    static final int MAX_INCREMENTAL_SEARCHES = 32;
+
     private BugzillaClient bzClient;
+    // Guarded by itself, ordered from the least to the most recently used search
+    private final Map<String, IncrementalSearch> incrementalSearches = new LinkedHashMap<String, IncrementalSearch>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IncrementalSearch> eldest) {
+            return size() > MAX_INCREMENTAL_SEARCHES;
+        }
+    };
 
     public BugzillaIssueTracker() {
         super(TrackerType.BUGZILLA);
@@ -69,7 +90,10 @@ public class BugzillaIssueTracker extends AbstractIssueTracker {
 
         try {
             // TODO update the IssueTrackerConfig attributes
-            bzClient = new BugzillaClient(baseUrl, config.getPassword(), executorService);
+            // the connection pool bounds the number of requests in flight, see addCommentToIssue(Map)
+            bzClient = new BugzillaClient(baseUrl, config.getPassword(), executorService, config.getMaxConcurrentRequests(),
+                    BugzillaClient.DEFAULT_CONNECTION_TIMEOUT_MILLIS, BugzillaClient.DEFAULT_REPLY_TIMEOUT_MILLIS,
+                    config.isEagerLoading(), config.getTransport());
         } catch (IllegalStateException e) {
             Utils.logException(LOG, e);
             return false;
@@ -80,7 +104,9 @@ public class BugzillaIssueTracker extends AbstractIssueTracker {
     @Override
     public Issue getIssue(URL url) throws NotFoundException {
         checkHost(url);
-        return bzClient.getIssueWithComments(url);
+        if (config.isEagerLoading())
+            return bzClient.getIssueWithComments(url);
+        return bzClient.getIssue(Utils.getParamaterFromUrl(BugzillaClient.ID_PARAM_PATTERN, url));
     }
 
     @Override
@@ -103,12 +129,213 @@ public class BugzillaIssueTracker extends AbstractIssueTracker {
         return bzClient.searchIssuesByFilter(filterUrl);
     }
 
+    /**
+     * Same as {@link #searchIssues(SearchCriteria)}, except that the issues are cached between calls with the same
+     * criteria. After the first call, only the issues changed since the most recent <code>last_change_time</code> of
+     * the cached issues are retrieved and merged into the cached result set, so only their comments are retrieved
+     * as well. The <code>last_change_time</code> is set by Bugzilla, so it is not affected by the local clock.
+     *
+     * Changed issues which no longer match the criteria cannot be detected this way, so a full search is executed
+     * again once {@link IssueTrackerConfig#getFullSyncIntervalMinutes()} have elapsed since the previous one.
+     *
+     * Only the {@link #MAX_INCREMENTAL_SEARCHES} most recently used searches are cached, and the callers get copies
+     * of the cached issues. The cached result set is capped to the limit of the search, i.e. the maximum number of
+     * results of the criteria or the default issue limit, after each merge: the issues merged last are dropped, so
+     * that issues which newly match the criteria may only be returned after the next full search.
+     */
+    public List<Issue> searchIssuesIncrementally(SearchCriteria searchCriteria) {
+        Map<String, Object> queryMap = new BugzillaQueryBuilder(searchCriteria, config.getDefaultIssueLimit()).getQueryMap();
+        if (queryMap == null)
+            return new ArrayList<>();
+        Object limit = queryMap.get(BugzillaFields.RESULT_LIMIT);
+        return searchIssuesIncrementally(getSearchKey(queryMap), limit instanceof Integer ? (Integer) limit : 0,
+                changedSince -> bzClient.searchIssues(queryMap, changedSince));
+    }
+
+    /**
+     * Same as {@link #searchIssuesByFilter(URL)}, with the caching of {@link #searchIssuesIncrementally(SearchCriteria)}.
+     */
+    public List<Issue> searchIssuesByFilterIncrementally(URL filterUrl) throws NotFoundException {
+        checkHost(filterUrl);
+        try {
+            return searchIssuesIncrementally(filterUrl.toString(), 0, changedSince -> {
+                try {
+                    return bzClient.searchIssuesByFilter(filterUrl, changedSince);
+                } catch (NotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof NotFoundException)
+                throw (NotFoundException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * @param limit the maximum number of cached issues, or zero if the search is not limited.
+     */
+    private List<Issue> searchIssuesIncrementally(String key, int limit, Function<Date, List<Issue>> search) {
+        long fullSyncInterval = TimeUnit.MINUTES.toMillis(config.getFullSyncIntervalMinutes());
+        IncrementalSearch incrementalSearch;
+        synchronized (incrementalSearches) {
+            // a search which was not run for a full sync interval is dropped, as its next run is a full search anyway
+            long now = System.currentTimeMillis();
+            incrementalSearches.values().removeIf(search -> now - search.lastSearch >= fullSyncInterval);
+            incrementalSearch = incrementalSearches.computeIfAbsent(key, k -> new IncrementalSearch(now, limit));
+        }
+        synchronized (incrementalSearch) {
+            long start = System.currentTimeMillis();
+            if (incrementalSearch.lastChange == null || start - incrementalSearch.lastFullSearch >= fullSyncInterval) {
+                List<Issue> issues = search.apply(null);
+                incrementalSearch.issues.clear();
+                incrementalSearch.lastFullSearch = start;
+                incrementalSearch.merge(issues);
+            } else {
+                List<Issue> issues = search.apply(incrementalSearch.lastChange);
+                if (LOG.isDebugEnabled())
+                    LOG.debug("Merging " + issues.size() + " issues changed since " + incrementalSearch.lastChange);
+                incrementalSearch.merge(issues);
+            }
+            incrementalSearch.lastSearch = start;
+            // the kept issues are merged into by the next searches, so they are not shared with the callers
+            return incrementalSearch.issues.values().stream()
+                    .map(BugzillaIssue::copy)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Arrays do not implement equals, so the query map cannot be used as a key
+    private static String getSearchKey(Map<String, Object> queryMap) {
+        return queryMap.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getKey() + "=" + (entry.getValue() instanceof Object[] ?
+                        Arrays.toString((Object[]) entry.getValue()) : entry.getValue()))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static class IncrementalSearch {
+        private final Map<URL, BugzillaIssue> issues = new LinkedHashMap<>();
+        // The maximum number of kept issues, zero if unlimited
+        private final int limit;
+        // The most recent last_change_time of the issues, null until an issue has been found
+        private Date lastChange;
+        private long lastFullSearch;
+        // Read while looking up the search, so that it can be dropped once unused
+        private volatile long lastSearch;
+
+        private IncrementalSearch(long created, int limit) {
+            this.lastSearch = created;
+            this.limit = limit;
+        }
+
+        private void merge(List<Issue> changedIssues) {
+            for (Issue issue : changedIssues) {
+                issues.put(issue.getURL(), (BugzillaIssue) issue);
+                issue.getLastUpdated()
+                        .filter(lastUpdated -> lastChange == null || lastUpdated.after(lastChange))
+                        .ifPresent(lastUpdated -> lastChange = lastUpdated);
+            }
+            if (limit > 0 && issues.size() > limit) {
+                Iterator<BugzillaIssue> iterator = issues.values().iterator();
+                for (int i = 0; i < limit; i++)
+                    iterator.next();
+                while (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
     @Override
     public boolean updateIssue(Issue issue) throws NotFoundException, AphroditeException {
         checkHost(issue.getURL());
         return bzClient.updateIssue(issue);
     }
 
+    /**
+     * Issues with identical updates of their shared fields, see {@link BugzillaClient#getBulkUpdate(Issue)}, are
+     * updated together with a single Bug.update call. Their other fields, e.g. the summary, are then only updated for
+     * the issues in which they differ from the current state of the bug, which is retrieved with a single Bug.get call.
+     * If a bulk call fails, its issues are updated one by one so that the failing issues can be reported.
+     */
+    @Override
+    public List<IssueUpdateResult> updateIssues(Collection<Issue> issues) {
+        Objects.requireNonNull(issues);
+        List<Issue> issueList = new ArrayList<>(issues);
+        List<IssueUpdateResult> results = new ArrayList<>(Collections.nCopies(issueList.size(), null));
+
+        Map<Map<String, Object>, List<Integer>> indexesByUpdate = new LinkedHashMap<>();
+        for (int i = 0; i < issueList.size(); i++) {
+            Issue issue = issueList.get(i);
+            try {
+                checkHost(issue.getURL());
+                indexesByUpdate.computeIfAbsent(bzClient.getBulkUpdate(issue), update -> new ArrayList<>()).add(i);
+            } catch (NotFoundException | AphroditeException | RuntimeException e) {
+                Utils.logException(LOG, "Unable to update issue " + issue.getURL() + ":", e);
+                results.set(i, IssueUpdateResult.failure(issue, e));
+            }
+        }
+
+        List<Map.Entry<Map<String, Object>, List<Integer>>> groups = new ArrayList<>(indexesByUpdate.entrySet());
+        Map<String, Issue> currentIssues = getCurrentIssues(groups.stream()
+                .filter(group -> group.getValue().size() > 1)
+                .flatMap(group -> group.getValue().stream())
+                .map(i -> issueList.get(i).getURL())
+                .collect(Collectors.toList()));
+        List<List<IssueUpdateResult>> groupResults = executeConcurrently(groups, group -> updateIssues(group.getKey(),
+                group.getValue().stream().map(issueList::get).collect(Collectors.toList()), currentIssues));
+        for (int i = 0; i < groups.size(); i++) {
+            List<Integer> indexes = groups.get(i).getValue();
+            for (int j = 0; j < indexes.size(); j++)
+                results.set(indexes.get(j), groupResults.get(i).get(j));
+        }
+        return results;
+    }
+
+    // If the current issues cannot be retrieved, all the per-bug fields are sent
+    private Map<String, Issue> getCurrentIssues(List<URL> urls) {
+        Map<String, Issue> currentIssues = new HashMap<>();
+        if (urls.isEmpty())
+            return currentIssues;
+        try {
+            bzClient.getIssues(urls).forEach(issue -> currentIssues.put(issue.getTrackerId().get(), issue));
+        } catch (RuntimeException e) {
+            Utils.logException(LOG, "Unable to retrieve the current state of the updated issues:", e);
+        }
+        return currentIssues;
+    }
+
+    private List<IssueUpdateResult> updateIssues(Map<String, Object> update, List<Issue> issues,
+            Map<String, Issue> currentIssues) {
+        if (issues.size() > 1) {
+            try {
+                bzClient.updateIssues(update, issues);
+                return issues.stream()
+                        .map(issue -> updatePerBugFields(issue, currentIssues))
+                        .collect(Collectors.toList());
+            } catch (NotFoundException | RuntimeException e) {
+                if (LOG.isDebugEnabled())
+                    LOG.debug("Unable to update issues together, updating them one by one", e);
+            }
+        }
+        return issues.stream().map(this::updateIssueAndReturnResult).collect(Collectors.toList());
+    }
+
+    private IssueUpdateResult updatePerBugFields(Issue issue, Map<String, Issue> currentIssues) {
+        try {
+            String trackerId = bzClient.getTrackerId(issue);
+            Map<String, Object> changes = bzClient.getPerBugUpdate(issue, currentIssues.get(trackerId));
+            if (!changes.isEmpty())
+                bzClient.updateIssue(trackerId, changes);
+            return IssueUpdateResult.success(issue);
+        } catch (NotFoundException | AphroditeException | RuntimeException e) {
+            Utils.logException(LOG, "Unable to update issue " + issue.getURL() + ":", e);
+            return IssueUpdateResult.failure(issue, e);
+        }
+    }
+
     @Override
     public void addCommentToIssue(Issue issue, Comment comment) throws NotFoundException {
         super.addCommentToIssue(issue, comment);
@@ -127,6 +354,12 @@ public class BugzillaIssueTracker extends AbstractIssueTracker {
         return issues.isEmpty() || bzClient.postComment(issues, comment);
     }
 
+    @Override
+    public void destroy() {
+        if (bzClient != null)
+            bzClient.close();
+    }
+
     public BugzillaClient getBzClient() {
         return bzClient;
     }
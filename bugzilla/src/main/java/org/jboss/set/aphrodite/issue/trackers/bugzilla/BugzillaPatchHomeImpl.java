@@ -28,32 +28,31 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.stream.Stream;
 
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-import org.jboss.set.aphrodite.Aphrodite;
-import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.Comment;
 import org.jboss.set.aphrodite.domain.Issue;
 import org.jboss.set.aphrodite.domain.Patch;
-import org.jboss.set.aphrodite.domain.PatchState;
-import org.jboss.set.aphrodite.domain.PatchType;
-import org.jboss.set.aphrodite.domain.PullRequest;
 import org.jboss.set.aphrodite.domain.spi.PatchHome;
+import org.jboss.set.aphrodite.issue.trackers.common.PatchResolver;
 import org.jboss.set.aphrodite.repository.services.common.RepositoryUtils;
-import org.jboss.set.aphrodite.spi.AphroditeException;
-import org.jboss.set.aphrodite.spi.NotFoundException;
 
 public class BugzillaPatchHomeImpl implements PatchHome {
-    private static final Log logger = LogFactory.getLog(BugzillaPatchHomeImpl.class);
+
+    private final PatchResolver patchResolver = new PatchResolver();
 
     @Override
     public Stream<Patch> findPatchesByIssue(Issue issue) {
-        List<URL> urls = new ArrayList<>();
-        issue.getComments().stream().forEach(e -> extractPullRequests(urls, e.getBody()));
-        return mapURLtoPatchStream(urls);
+        List<URL> urls = issue instanceof BugzillaIssue ? ((BugzillaIssue) issue).getPullRequests() :
+                extractPullRequests(issue.getComments());
+        return patchResolver.getPatches(urls);
+    }
 
+    static List<URL> extractPullRequests(List<Comment> comments) {
+        List<URL> urls = new ArrayList<>();
+        comments.forEach(e -> extractPullRequests(urls, e.getBody()));
+        return urls;
     }
 
-    private void extractPullRequests(List<URL> pullRequests, String messageBody) {
+    private static void extractPullRequests(List<URL> pullRequests, String messageBody) {
         Matcher matcher = RepositoryUtils.RELATED_PR_PATTERN.matcher(messageBody);
         while (matcher.find()) {
             if (matcher.groupCount() == 3) {
@@ -68,38 +67,4 @@ public class BugzillaPatchHomeImpl implements PatchHome {
         }
     }
 
-    private java.util.stream.Stream<Patch> mapURLtoPatchStream(List<URL> urls) {
-        return urls.stream().map(e -> {
-            PatchType patchType = getPatchType(e);
-            PatchState patchState = getPatchState(e, patchType);
-            return new Patch(e, getPatchType(e), patchState);
-        });
-    }
-
-    private PatchType getPatchType(URL url) {
-        String urlStr = url.toString();
-        if (urlStr.contains("/pull/"))
-            return PatchType.PULLREQUEST;
-        else if (urlStr.contains("/commit/"))
-            return PatchType.COMMIT;
-        else
-            return PatchType.FILE;
-    }
-
-    private PatchState getPatchState(URL url, PatchType patchType) {
-        if (patchType.equals(PatchType.PULLREQUEST)) {
-            try {
-                PullRequest pullRequest = Aphrodite.instance().getPullRequest(url);
-                return PatchState.valueOf(pullRequest.getState().toString());
-            } catch (NotFoundException e) {
-                Utils.logException(logger, "Unable to find pull request with url: " + url, e);
-            } catch (AphroditeException e) {
-                Utils.logException(logger, e);
-            }
-        } else if (patchType.equals(PatchType.COMMIT)) {
-            return PatchState.CLOSED;
-        }
-        return PatchState.UNDEFINED;
-    }
-
 }
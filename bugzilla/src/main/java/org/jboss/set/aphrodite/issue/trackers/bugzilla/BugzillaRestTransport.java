@@ -0,0 +1,307 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.set.aphrodite.issue.trackers.bugzilla;
+
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.CREATION_TIME;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ESTIMATED_TIME;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.FLAG_CREATION_DATE;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.FLAG_MODIFICATION_DATE;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.HOURS_WORKED;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ID;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.ISSUE_IDS;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.LAST_UPDATED;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_ADD_COMMENT;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_CREATE_BUG;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_GET_BUG;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_GET_COMMENT;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_SEARCH;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.METHOD_UPDATE_BUG;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.REMAINING_TIME;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.BugzillaFields.REST_URL;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+
+import org.apache.commons.httpclient.Header;
+import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.HttpConnectionManager;
+import org.apache.commons.httpclient.HttpMethod;
+import org.apache.commons.httpclient.HttpStatus;
+import org.apache.commons.httpclient.methods.EntityEnclosingMethod;
+import org.apache.commons.httpclient.methods.GetMethod;
+import org.apache.commons.httpclient.methods.PostMethod;
+import org.apache.commons.httpclient.methods.PutMethod;
+import org.apache.commons.httpclient.methods.StringRequestEntity;
+
+/**
+ * Executes the XML-RPC methods used by {@link BugzillaClient} through the JSON REST API of Bugzilla instead, which
+ * is less verbose on the wire and quicker to parse. The responses are gzipped, and the fields they contain are
+ * restricted by the <code>include_fields</code> parameter of each call, as with XML-RPC.
+ *
+ * The parameters and the results have the same structure and value types as with XML-RPC, so that they are
+ * converted by {@link IssueWrapper} in the same way: JSON objects become maps, arrays become <code>Object[]</code>,
+ * and the dates and time tracking fields become <code>Date</code> and <code>Double</code>. As with
+ * {@link StreamingTypeFactory}, each object of a response is passed to the converter as soon as it is parsed.
+ */
+class BugzillaRestTransport {
+
+    private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
+    private static final Set<String> DATE_FIELDS = new HashSet<>(
+            Arrays.asList(CREATION_TIME, LAST_UPDATED, FLAG_CREATION_DATE, FLAG_MODIFICATION_DATE));
+    private static final Set<String> DOUBLE_FIELDS = new HashSet<>(
+            Arrays.asList(ESTIMATED_TIME, HOURS_WORKED, REMAINING_TIME));
+
+    private final String restURL;
+    private final String apiKey;
+    private final HttpClient httpClient;
+
+    BugzillaRestTransport(URL baseURL, String apiKey, HttpConnectionManager connectionManager) {
+        this.restURL = baseURL + REST_URL;
+        this.apiKey = apiKey;
+        this.httpClient = new HttpClient(connectionManager);
+    }
+
+    Object execute(String method, Map<String, Object> params, Function<Map<String, Object>, Object> converter)
+            throws IOException {
+        switch (method) {
+            case METHOD_GET_BUG:
+                Map<String, Object> query = new HashMap<>(params);
+                query.put(ID, query.remove(ISSUE_IDS));
+                return execute(new GetMethod(restURL + "bug" + getQueryString(query)), converter);
+            case METHOD_SEARCH:
+                return execute(new GetMethod(restURL + "bug" + getQueryString(params)), converter);
+            case METHOD_GET_COMMENT:
+                String commentsURL = restURL + "bug/" + getBugId(params) + "/comment";
+                return execute(new GetMethod(commentsURL + getQueryString(params)), converter);
+            case METHOD_UPDATE_BUG:
+                return execute(setBody(new PutMethod(restURL + "bug/" + getBugId(params)), params), converter);
+            case METHOD_ADD_COMMENT:
+                return execute(setBody(new PostMethod(restURL + "bug/" + getBugId(params) + "/comment"), params),
+                        converter);
+            case METHOD_CREATE_BUG:
+                return execute(setBody(new PostMethod(restURL + "bug"), params), converter);
+            default:
+                throw new IllegalArgumentException("The REST transport does not support the method: " + method);
+        }
+    }
+
+    private Object execute(HttpMethod method, Function<Map<String, Object>, Object> converter) throws IOException {
+        method.setRequestHeader("Authorization", "Bearer " + apiKey);
+        method.setRequestHeader("Accept", "application/json");
+        method.setRequestHeader("Accept-Encoding", "gzip");
+        try {
+            int status = httpClient.executeMethod(method);
+            Header encoding = method.getResponseHeader("Content-Encoding");
+            InputStream body = method.getResponseBodyAsStream();
+            if (body != null && encoding != null && encoding.getValue().contains("gzip"))
+                body = new GZIPInputStream(body);
+
+            if (status >= HttpStatus.SC_BAD_REQUEST) {
+                String error = body == null ? "" : new String(readAll(body), StandardCharsets.UTF_8);
+                throw new IOException("Bugzilla returned " + status + " for " + method.getName() + " "
+                        + method.getPath() + ": " + error);
+            }
+            if (body == null)
+                return null;
+
+            try (JsonParser parser = Json.createParser(body)) {
+                return readValue(parser, parser.next(), null, converter);
+            } catch (JsonParsingException e) {
+                throw new IOException("Unable to parse the response of " + method.getPath(), e);
+            }
+        } finally {
+            method.releaseConnection();
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer))
+            out.write(buffer, 0, read);
+        return out.toByteArray();
+    }
+
+    // The name of the enclosing field determines the type of dates and time tracking values, which JSON lacks
+    private static Object readValue(JsonParser parser, JsonParser.Event event, String field,
+            Function<Map<String, Object>, Object> converter) {
+        switch (event) {
+            case START_OBJECT:
+                Map<String, Object> struct = new HashMap<>();
+                for (JsonParser.Event next = parser.next(); next != JsonParser.Event.END_OBJECT; next = parser.next()) {
+                    String name = parser.getString();
+                    struct.put(name, readValue(parser, parser.next(), name, converter));
+                }
+                return converter.apply(struct);
+            case START_ARRAY:
+                List<Object> array = new ArrayList<>();
+                for (JsonParser.Event next = parser.next(); next != JsonParser.Event.END_ARRAY; next = parser.next())
+                    array.add(readValue(parser, next, field, converter));
+                return array.toArray();
+            case VALUE_STRING:
+                return DATE_FIELDS.contains(field) ? parseDate(parser.getString()) : parser.getString();
+            case VALUE_NUMBER:
+                if (DOUBLE_FIELDS.contains(field) || !parser.isIntegralNumber())
+                    return parser.getBigDecimal().doubleValue();
+                long value = parser.getLong();
+                if (value == (int) value)
+                    return (int) value;
+                return value;
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new IllegalStateException("Unexpected JSON event: " + event);
+        }
+    }
+
+    private static Date parseDate(String date) {
+        try {
+            return getDateFormat().parse(date);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Unable to parse the date: " + date, e);
+        }
+    }
+
+    private static SimpleDateFormat getDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+
+    // The URL must contain the id of a bug, any other bug is taken from the ids parameter by Bugzilla
+    private static Object getBugId(Map<String, Object> params) {
+        Object ids = params.containsKey(ISSUE_IDS) ? params.get(ISSUE_IDS) : params.get(ID);
+        if (ids instanceof Object[])
+            return ((Object[]) ids)[0];
+        if (ids instanceof Collection)
+            return ((Collection<?>) ids).iterator().next();
+        return ids;
+    }
+
+    // Arrays are sent as repeated parameters, as expected by Bugzilla for multi-valued fields
+    private static String getQueryString(Map<String, Object> params) throws UnsupportedEncodingException {
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            Object value = param.getValue();
+            Collection<?> values = value instanceof Object[] ? Arrays.asList((Object[]) value) :
+                    value instanceof Collection ? (Collection<?>) value : Arrays.asList(value);
+            for (Object element : values) {
+                if (element == null)
+                    continue;
+                query.append(query.length() == 0 ? '?' : '&')
+                        .append(URLEncoder.encode(param.getKey(), "UTF-8"))
+                        .append('=')
+                        .append(URLEncoder.encode(toParameter(element), "UTF-8"));
+            }
+        }
+        return query.toString();
+    }
+
+    private static String toParameter(Object value) {
+        return value instanceof Date ? getDateFormat().format((Date) value) : String.valueOf(value);
+    }
+
+    private static EntityEnclosingMethod setBody(EntityEnclosingMethod method, Map<String, Object> params)
+            throws UnsupportedEncodingException {
+        StringWriter body = new StringWriter();
+        try (JsonGenerator generator = Json.createGenerator(body)) {
+            writeValue(generator, null, params);
+        }
+        method.setRequestEntity(new StringRequestEntity(body.toString(), "application/json", "UTF-8"));
+        return method;
+    }
+
+    private static void writeValue(JsonGenerator generator, String name, Object value) {
+        if (value instanceof Map) {
+            if (name == null)
+                generator.writeStartObject();
+            else
+                generator.writeStartObject(name);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+                writeValue(generator, String.valueOf(entry.getKey()), entry.getValue());
+            generator.writeEnd();
+        } else if (value instanceof Object[] || value instanceof Collection) {
+            if (name == null)
+                generator.writeStartArray();
+            else
+                generator.writeStartArray(name);
+            Collection<?> values = value instanceof Object[] ? Arrays.asList((Object[]) value) : (Collection<?>) value;
+            for (Object element : values)
+                writeValue(generator, null, element);
+            generator.writeEnd();
+        } else if (value == null) {
+            if (name == null)
+                generator.writeNull();
+            else
+                generator.writeNull(name);
+        } else if (value instanceof Boolean) {
+            if (name == null)
+                generator.write((Boolean) value);
+            else
+                generator.write(name, (Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            if (name == null)
+                generator.write(((Number) value).longValue());
+            else
+                generator.write(name, ((Number) value).longValue());
+        } else if (value instanceof Number) {
+            if (name == null)
+                generator.write(((Number) value).doubleValue());
+            else
+                generator.write(name, ((Number) value).doubleValue());
+        } else {
+            if (name == null)
+                generator.write(toParameter(value));
+            else
+                generator.write(name, toParameter(value));
+        }
+    }
+}
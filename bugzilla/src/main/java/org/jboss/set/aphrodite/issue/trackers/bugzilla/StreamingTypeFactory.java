@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.set.aphrodite.issue.trackers.bugzilla;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.ws.commons.util.NamespaceContextImpl;
+import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.apache.xmlrpc.common.TypeFactoryImpl;
+import org.apache.xmlrpc.common.XmlRpcController;
+import org.apache.xmlrpc.common.XmlRpcStreamConfig;
+import org.apache.xmlrpc.parser.MapParser;
+import org.apache.xmlrpc.parser.TypeParser;
+import org.apache.xmlrpc.serializer.MapSerializer;
+
+/**
+ * The XML-RPC responses are parsed with SAX, but by default every struct is materialized as a <code>Map</code>
+ * until the whole response has been read. When a request is executed with a {@link StreamingConfig}, each struct
+ * of the response is instead passed to the converter of the config as soon as its end tag is parsed, and the
+ * converted object takes its place in the enclosing array or struct. This way a bug can be converted into an
+ * {@link BugzillaIssue} while the rest of the response is still being downloaded, and its raw struct can be
+ * garbage collected immediately.
+ *
+ * The converter is called for the innermost structs first, and must return the structs it does not convert.
+ */
+class StreamingTypeFactory extends TypeFactoryImpl {
+
+    StreamingTypeFactory(XmlRpcController controller) {
+        super(controller);
+    }
+
+    @Override
+    public TypeParser getParser(XmlRpcStreamConfig config, NamespaceContextImpl context, String uri, String localName) {
+        if (config instanceof StreamingConfig && "".equals(uri) && MapSerializer.STRUCT_TAG.equals(localName)) {
+            Function<Map<String, Object>, Object> converter = ((StreamingConfig) config).converter;
+            return new MapParser(config, context, this) {
+                @Override
+                @SuppressWarnings("unchecked")
+                public void setResult(Object result) {
+                    super.setResult(converter.apply((Map<String, Object>) result));
+                }
+            };
+        }
+        return super.getParser(config, context, uri, localName);
+    }
+
+    static class StreamingConfig extends XmlRpcClientConfigImpl {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Function<Map<String, Object>, Object> converter;
+
+        StreamingConfig(Function<Map<String, Object>, Object> converter) {
+            this.converter = converter;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.bugzilla;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.jboss.set.aphrodite.config.IssueTrackerConfig;
+import org.jboss.set.aphrodite.config.TrackerType;
+import org.jboss.set.aphrodite.config.TransportType;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.IssueStatus;
+import org.jboss.set.aphrodite.domain.SearchCriteria;
+import org.jboss.set.aphrodite.issue.trackers.common.IssueUpdateResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.JSON;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.readAll;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.respond;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the {@link BugzillaIssueTracker} against a local stand-in for the REST API of Bugzilla, which serves the
+ * bugs 1 to {@link #BUG_COUNT}, and whose searches match the bugs 1 to {@link #SEARCH_MATCHES}. Searches of the
+ * changed bugs only match the bug {@link #CHANGED_BUG}, and the bug {@link #NEW_BUG} created since then.
+ */
+public class BugzillaIssueTrackerTest {
+
+    private static final int BUG_COUNT = 3;
+    private static final int SEARCH_MATCHES = 450;
+    private static final int MISSING_BUG = 9999;
+    private static final int CHANGED_BUG = 2;
+    private static final int NEW_BUG = SEARCH_MATCHES + 1;
+    private static final Pattern ID_PATTERN = Pattern.compile("(?:^|&)id=(\\d+)");
+    private static final Pattern LIMIT_PATTERN = Pattern.compile("(?:^|&)limit=(\\d+)");
+    private static final Pattern OFFSET_PATTERN = Pattern.compile("(?:^|&)offset=(\\d+)");
+
+    private final List<String> updates = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> searches = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> comments = Collections.synchronizedList(new ArrayList<>());
+    @Rule
+    public final StandInServer server = new StandInServer().handle("/rest/bug", this::handle);
+    private BugzillaIssueTracker tracker;
+
+    @Before
+    public void setUp() throws IOException {
+        tracker = new BugzillaIssueTracker();
+        assertTrue(tracker.init(new IssueTrackerConfig(server.getURL("/").toString(), null,
+                "key", TrackerType.BUGZILLA, 100, 2, 60, false, TransportType.REST)));
+    }
+
+    @After
+    public void tearDown() {
+        tracker.destroy();
+    }
+
+    private static String getBug(int id) {
+        return getBug(id, "NEW", "2016-01-06T08:00:00Z");
+    }
+
+    private static String getBug(int id, String status, String lastChange) {
+        return "{\"id\":" + id + ",\"summary\":\"Summary " + id + "\",\"assigned_to\":\"assignee@redhat.com\","
+                + "\"creator\":\"reporter@redhat.com\",\"status\":\"" + status + "\",\"priority\":\"high\","
+                + "\"product\":\"JBoss Enterprise Application Platform 6\",\"component\":[\"CLI\"],\"cf_type\":\"Bug\","
+                + "\"version\":[\"6.4.0\"],\"target_release\":[\"6.4.1\"],\"target_milestone\":\"CR1\","
+                + "\"creation_time\":\"2016-01-05T14:41:30Z\",\"last_change_time\":\"" + lastChange + "\","
+                + "\"depends_on\":[],\"blocks\":[],\"external_bugs\":[],\"estimated_time\":8,\"actual_time\":1.5,"
+                + "\"flags\":[{\"name\":\"pm_ack\",\"status\":\"+\"}]}";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String body = new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8);
+        if (exchange.getRequestMethod().equals("PUT")) {
+            updates.add(exchange.getRequestURI().getPath() + " " + body);
+            if (body.contains(String.valueOf(MISSING_BUG)))
+                respond(exchange, 404, JSON, "{\"error\":true,\"message\":\"Bug " + MISSING_BUG + " does not exist.\"}");
+            else
+                respond(exchange, 200, JSON, "{\"bugs\":[]}");
+        } else if (exchange.getRequestURI().getPath().endsWith("/comment")) {
+            comments.add(exchange.getRequestURI().getPath() + "?" + exchange.getRequestURI().getRawQuery());
+            respond(exchange, 200, JSON, "{\"bugs\":{},\"comments\":{}}");
+        } else if (OFFSET_PATTERN.matcher(String.valueOf(exchange.getRequestURI().getRawQuery())).find()) {
+            String query = exchange.getRequestURI().getRawQuery();
+            searches.add(query);
+            if (query.contains(BugzillaFields.LAST_UPDATED + "=")) {
+                respond(exchange, 200, JSON, "{\"bugs\":[" + getBug(CHANGED_BUG, "MODIFIED", "2016-01-07T08:00:00Z") + ","
+                        + getBug(NEW_BUG, "NEW", "2016-01-07T08:00:00Z") + "]}");
+                return;
+            }
+            int offset = getParameter(OFFSET_PATTERN, query);
+            int end = Math.min(offset + getParameter(LIMIT_PATTERN, query), SEARCH_MATCHES);
+            List<String> bugs = new ArrayList<>();
+            for (int id = offset + 1; id <= end; id++)
+                bugs.add(getBug(id));
+            respond(exchange, 200, JSON, "{\"bugs\":[" + String.join(",", bugs) + "]}");
+        } else {
+            List<String> bugs = new ArrayList<>();
+            Matcher matcher = ID_PATTERN.matcher(String.valueOf(exchange.getRequestURI().getRawQuery()));
+            while (matcher.find()) {
+                int id = Integer.parseInt(matcher.group(1));
+                if (id >= 1 && id <= BUG_COUNT)
+                    bugs.add(getBug(id));
+            }
+            respond(exchange, 200, JSON, "{\"bugs\":[" + String.join(",", bugs) + "],\"faults\":[]}");
+        }
+    }
+
+    private static int getParameter(Pattern pattern, String query) {
+        Matcher matcher = pattern.matcher(query);
+        if (!matcher.find())
+            throw new IllegalArgumentException("Missing parameter " + pattern + " in " + query);
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    // Two requests in flight, on an executor with a single thread
+    private BugzillaClient createClient(ExecutorService executor) throws IOException {
+        return new BugzillaClient(server.getURL("/"), "key", executor,
+                2, BugzillaClient.DEFAULT_CONNECTION_TIMEOUT_MILLIS, BugzillaClient.DEFAULT_REPLY_TIMEOUT_MILLIS, false,
+                TransportType.REST);
+    }
+
+    private List<Issue> getIssues(Integer... ids) throws Exception {
+        List<Issue> issues = new ArrayList<>();
+        for (Integer id : ids)
+            issues.add(tracker.getBzClient().getIssue(String.valueOf(id)));
+        return issues;
+    }
+
+    @Test
+    public void sameUpdateInSingleCallTest() throws Exception {
+        List<Issue> issues = getIssues(1, 2);
+        issues.forEach(issue -> issue.setStatus(IssueStatus.MODIFIED));
+
+        List<IssueUpdateResult> results = tracker.updateIssues(issues);
+
+        assertTrue(results.stream().allMatch(IssueUpdateResult::isSuccess));
+        assertEquals(updates.toString(), 1, updates.size());
+        String update = updates.get(0);
+        assertTrue(update, update.contains("\"ids\":[\"1\",\"2\"]"));
+        assertTrue(update, update.contains("\"status\":\"MODIFIED\""));
+        assertFalse(update, update.contains("\"summary\""));
+    }
+
+    @Test
+    public void perBugFieldsSentSeparatelyTest() throws Exception {
+        List<Issue> issues = getIssues(1, 2, 3);
+        issues.forEach(issue -> issue.setStatus(IssueStatus.MODIFIED));
+        issues.get(1).setSummary("Changed summary");
+
+        List<IssueUpdateResult> results = tracker.updateIssues(issues);
+
+        assertTrue(results.stream().allMatch(IssueUpdateResult::isSuccess));
+        assertEquals(updates.toString(), 2, updates.size());
+        assertTrue(updates.get(0), updates.get(0).contains("\"ids\":[\"1\",\"2\",\"3\"]"));
+        String perBug = updates.get(1);
+        assertTrue(perBug, perBug.startsWith("/rest/bug/2 "));
+        assertTrue(perBug, perBug.contains("\"summary\":\"Changed summary\""));
+        assertFalse(perBug, perBug.contains("\"status\""));
+    }
+
+    @Test
+    public void differentUpdatesNotGroupedTest() throws Exception {
+        List<Issue> issues = getIssues(1, 2);
+        issues.get(0).setStatus(IssueStatus.MODIFIED);
+        issues.get(1).setStatus(IssueStatus.ON_QA);
+
+        tracker.updateIssues(issues);
+
+        List<String> paths = updates.stream().map(update -> update.split(" ")[0]).sorted().collect(Collectors.toList());
+        assertEquals(Arrays.asList("/rest/bug/1", "/rest/bug/2"), paths);
+    }
+
+    @Test
+    public void searchPagesOrderedByIdTest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        BugzillaClient client = createClient(executor);
+        try {
+            // from a task of the executor, as when searching through Aphrodite
+            List<Issue> issues = executor.submit(() -> client.searchIssues(
+                    Collections.singletonMap(BugzillaFields.PRODUCT, "EAP"), null)).get(30, TimeUnit.SECONDS);
+
+            assertEquals(SEARCH_MATCHES, issues.size());
+            for (int i = 0; i < issues.size(); i++)
+                assertEquals(String.valueOf(i + 1), issues.get(i).getTrackerId().get());
+            assertEquals(searches.toString(), 3, searches.size());
+            assertTrue(searches.stream().allMatch(query -> query.contains("order=bug_id")));
+        } finally {
+            client.close();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void lazyCommentsPerPageTest() throws Exception {
+        List<Issue> issues = tracker.getBzClient().searchIssues(Collections.singletonMap(BugzillaFields.PRODUCT, "EAP"), null);
+
+        assertEquals(SEARCH_MATCHES, issues.size());
+        assertTrue(comments.toString(), comments.isEmpty());
+
+        // the comments of all the issues of the first page are retrieved together
+        assertTrue(issues.get(0).getComments().isEmpty());
+        issues.get(1).getComments();
+        assertEquals(comments.toString(), 1, comments.size());
+        assertTrue(comments.get(0), comments.get(0).contains("ids=2&"));
+
+        issues.get(SEARCH_MATCHES - 1).getComments();
+        assertEquals(comments.toString(), 2, comments.size());
+        assertTrue(comments.get(1), comments.get(1).contains("ids=" + SEARCH_MATCHES));
+    }
+
+    @Test
+    public void concurrentBulkUpdateTest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        BugzillaClient client = createClient(executor);
+        try {
+            List<Integer> ids = new ArrayList<>();
+            for (int id = 1; id <= BugzillaClient.UPDATE_CHUNK_SIZE * 2; id++)
+                ids.add(id);
+            ids.add(MISSING_BUG);
+
+            // from a task of the executor, so that the chunks cannot all be handed over to it
+            Map<Integer, Boolean> results = executor.submit(() -> client.updateStatus(ids, IssueStatus.MODIFIED))
+                    .get(30, TimeUnit.SECONDS);
+
+            assertEquals(ids, new ArrayList<>(results.keySet()));
+            assertFalse(results.remove(MISSING_BUG));
+            assertTrue(results.values().stream().allMatch(updated -> updated));
+            // two full chunks, then a chunk with only the missing bug
+            assertEquals(3, updates.size());
+            assertTrue(updates.stream().allMatch(update -> update.contains("\"status\":\"MODIFIED\"")));
+        } finally {
+            client.close();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void incrementalSearchTest() throws Exception {
+        SearchCriteria criteria = new SearchCriteria.Builder().setProduct("EAP").build();
+
+        List<Issue> first = tracker.searchIssuesIncrementally(criteria);
+        first.get(0).setSummary("Modified by the caller");
+        List<Issue> second = tracker.searchIssuesIncrementally(criteria);
+
+        // the new bug is beyond the default issue limit, as it would be for a full search
+        assertEquals(100, first.size());
+        assertEquals(first.size(), second.size());
+        assertEquals("100", second.get(second.size() - 1).getTrackerId().get());
+        // the kept issues are not shared with the callers
+        assertEquals("Summary 1", second.get(0).getSummary().get());
+        assertNotSame(first.get(CHANGED_BUG - 1), second.get(CHANGED_BUG - 1));
+        assertEquals(IssueStatus.NEW, first.get(CHANGED_BUG - 1).getStatus());
+        assertEquals(IssueStatus.MODIFIED, second.get(CHANGED_BUG - 1).getStatus());
+        // only the bugs changed since the most recent last_change_time of the first search are retrieved again
+        String changed = searches.get(searches.size() - 1);
+        assertTrue(changed, changed.contains(BugzillaFields.LAST_UPDATED + "=2016-01-06T08%3A00%3A00Z"));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.bugzilla;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.jboss.set.aphrodite.config.TransportType;
+import org.jboss.set.aphrodite.domain.Comment;
+import org.jboss.set.aphrodite.domain.Flag;
+import org.jboss.set.aphrodite.domain.FlagStatus;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.IssueEstimation;
+import org.jboss.set.aphrodite.domain.IssueStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.JSON;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.readAll;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.respond;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the {@link BugzillaClient} against a local stand-in for the REST API of Bugzilla.
+ */
+public class BugzillaRestTransportTest {
+
+    private static final String API_KEY = "key";
+
+    private static final String BUG = "{\"bugs\":[{\"id\":1111111,\"summary\":\"Test summary\",\"description\":\"Test description\","
+            + "\"assigned_to\":\"assignee@redhat.com\",\"creator\":\"reporter@redhat.com\",\"status\":\"NEW\","
+            + "\"priority\":\"high\",\"product\":\"JBoss Enterprise Application Platform 6\",\"component\":[\"CLI\"],"
+            + "\"cf_type\":\"Bug\",\"version\":[\"6.4.0\"],\"target_release\":[\"6.4.1\"],\"target_milestone\":\"CR1\","
+            + "\"creation_time\":\"2016-01-05T14:41:30Z\",\"last_change_time\":\"2016-01-06T08:00:00Z\","
+            + "\"depends_on\":[2222222],\"blocks\":[],\"external_bugs\":[],\"estimated_time\":8,\"actual_time\":1.5,"
+            + "\"flags\":[{\"name\":\"pm_ack\",\"status\":\"+\",\"creation_date\":\"2016-01-05T14:41:30Z\"},"
+            + "{\"name\":\"jboss-eap-6.4.x\",\"status\":\"?\"}]}],\"faults\":[]}";
+    private static final String COMMENTS = "{\"bugs\":{\"1111111\":{\"comments\":["
+            + "{\"id\":10,\"bug_id\":1111111,\"text\":\"First comment\",\"is_private\":false}]}},\"comments\":{}}";
+
+    private final Map<String, String> requests = new ConcurrentHashMap<>();
+    @Rule
+    public final StandInServer server = new StandInServer()
+            .handle("/rest/bug", this::handle)
+            .handle("/xmlrpc.cgi", exchange -> respond(exchange, 401, JSON, "Invalid API key"));
+    private BugzillaClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        client = new BugzillaClient(server.getURL("/"), API_KEY, null, 1, BugzillaClient.DEFAULT_CONNECTION_TIMEOUT_MILLIS,
+                BugzillaClient.DEFAULT_REPLY_TIMEOUT_MILLIS, false, TransportType.REST);
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requests.put(exchange.getRequestMethod() + " " + path, exchange.getRequestURI().getRawQuery() + " "
+                + new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8));
+        if (!("Bearer " + API_KEY).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            respond(exchange, 401, JSON, "{\"error\":true,\"message\":\"Invalid API key\"}");
+        } else if (path.equals("/rest/bug/1111111/comment")) {
+            respond(exchange, 200, JSON, COMMENTS, true);
+        } else if (exchange.getRequestMethod().equals("PUT")) {
+            respond(exchange, 200, JSON, "{\"bugs\":[{\"id\":1111111,\"changes\":{}}]}", true);
+        } else {
+            respond(exchange, 200, JSON, BUG, "gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding")));
+        }
+    }
+
+    @Test
+    public void getIssueTest() throws Exception {
+        Issue issue = client.getIssue("1111111");
+
+        assertEquals("1111111", issue.getTrackerId().get());
+        assertEquals("Test summary", issue.getSummary().get());
+        assertEquals(IssueStatus.NEW, issue.getStatus());
+        assertEquals(Collections.singletonList("CLI"), issue.getComponents());
+        assertEquals(1452004890000L, issue.getCreationTime().get().getTime());
+        assertEquals(1452067200000L, issue.getLastUpdated().get().getTime());
+        IssueEstimation estimation = issue.getEstimation().get();
+        assertEquals(8d, estimation.getInitialEstimate(), 0);
+        assertEquals(1.5d, estimation.getHoursWorked(), 0);
+        assertEquals(FlagStatus.ACCEPTED, issue.getStage().getStatus(Flag.PM));
+        assertEquals(FlagStatus.SET, issue.getStreamStatus().get("jboss-eap-6.4.x"));
+        assertEquals(1, issue.getDependsOn().size());
+
+        String query = requests.get("GET /rest/bug");
+        assertTrue(query, query.contains("id=1111111"));
+        assertTrue(query, query.contains("include_fields=summary"));
+    }
+
+    @Test
+    public void getCommentsTest() throws Exception {
+        List<Comment> comments = client.getIssue("1111111").getComments();
+
+        assertEquals(1, comments.size());
+        assertEquals("10", comments.get(0).getId().get());
+        assertEquals("First comment", comments.get(0).getBody());
+        assertTrue(requests.get("GET /rest/bug/1111111/comment").contains("include_fields=text"));
+    }
+
+    @Test
+    public void updateStatusTest() {
+        assertTrue(client.updateStatus(1111111, IssueStatus.MODIFIED));
+
+        String body = requests.get("PUT /rest/bug/1111111");
+        assertTrue(body, body.contains("\"status\":\"MODIFIED\""));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectedRequestTest() throws Exception {
+        BugzillaClient unauthorized = new BugzillaClient(server.getURL("/"), "invalid", null, 1, BugzillaClient.DEFAULT_CONNECTION_TIMEOUT_MILLIS,
+                BugzillaClient.DEFAULT_REPLY_TIMEOUT_MILLIS, false, TransportType.REST);
+        try {
+            unauthorized.updateStatus(1111111, IssueStatus.MODIFIED);
+        } finally {
+            unauthorized.close();
+        }
+    }
+
+    @Test
+    public void transportsReportFailuresAlikeTest() throws Exception {
+        URL baseURL = server.getURL("/");
+        Class<?> restFailure = getFailure(new BugzillaClient(baseURL, "invalid", null, 1,
+                BugzillaClient.DEFAULT_CONNECTION_TIMEOUT_MILLIS, BugzillaClient.DEFAULT_REPLY_TIMEOUT_MILLIS, false,
+                TransportType.REST));
+        Class<?> xmlRpcFailure = getFailure(new BugzillaClient(baseURL, "invalid", null, 1,
+                BugzillaClient.DEFAULT_CONNECTION_TIMEOUT_MILLIS, BugzillaClient.DEFAULT_REPLY_TIMEOUT_MILLIS, false,
+                TransportType.XMLRPC));
+
+        assertSame(IllegalStateException.class, restFailure);
+        assertSame(IllegalStateException.class, xmlRpcFailure);
+    }
+
+    private static Class<?> getFailure(BugzillaClient client) throws Exception {
+        try {
+            client.getIssues(Collections.singletonList(new URL("https://bugzilla.redhat.com/show_bug.cgi?id=1111111")));
+            fail("The request should be rejected");
+            return null;
+        } catch (RuntimeException e) {
+            return e.getClass();
+        } finally {
+            client.close();
+        }
+    }
+}
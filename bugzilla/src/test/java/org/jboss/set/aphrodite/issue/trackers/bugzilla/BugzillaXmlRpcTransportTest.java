@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.issue.trackers.bugzilla;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.jboss.set.aphrodite.domain.Comment;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.XML;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.readAll;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.respond;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the {@link BugzillaClient} against a local stand-in for the XML-RPC API of Bugzilla.
+ */
+public class BugzillaXmlRpcTransportTest {
+
+    private static final String API_KEY = "key";
+    private static final int MAX_CONNECTIONS = 2;
+    private static final String RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><methodResponse><params><param>"
+            + "<value><struct><member><name>id</name><value><int>10</int></value></member></struct></value>"
+            + "</param></params></methodResponse>";
+
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    // The client ports of the requests, one per connection
+    private final Set<Integer> connections = ConcurrentHashMap.newKeySet();
+    @Rule
+    public final StandInServer server = new StandInServer().handle("/xmlrpc.cgi", this::handle);
+    private ExecutorService executor;
+    private BugzillaClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = Executors.newFixedThreadPool(MAX_CONNECTIONS);
+        client = new BugzillaClient(server.getURL("/"), API_KEY, executor,
+                MAX_CONNECTIONS, BugzillaClient.DEFAULT_CONNECTION_TIMEOUT_MILLIS,
+                BugzillaClient.DEFAULT_REPLY_TIMEOUT_MILLIS, false);
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        readAll(exchange.getRequestBody()); // the request is not needed
+        authorizations.add(String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+        connections.add(exchange.getRemoteAddress().getPort());
+        respond(exchange, 200, XML, RESPONSE);
+    }
+
+    @Test
+    public void pooledConnectionsTest() throws Exception {
+        Map<Issue, Comment> comments = new LinkedHashMap<>();
+        for (int id = 1; id <= 10; id++) {
+            BugzillaIssue issue = new BugzillaIssue(new URL("https://bugzilla.redhat.com/show_bug.cgi?id=" + id));
+            issue.setTrackerId(String.valueOf(id));
+            comments.put(issue, new Comment("Comment " + id, false));
+        }
+
+        assertTrue(client.postComment(comments));
+        assertTrue(client.postComment(1, "Sequential comment", false));
+
+        assertEquals(11, authorizations.size());
+        assertEquals(Collections.singleton("Bearer " + API_KEY), new HashSet<>(authorizations));
+        // the connections are kept alive and shared by all the requests
+        assertTrue(connections.toString(), connections.size() <= MAX_CONNECTIONS);
+    }
+}
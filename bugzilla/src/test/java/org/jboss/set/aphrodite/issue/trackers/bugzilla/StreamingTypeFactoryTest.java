@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.issue.trackers.bugzilla;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientConfigImpl;
+import org.jboss.set.aphrodite.domain.Flag;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.issue.trackers.bugzilla.StreamingTypeFactory.StreamingConfig;
+import org.jboss.set.aphrodite.issue.trackers.util.TestUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.XML;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.readAll;
+import static org.jboss.set.aphrodite.issue.trackers.bugzilla.StandInServer.respond;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Parses a Bug.search response of a local stand-in for the XML-RPC API of Bugzilla, with and without a
+ * {@link StreamingConfig}.
+ */
+public class StreamingTypeFactoryTest {
+
+    private static final String BUGZILLA_URL = "https://bugzilla.redhat.com/";
+
+    private static final String RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><methodResponse><params><param>"
+            + "<value><struct><member><name>bugs</name><value><array><data>"
+            + getBug(1111111, "NEW") + getBug(2222222, "MODIFIED")
+            + "</data></array></value></member></struct></value></param></params></methodResponse>";
+
+    @Rule
+    public final StandInServer server = new StandInServer().handle("/xmlrpc.cgi", StreamingTypeFactoryTest::handle);
+    private XmlRpcClient client;
+
+    private static String getBug(int id, String status) {
+        return "<value><struct>"
+                + member("id", "<int>" + id + "</int>")
+                + member("summary", "<string>Summary " + id + "</string>")
+                + member("assigned_to", "<string>assignee@redhat.com</string>")
+                + member("creator", "<string>reporter@redhat.com</string>")
+                + member("status", "<string>" + status + "</string>")
+                + member("priority", "<string>high</string>")
+                + member("product", "<string>JBoss Enterprise Application Platform 6</string>")
+                + member("component", array("<string>CLI</string>"))
+                + member("cf_type", "<string>Bug</string>")
+                + member("version", array("<string>6.4.0</string>"))
+                + member("target_release", array("<string>6.4.1</string>"))
+                + member("target_milestone", "<string>CR1</string>")
+                + member("creation_time", "<dateTime.iso8601>20160105T14:41:30</dateTime.iso8601>")
+                + member("last_change_time", "<dateTime.iso8601>20160106T08:00:00</dateTime.iso8601>")
+                + member("depends_on", array("<int>3333333</int>"))
+                + member("blocks", array())
+                + member("external_bugs", array("<struct>"
+                        + member("ext_bz_bug_id", "<string>WFLY-" + id + "</string>")
+                        + member("type", "<struct>" + member("type", "<string>JIRA</string>")
+                                + member("full_url", "<string>https://issues.redhat.com/browse/%id%</string>") + "</struct>")
+                        + "</struct>"))
+                + member("estimated_time", "<double>8.0</double>")
+                + member("actual_time", "<double>1.5</double>")
+                + member("flags", array(
+                        "<struct>" + member("name", "<string>pm_ack</string>") + member("status", "<string>+</string>") + "</struct>",
+                        "<struct>" + member("name", "<string>jboss-eap-6.4.x</string>") + member("status", "<string>?</string>") + "</struct>"))
+                + "</struct></value>";
+    }
+
+    private static String member(String name, String value) {
+        return "<member><name>" + name + "</name><value>" + value + "</value></member>";
+    }
+
+    private static String array(String... values) {
+        StringBuilder array = new StringBuilder("<array><data>");
+        for (String value : values)
+            array.append("<value>").append(value).append("</value>");
+        return array.append("</data></array>").toString();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        client = new XmlRpcClient();
+        client.setConfig(initConfig(new XmlRpcClientConfigImpl()));
+        client.setTypeFactory(new StreamingTypeFactory(client));
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        readAll(exchange.getRequestBody()); // the request is not needed
+        respond(exchange, 200, XML, RESPONSE);
+    }
+
+    private XmlRpcClientConfigImpl initConfig(XmlRpcClientConfigImpl config) throws IOException {
+        config.setServerURL(server.getURL("/xmlrpc.cgi"));
+        return config;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object[] searchBugs(Function<Map<String, Object>, Object> converter) throws Exception {
+        Object response = converter == null ? client.execute("Bug.search", new Object[] { Collections.emptyMap() })
+                : client.execute(initConfig(new StreamingConfig(converter)), "Bug.search", new Object[] { Collections.emptyMap() });
+        return (Object[]) ((Map<String, Object>) response).get(BugzillaFields.RESULT_BUGS);
+    }
+
+    @Test
+    public void unconvertedStructsTest() throws Exception {
+        List<String> converted = new ArrayList<>();
+        Object[] streamed = searchBugs(struct -> {
+            converted.add(String.join(",", struct.keySet().stream().sorted().toArray(String[]::new)));
+            return struct;
+        });
+
+        assertEquals(toLists(searchBugs(null)), toLists(streamed));
+        // per bug, the two structs of the external bug, the two flags and the bug, then the response
+        assertEquals(converted.toString(), 11, converted.size());
+        assertEquals("full_url,type", converted.get(0));
+        assertTrue(converted.get(4), converted.get(4).contains("summary"));
+        assertEquals("bugs", converted.get(10));
+    }
+
+    @Test
+    public void convertedBugsTest() throws Exception {
+        IssueWrapper wrapper = new IssueWrapper();
+        URL baseURL = new URL(BUGZILLA_URL);
+        Object[] bugs = searchBugs(null);
+        Object[] issues = searchBugs(struct -> struct.containsKey(BugzillaFields.SUMMARY) ?
+                wrapper.bugzillaBugToIssue(struct, baseURL) : struct);
+
+        assertEquals(bugs.length, issues.length);
+        for (int i = 0; i < bugs.length; i++) {
+            @SuppressWarnings("unchecked")
+            Issue expected = wrapper.bugzillaBugToIssue((Map<String, Object>) bugs[i], baseURL);
+            Issue issue = (Issue) issues[i];
+            TestUtils.assertDeepEqualsIssue(expected, issue);
+            assertEquals(expected.getLastUpdated(), issue.getLastUpdated());
+            assertEquals(expected.getStage().getStatus(Flag.PM), issue.getStage().getStatus(Flag.PM));
+            assertEquals(expected.getStreamStatus(), issue.getStreamStatus());
+            assertEquals(Arrays.asList(new URL(BUGZILLA_URL + "show_bug.cgi?id=3333333"),
+                    new URL("https://issues.redhat.com/browse/WFLY-" + expected.getTrackerId().get())), issue.getDependsOn());
+        }
+    }
+
+    // Arrays do not implement equals
+    private static Object toLists(Object value) {
+        if (value instanceof Object[])
+            return Arrays.stream((Object[]) value).map(StreamingTypeFactoryTest::toLists).collect(Collectors.toList());
+        if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, element) -> map.put(key, toLists(element)));
+            return map;
+        }
+        return value;
+    }
+}
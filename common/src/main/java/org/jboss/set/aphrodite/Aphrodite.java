@@ -27,14 +27,17 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
@@ -44,9 +47,12 @@ import java.util.stream.Collectors;
 
 import javax.json.Json;
 import javax.json.JsonReader;
+import javax.naming.NameNotFoundException;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.ParallelTasks;
+import org.jboss.set.aphrodite.common.RequestPriority;
 import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.config.AphroditeConfig;
 import org.jboss.set.aphrodite.domain.Codebase;
@@ -66,6 +72,7 @@ import org.jboss.set.aphrodite.domain.StreamComponent;
 import org.jboss.set.aphrodite.domain.spi.PullRequestHome;
 import org.jboss.set.aphrodite.issue.trackers.common.AbstractIssueTracker;
 import org.jboss.set.aphrodite.issue.trackers.common.IssueCreationDetails;
+import org.jboss.set.aphrodite.issue.trackers.common.IssueUpdateResult;
 import org.jboss.set.aphrodite.repository.services.common.AbstractRepositoryService;
 import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
 import org.jboss.set.aphrodite.simplecontainer.SimpleContainer;
@@ -81,6 +88,8 @@ public class Aphrodite implements AutoCloseable {
     public static final String FILE_PROPERTY = "aphrodite.config";
 
     private static final Log LOG = LogFactory.getLog(Aphrodite.class);
+    // GitHub advises against concurrent requests from the same user, so only a few pull requests are updated at once
+    private static final int PULL_REQUEST_PARALLELISM = 4;
     private static Aphrodite instance;
 
     /**
@@ -498,6 +507,48 @@ public class Aphrodite implements AutoCloseable {
         throw new NotFoundException("No issues found which correspond to url: " + issue.getURL());
     }
 
+    /**
+     * Update all of the provided issues at their associated issue tracker services. The issues of each tracker
+     * are updated concurrently, and a failure to update one issue does not prevent the remaining issues from
+     * being updated.
+     *
+     * Note, this does not update issue comments or an issues description.
+     *
+     * @param issues the issues to be updated.
+     * @return the result of each update, in the iteration order of the provided issues.
+     */
+    public List<IssueUpdateResult> updateIssues(Collection<Issue> issues) {
+        Objects.requireNonNull(issues, "issues collection cannot be null");
+        checkIssueTrackerExists();
+
+        List<IssueUpdateResult> results = new ArrayList<>(Collections.nCopies(issues.size(), null));
+        Map<IssueTrackerService, List<Integer>> indexesByTracker = new LinkedHashMap<>();
+        List<Issue> issueList = new ArrayList<>(issues);
+        for (int i = 0; i < issueList.size(); i++) {
+            Issue issue = issueList.get(i);
+            Objects.requireNonNull(issue, "issue cannot be null");
+            final IssueTrackerService its = getTrackerFor(issue.getURL());
+            if (its != null) {
+                indexesByTracker.computeIfAbsent(its, tracker -> new ArrayList<>()).add(i);
+            } else {
+                results.set(i, IssueUpdateResult.failure(issue,
+                        new NotFoundException("No issues found which correspond to url: " + issue.getURL())));
+            }
+        }
+
+        // the trackers fan out on the shared executor too, so the calling thread takes part instead of blocking on it
+        List<Map.Entry<IssueTrackerService, List<Integer>>> trackers = new ArrayList<>(indexesByTracker.entrySet());
+        List<List<IssueUpdateResult>> trackerResults = ParallelTasks.map(executorService, trackers.size(), trackers,
+                tracker -> tracker.getKey().updateIssues(
+                        tracker.getValue().stream().map(issueList::get).collect(Collectors.toList())));
+        for (int t = 0; t < trackers.size(); t++) {
+            List<Integer> indexes = trackers.get(t).getValue();
+            for (int i = 0; i < indexes.size(); i++)
+                results.set(indexes.get(i), trackerResults.get(t).get(i));
+        }
+        return results;
+    }
+
     /**
      * Adds a new comment to the specified issue.
      *
@@ -672,6 +723,50 @@ public class Aphrodite implements AutoCloseable {
         throw new NotFoundException("No pull request found which corresponds to url: " + url);
     }
 
+    /**
+     * Retrieve the pull requests located at the provided URLs. The pull requests are grouped by repository, and
+     * the pull requests of each repository are retrieved by a separate task, so that repositories are queried
+     * concurrently. This method simply logs any pull request URLs that cannot be retrieved from a
+     * <code>RepositoryService</code>.
+     *
+     * @param urls a collection of pull request URLs.
+     * @return the <code>PullRequest</code> objects indexed by their URL.
+     */
+    public Map<URL, PullRequest> getPullRequests(Collection<URL> urls) {
+        checkRepositoryServiceExists();
+        Objects.requireNonNull(urls, "the collection of urls cannot be null");
+
+        Map<String, List<URL>> urlsByRepository = urls.stream()
+                .distinct()
+                .collect(Collectors.groupingBy(Aphrodite::getRepositoryPath, LinkedHashMap::new, Collectors.toList()));
+
+        List<Map.Entry<RepositoryService, List<URL>>> requests = new ArrayList<>();
+        for (List<URL> repositoryUrls : urlsByRepository.values()) {
+            URL url = repositoryUrls.get(0);
+            Optional<RepositoryService> repositoryService = repositories.stream()
+                    .filter(service -> service.urlExists(url) && service.repositoryAccessable(url))
+                    .findFirst();
+            if (repositoryService.isPresent()) {
+                requests.add(new AbstractMap.SimpleImmutableEntry<>(repositoryService.get(), repositoryUrls));
+            } else {
+                Utils.logWarnMessage(LOG, "No repository service found which corresponds to url: " + url);
+            }
+        }
+
+        // this is called from tasks of the shared executor too, so the calling thread takes part instead of blocking on it
+        Map<URL, PullRequest> pullRequests = new HashMap<>();
+        ParallelTasks.map(executorService, PULL_REQUEST_PARALLELISM, requests,
+                request -> request.getKey().getPullRequests(request.getValue()))
+                .forEach(pullRequests::putAll);
+        return pullRequests;
+    }
+
+    // The pull request url without the trailing pull request number, e.g. https://github.com/owner/repository/pull
+    private static String getRepositoryPath(URL url) {
+        String path = url.toString();
+        return path.substring(0, Math.max(path.lastIndexOf('/'), 0));
+    }
+
     public Map<RepositoryType, RateLimit> getRateLimits() throws NotFoundException {
         Map<RepositoryType, RateLimit> rateLimits = new HashMap<>();
         for (RepositoryService repositoryService : repositories) {
@@ -737,6 +832,22 @@ public class Aphrodite implements AutoCloseable {
         throw new NotFoundException("No repository found which corresponds to url: " + repository.getURL());
     }
 
+    /**
+     * Discard the cached result of {@link #isRepositoryLabelsModifiable(Repository)} for the provided
+     * <code>Repository</code>, so that the permissions of the user are checked again.
+     *
+     * @param repository the <code>Repository</code> whose permissions are to be checked again
+     */
+    public void invalidateRepositoryLabelsModifiable(Repository repository) {
+        checkRepositoryServiceExists();
+        Objects.requireNonNull(repository, "repository cannot be null");
+
+        for (RepositoryService repositoryService : repositories) {
+            if (repositoryService.urlExists(repository.getURL()))
+                repositoryService.invalidateModifiableLabels(repository);
+        }
+    }
+
     /**
      * Set the labels for the provided <code>PullRequest</code> object.
      * @param pullRequest the <code>PullRequest</code> object whose will be set.
@@ -823,6 +934,67 @@ public class Aphrodite implements AutoCloseable {
         }
     }
 
+    /**
+     * Attach a label to each of the provided pull requests, through their <code>PullRequestHome</code>. The pull
+     * requests are labelled concurrently, and a failure to label one pull request does not prevent the remaining
+     * ones from being labelled.
+     *
+     * @param pullRequests the <code>PullRequest</code>s to which the label will be applied.
+     * @param label the <code>Label</code> to be applied, which must already exist at the remote repository.
+     * @return whether the label was applied, for each pull request in the iteration order of the provided ones.
+     */
+    public Map<PullRequest, Boolean> addLabelToPullRequests(Collection<PullRequest> pullRequests, Label label) {
+        Objects.requireNonNull(label, "label cannot be null");
+        return applyToPullRequests(pullRequests, pullRequest -> pullRequest.addLabel(label));
+    }
+
+    /**
+     * Remove a label from each of the provided pull requests, through their <code>PullRequestHome</code>. The pull
+     * requests are updated concurrently, and a failure to update one pull request does not prevent the remaining
+     * ones from being updated.
+     *
+     * @param pullRequests the <code>PullRequest</code>s whose label will be removed.
+     * @param label the <code>Label</code> to be removed.
+     * @return whether the label was removed, for each pull request in the iteration order of the provided ones.
+     */
+    public Map<PullRequest, Boolean> removeLabelFromPullRequests(Collection<PullRequest> pullRequests, Label label) {
+        Objects.requireNonNull(label, "label cannot be null");
+        return applyToPullRequests(pullRequests, pullRequest -> pullRequest.removeLabel(label));
+    }
+
+    private Map<PullRequest, Boolean> applyToPullRequests(Collection<PullRequest> pullRequests, LabelChange change) {
+        Objects.requireNonNull(pullRequests, "pull requests collection cannot be null");
+        List<PullRequest> pullRequestList = new ArrayList<>(pullRequests);
+        pullRequestList.forEach(pullRequest -> Objects.requireNonNull(pullRequest, "pull request cannot be null"));
+
+        // a bounded number of pull requests are updated at once, and the calling thread takes part instead of
+        // blocking on the shared executor. The bulk update yields to the interactive requests when the budgets run low.
+        List<Boolean> applied;
+        RequestPriority previous = RequestPriority.set(RequestPriority.BACKGROUND);
+        try {
+            applied = ParallelTasks.map(executorService, PULL_REQUEST_PARALLELISM, pullRequestList, pullRequest -> {
+                try {
+                    return change.apply(pullRequest);
+                } catch (NameNotFoundException e) {
+                    Utils.logException(LOG, "No pull request home found for pull request: " + pullRequest.getURL(), e);
+                    return false;
+                }
+            });
+        } finally {
+            RequestPriority.set(previous);
+        }
+
+        Map<PullRequest, Boolean> results = new LinkedHashMap<>();
+        for (int i = 0; i < pullRequestList.size(); i++)
+            results.put(pullRequestList.get(i), applied.get(i));
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface LabelChange {
+        boolean apply(PullRequest pullRequest) throws NameNotFoundException;
+    }
+
     /**
      * Retrieve all <code>PullRequest</code> objects related to the supplied pull request. A pull request is related if its URL is referenced in the
      * provided pull request object. Note, this method fails silently if a pull request cannot be retrieved from a URL, with the error message
@@ -1011,14 +1183,20 @@ public class Aphrodite implements AutoCloseable {
         public void run() {
             if (LOG.isInfoEnabled())
                 LOG.info("Update Aphrodite streams");
-            for(StreamService ss: streamServices){
-                try {
-                    ss.updateStreams();
-                } catch (NotFoundException e) {
-                    if(LOG.isErrorEnabled()){
-                        LOG.error("Failed to update stream service: "+ss, e);
+            // the periodic update yields to the interactive requests when the request budgets run low
+            RequestPriority previous = RequestPriority.set(RequestPriority.BACKGROUND);
+            try {
+                for(StreamService ss: streamServices){
+                    try {
+                        ss.updateStreams();
+                    } catch (NotFoundException e) {
+                        if(LOG.isErrorEnabled()){
+                            LOG.error("Failed to update stream service: "+ss, e);
+                        }
                     }
                 }
+            } finally {
+                RequestPriority.set(previous);
             }
             if (LOG.isInfoEnabled())
                 LOG.info("Aphrodite streams update complete");
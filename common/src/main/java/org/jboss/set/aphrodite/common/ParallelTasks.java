@@ -0,0 +1,130 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Applies a task to many elements in parallel, with the calling thread taking part in the work. Helpers are submitted
+ * to the executor, and the calling thread only waits for the helpers which have already started: a helper still
+ * queued is cancelled instead. It is therefore safe to call from a task of the same executor, whatever the number of
+ * its threads, as nested calls never wait for work which cannot be scheduled.
+ * <p>
+ * The helpers send their requests with the {@link RequestPriority} of the calling thread.
+ */
+public final class ParallelTasks {
+
+    private ParallelTasks() {
+    }
+
+    /**
+     * @param parallelism the maximum number of elements processed at the same time, including by the calling thread.
+     * @return the results of the task, in the same order as the elements.
+     * @throws RuntimeException the first exception thrown by the task, once the running tasks have completed.
+     */
+    public static <T, R> List<R> map(Executor executor, int parallelism, List<T> elements, Function<T, R> task) {
+        int size = elements.size();
+        List<R> results = new ArrayList<>(size);
+        if (executor == null || parallelism < 2 || size < 2) {
+            for (T element : elements)
+                results.add(task.apply(element));
+            return results;
+        }
+
+        AtomicReferenceArray<R> slots = new AtomicReferenceArray<>(size);
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable work = () -> {
+            try {
+                for (int i = next.getAndIncrement(); i < size && failure.get() == null; i = next.getAndIncrement())
+                    slots.set(i, task.apply(elements.get(i)));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        };
+
+        RequestPriority priority = RequestPriority.current();
+        List<Helper> helpers = new ArrayList<>();
+        for (int i = 1; i < Math.min(size, parallelism); i++) {
+            Helper helper = new Helper(work, priority);
+            try {
+                executor.execute(helper);
+                helpers.add(helper);
+            } catch (RejectedExecutionException e) {
+                // the calling thread does the work of the helpers which cannot be submitted
+                break;
+            }
+        }
+
+        work.run();
+        for (Helper helper : helpers)
+            helper.awaitIfStarted();
+        if (failure.get() != null)
+            throw failure.get();
+
+        for (int i = 0; i < size; i++)
+            results.add(slots.get(i));
+        return results;
+    }
+
+    private static class Helper implements Runnable {
+        private final Runnable work;
+        private final RequestPriority priority;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Helper(Runnable work, RequestPriority priority) {
+            this.work = work;
+            this.priority = priority;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true))
+                return;
+            RequestPriority previous = RequestPriority.set(priority);
+            try {
+                work.run();
+            } finally {
+                RequestPriority.set(previous);
+                done.complete(null);
+            }
+        }
+
+        private void awaitIfStarted() {
+            // claiming a helper which has not started yet turns it into a no-op, so there is nothing to wait for
+            if (!claimed.compareAndSet(false, true))
+                done.join();
+        }
+    }
+}
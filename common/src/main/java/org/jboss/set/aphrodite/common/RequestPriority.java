@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.common;
+
+/**
+ * The priority of the requests sent to the remote services by the current thread. The services sharing a request
+ * budget serve the interactive requests first when it runs low.
+ */
+public enum RequestPriority {
+
+    /**
+     * A request a user is waiting for, the default.
+     */
+    INTERACTIVE,
+
+    /**
+     * A request of a periodic or bulk task, which can wait for the budget to be replenished.
+     */
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Set the priority of the requests sent by the current thread.
+     *
+     * @return the previous priority, to be restored once the task is done.
+     */
+    public static RequestPriority set(RequestPriority priority) {
+        RequestPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        return previous;
+    }
+}
@@ -189,7 +189,11 @@ public class AphroditeConfig {
                         json.getString("username", null),
                         json.getString("password", null),
                         TrackerType.valueOf(json.getString("tracker", null)),
-                        json.getInt("defaultIssueLimit", -1)))
+                        json.getInt("defaultIssueLimit", -1),
+                        json.getInt("maxConcurrentRequests", IssueTrackerConfig.DEFAULT_MAX_CONCURRENT_REQUESTS),
+                        json.getInt("fullSyncIntervalMinutes", IssueTrackerConfig.DEFAULT_FULL_SYNC_INTERVAL_MINUTES),
+                        json.getBoolean("eagerLoading", false),
+                        TransportType.valueOf(json.getString("transport", TransportType.XMLRPC.name()))))
                 .collect(Collectors.toList());
     }
 
@@ -203,10 +207,24 @@ public class AphroditeConfig {
                                 json.getString("url", null),
                                 json.getString("username", null),
                                 json.getString("password", null),
-                                RepositoryType.valueOf(json.getString("type", null))))
+                                RepositoryType.valueOf(json.getString("type", null)),
+                                json.getBoolean("eagerLoading", false),
+                                getCacheConfig(json.getJsonObject("cache"))))
                 .collect(Collectors.toList());
     }
 
+    private static CacheConfig getCacheConfig(JsonObject json) {
+        if (json == null)
+            return new CacheConfig();
+
+        return new CacheConfig(
+                json.getString("directory", null),
+                json.getInt("size", CacheConfig.DEFAULT_SIZE),
+                json.getInt("maxStale", CacheConfig.DEFAULT_MAX_STALE),
+                json.getInt("memoryEntries", CacheConfig.DEFAULT_MEMORY_ENTRIES),
+                json.getBoolean("revalidate", true));
+    }
+
     private static List<StreamConfig> getStreamConfigs(JsonObject jsonObject) {
         JsonArray jsonArray = jsonObject.getJsonArray("streamConfigs");
         if (jsonArray == null)
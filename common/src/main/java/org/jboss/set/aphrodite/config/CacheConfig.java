@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.config;
+
+import java.util.Objects;
+
+/**
+ * The HTTP response cache of a repository service: an in-memory tier in front of an optional disk cache.
+ */
+public class CacheConfig {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int DEFAULT_MAX_STALE = 0;
+    public static final int DEFAULT_MEMORY_ENTRIES = 500;
+
+    private final String directory;
+    private final int size;
+    private final int maxStale;
+    private final int memoryEntries;
+    private final boolean revalidate;
+
+    /**
+     * The default cache: no disk cache, and the responses kept in memory are revalidated on every request.
+     */
+    public CacheConfig() {
+        this(null, DEFAULT_SIZE, DEFAULT_MAX_STALE, DEFAULT_MEMORY_ENTRIES, true);
+    }
+
+    public CacheConfig(String directory, int size, int maxStale, int memoryEntries, boolean revalidate) {
+        if (size <= 0)
+            throw new IllegalArgumentException("The cache 'size' must be positive.");
+        if (maxStale < 0)
+            throw new IllegalArgumentException("The cache 'maxStale' cannot be negative.");
+        if (memoryEntries < 0)
+            throw new IllegalArgumentException("The cache 'memoryEntries' cannot be negative.");
+        this.directory = directory;
+        this.size = size;
+        this.maxStale = maxStale;
+        this.memoryEntries = memoryEntries;
+        this.revalidate = revalidate;
+    }
+
+    /**
+     * @return the directory of the disk cache, or null if responses are only cached in memory.
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return the size of the disk cache in MB.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return how many seconds a cached response is served without asking the server whether it changed.
+     */
+    public int getMaxStale() {
+        return maxStale;
+    }
+
+    /**
+     * @return how many responses are kept in memory, 0 disabling the in-memory tier.
+     */
+    public int getMemoryEntries() {
+        return memoryEntries;
+    }
+
+    /**
+     * @return whether the responses kept in memory are revalidated with <code>If-None-Match</code> or
+     *         <code>If-Modified-Since</code> once stale. Defaults to true.
+     */
+    public boolean isRevalidate() {
+        return revalidate;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheConfig{" +
+                "directory='" + directory + '\'' +
+                ", size=" + size +
+                ", maxStale=" + maxStale +
+                ", memoryEntries=" + memoryEntries +
+                ", revalidate=" + revalidate +
+                '}';
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(directory, size, maxStale, memoryEntries, revalidate);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        CacheConfig other = (CacheConfig) obj;
+        return Objects.equals(directory, other.directory) && size == other.size && maxStale == other.maxStale
+                && memoryEntries == other.memoryEntries && revalidate == other.revalidate;
+    }
+}
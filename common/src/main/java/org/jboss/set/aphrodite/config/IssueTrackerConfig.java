@@ -28,26 +28,45 @@ import java.util.Objects;
  * @author Ryan Emerson
  */
 public class IssueTrackerConfig extends AbstractServiceConfig {
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+    public static final int DEFAULT_FULL_SYNC_INTERVAL_MINUTES = 60;
+
     private final TrackerType tracker;
     private final int defaultIssueLimit;
+    private final int maxConcurrentRequests;
+    private final int fullSyncIntervalMinutes;
+    private final boolean eagerLoading;
+    private final TransportType transport;
 
     public IssueTrackerConfig(String url, String username, String password, TrackerType tracker,
             int defaultIssueLimit) {
+        this(url, username, password, tracker, defaultIssueLimit, DEFAULT_MAX_CONCURRENT_REQUESTS,
+                DEFAULT_FULL_SYNC_INTERVAL_MINUTES, false, TransportType.XMLRPC);
+    }
+
+    public IssueTrackerConfig(String url, String username, String password, TrackerType tracker,
+            int defaultIssueLimit, int maxConcurrentRequests, int fullSyncIntervalMinutes, boolean eagerLoading,
+            TransportType transport) {
         super(url, username, password);
 
         Objects.requireNonNull(tracker, "The 'tracker' field must be set for all IssueTrackers");
+        Objects.requireNonNull(transport, "The 'transport' field cannot be null");
+        if (maxConcurrentRequests < 1)
+            throw new IllegalArgumentException("The 'maxConcurrentRequests' field must be greater than zero");
+        if (fullSyncIntervalMinutes < 0)
+            throw new IllegalArgumentException("The 'fullSyncIntervalMinutes' field cannot be negative");
         this.tracker = tracker;
         this.defaultIssueLimit = defaultIssueLimit;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.fullSyncIntervalMinutes = fullSyncIntervalMinutes;
+        this.eagerLoading = eagerLoading;
+        this.transport = transport;
     }
 
     public IssueTrackerConfig(String url, String password, TrackerType tracker,
             int defaultIssueLimit) {
         // IssueTrackerConfig constructor takes only password (token)
-        super(url, null, password);
-
-        Objects.requireNonNull(tracker, "The 'tracker' field must be set for all IssueTrackers");
-        this.tracker = tracker;
-        this.defaultIssueLimit = defaultIssueLimit;
+        this(url, null, password, tracker, defaultIssueLimit);
     }
 
     public TrackerType getTracker() {
@@ -58,6 +77,37 @@ public class IssueTrackerConfig extends AbstractServiceConfig {
         return defaultIssueLimit;
     }
 
+    /**
+     * @return the maximum number of requests a tracker may have in flight at once when it splits
+     *         a single operation, e.g. a paginated search, into several remote calls.
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * @return the number of minutes after which an incremental search, which only retrieves the issues updated
+     *         since its previous call, runs a full search again instead. Zero disables incremental searches.
+     */
+    public int getFullSyncIntervalMinutes() {
+        return fullSyncIntervalMinutes;
+    }
+
+    /**
+     * @return whether the comments and history of an issue are retrieved together with the issue, instead of on
+     *         first access.
+     */
+    public boolean isEagerLoading() {
+        return eagerLoading;
+    }
+
+    /**
+     * @return the protocol used to communicate with the server, {@link TransportType#XMLRPC} by default.
+     */
+    public TransportType getTransport() {
+        return transport;
+    }
+
     @Override
     public String toString() {
         return "IssueTrackerConfig{" +
@@ -66,6 +116,10 @@ public class IssueTrackerConfig extends AbstractServiceConfig {
                 ", password='" + getPassword() + '\'' +
                 ", tracker='" + tracker + '\'' +
                 ", defaultIssueLimit='" + defaultIssueLimit + '\'' +
+                ", maxConcurrentRequests='" + maxConcurrentRequests + '\'' +
+                ", fullSyncIntervalMinutes='" + fullSyncIntervalMinutes + '\'' +
+                ", eagerLoading='" + eagerLoading + '\'' +
+                ", transport='" + transport + '\'' +
                 '}';
     }
 
@@ -74,6 +128,10 @@ public class IssueTrackerConfig extends AbstractServiceConfig {
         final int prime = 31;
         int result = super.hashCode();
         result = prime * result + defaultIssueLimit;
+        result = prime * result + maxConcurrentRequests;
+        result = prime * result + fullSyncIntervalMinutes;
+        result = prime * result + (eagerLoading ? 1231 : 1237);
+        result = prime * result + transport.hashCode();
         result = prime * result + ((tracker == null) ? 0 : tracker.hashCode());
         return result;
     }
@@ -87,7 +145,9 @@ public class IssueTrackerConfig extends AbstractServiceConfig {
         if (getClass() != obj.getClass())
             return false;
         IssueTrackerConfig other = (IssueTrackerConfig) obj;
-        return defaultIssueLimit == other.defaultIssueLimit && tracker == other.tracker;
+        return defaultIssueLimit == other.defaultIssueLimit && maxConcurrentRequests == other.maxConcurrentRequests
+                && fullSyncIntervalMinutes == other.fullSyncIntervalMinutes && eagerLoading == other.eagerLoading
+                && tracker == other.tracker && transport == other.transport;
     }
 
 }
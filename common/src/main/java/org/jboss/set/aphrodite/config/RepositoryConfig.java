@@ -32,18 +32,44 @@ import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
 public class RepositoryConfig extends AbstractServiceConfig {
 
     private final RepositoryType type;
+    private final boolean eagerLoading;
+    private final CacheConfig cacheConfig;
 
     public RepositoryConfig(String url, String username, String password, RepositoryType type) {
+        this(url, username, password, type, false);
+    }
+
+    public RepositoryConfig(String url, String username, String password, RepositoryType type, boolean eagerLoading) {
+        this(url, username, password, type, eagerLoading, new CacheConfig());
+    }
+
+    public RepositoryConfig(String url, String username, String password, RepositoryType type, boolean eagerLoading,
+            CacheConfig cacheConfig) {
         super(url, username, password);
 
         Objects.requireNonNull(type, "A 'type' must be specified for each repository.");
+        Objects.requireNonNull(cacheConfig, "A 'cacheConfig' must be specified for each repository.");
         this.type = type;
+        this.eagerLoading = eagerLoading;
+        this.cacheConfig = cacheConfig;
     }
 
     public RepositoryType getType() {
         return type;
     }
 
+    /**
+     * @return whether the commits of the pull requests are retrieved together with the pull requests, instead of on
+     *         the first access to them. Defaults to false.
+     */
+    public boolean isEagerLoading() {
+        return eagerLoading;
+    }
+
+    public CacheConfig getCacheConfig() {
+        return cacheConfig;
+    }
+
     @Override
     public String toString() {
         return "RepositoryConfig{" +
@@ -51,6 +77,8 @@ public class RepositoryConfig extends AbstractServiceConfig {
                 ", username='" + getUsername() + '\'' +
                 ", password='" + getPassword() + '\'' +
                 ", type='" + type + '\'' +
+                ", eagerLoading='" + eagerLoading + '\'' +
+                ", cacheConfig=" + cacheConfig +
                 '}';
     }
 
@@ -59,6 +87,8 @@ public class RepositoryConfig extends AbstractServiceConfig {
         final int prime = 31;
         int result = super.hashCode();
         result = prime * result + ((type == null) ? 0 : type.hashCode());
+        result = prime * result + (eagerLoading ? 1231 : 1237);
+        result = prime * result + cacheConfig.hashCode();
         return result;
     }
 
@@ -71,6 +101,6 @@ public class RepositoryConfig extends AbstractServiceConfig {
         if (getClass() != obj.getClass())
             return false;
         RepositoryConfig other = (RepositoryConfig) obj;
-        return type == other.type;
+        return type == other.type && eagerLoading == other.eagerLoading && cacheConfig.equals(other.cacheConfig);
     }
 }
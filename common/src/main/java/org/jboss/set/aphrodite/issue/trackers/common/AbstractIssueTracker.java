@@ -23,6 +23,7 @@
 package org.jboss.set.aphrodite.issue.trackers.common;
 
 import org.apache.commons.logging.Log;
+import org.jboss.set.aphrodite.common.ParallelTasks;
 import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.config.AphroditeConfig;
 import org.jboss.set.aphrodite.config.IssueTrackerConfig;
@@ -30,6 +31,7 @@ import org.jboss.set.aphrodite.config.TrackerType;
 import org.jboss.set.aphrodite.domain.Comment;
 import org.jboss.set.aphrodite.domain.Issue;
 import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.spi.AphroditeException;
 import org.jboss.set.aphrodite.spi.IssueTrackerService;
 import org.jboss.set.aphrodite.spi.NotFoundException;
 
@@ -42,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -128,6 +131,35 @@ public abstract class AbstractIssueTracker implements IssueTrackerService {
         );
     }
 
+    @Override
+    public List<IssueUpdateResult> updateIssues(Collection<Issue> issues) {
+        Objects.requireNonNull(issues);
+        return executeConcurrently(new ArrayList<>(issues), this::updateIssueAndReturnResult);
+    }
+
+    protected IssueUpdateResult updateIssueAndReturnResult(Issue issue) {
+        try {
+            return updateIssue(issue) ? IssueUpdateResult.success(issue) :
+                    IssueUpdateResult.failure(issue, new AphroditeException("Unable to update issue " + issue.getURL()));
+        } catch (NotFoundException | AphroditeException | RuntimeException e) {
+            Utils.logException(getLog(), "Unable to update issue " + issue.getURL() + ":", e);
+            return IssueUpdateResult.failure(issue, e);
+        }
+    }
+
+    /**
+     * Apply the task to each of the elements, with at most {@link IssueTrackerConfig#getMaxConcurrentRequests()}
+     * tasks running at the same time. The calling thread takes part in the work and never waits for a task still
+     * queued, so that this can be called from a task of the shared executor. The tasks are executed in the calling
+     * thread if no executor is available.
+     *
+     * @return the results of the task, in the same order as the elements.
+     */
+    protected <T, R> List<R> executeConcurrently(List<T> elements, Function<T, R> task) {
+        int parallelism = config != null ? config.getMaxConcurrentRequests() : 1;
+        return ParallelTasks.map(executorService, parallelism, elements, task);
+    }
+
     protected void checkHost(URL url) throws NotFoundException {
         if (!urlExists(url))
             throw new NotFoundException("The requested entity cannot be found at this tracker as " +
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.common;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.jboss.set.aphrodite.domain.Issue;
+
+/**
+ * The outcome of looking up several issues at once: the issues which were found, and the URLs which could not be
+ * resolved to an issue, because the issue does not exist or is not visible, or because the URL is invalid.
+ */
+public class IssueLookupResult {
+
+    private final List<Issue> issues;
+    private final List<URL> unresolvedUrls;
+
+    public IssueLookupResult(List<Issue> issues, List<URL> unresolvedUrls) {
+        this.issues = Collections.unmodifiableList(Objects.requireNonNull(issues, "issues cannot be null"));
+        this.unresolvedUrls = Collections.unmodifiableList(Objects.requireNonNull(unresolvedUrls, "unresolvedUrls cannot be null"));
+    }
+
+    public List<Issue> getIssues() {
+        return issues;
+    }
+
+    /**
+     * @return the requested URLs for which no issue was found, in the order they were requested.
+     */
+    public List<URL> getUnresolvedUrls() {
+        return unresolvedUrls;
+    }
+
+    public boolean isComplete() {
+        return unresolvedUrls.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "IssueLookupResult{" +
+                "issues=" + issues.size() +
+                ", unresolvedUrls=" + unresolvedUrls +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.set.aphrodite.issue.trackers.common;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import org.jboss.set.aphrodite.domain.Issue;
+
+/**
+ * The outcome of updating a single issue as part of a bulk update.
+ */
+public class IssueUpdateResult {
+
+    private final Issue issue;
+    private final Exception failure;
+
+    private IssueUpdateResult(Issue issue, Exception failure) {
+        this.issue = Objects.requireNonNull(issue, "issue cannot be null");
+        this.failure = failure;
+    }
+
+    public static IssueUpdateResult success(Issue issue) {
+        return new IssueUpdateResult(issue, null);
+    }
+
+    public static IssueUpdateResult failure(Issue issue, Exception failure) {
+        return new IssueUpdateResult(issue, Objects.requireNonNull(failure, "failure cannot be null"));
+    }
+
+    public Issue getIssue() {
+        return issue;
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * @return the reason why the issue was not updated, or an empty optional if the update succeeded.
+     */
+    public Optional<Exception> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    @Override
+    public String toString() {
+        return "IssueUpdateResult{" +
+                "issue=" + issue.getURL() +
+                ", failure=" + failure +
+                '}';
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.set.aphrodite.issue.trackers.common;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.Aphrodite;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.Patch;
+import org.jboss.set.aphrodite.domain.PatchState;
+import org.jboss.set.aphrodite.domain.PatchType;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.spi.PatchHome;
+import org.jboss.set.aphrodite.spi.AphroditeException;
+
+/**
+ * Creates the patches of an issue for the {@link PatchHome} implementations of the issue trackers, each of which holds
+ * its own resolver.
+ *
+ * The returned stream is lazy: the states of the pull requests are only resolved once the first patch is consumed,
+ * so counting the patches does not query any repository. The pull requests whose state is not cached are then
+ * retrieved together with {@link Aphrodite#getPullRequests(java.util.Collection)}, and their states are cached for
+ * {@link #STATE_TTL_MILLIS}. At most {@link #MAX_CACHED_STATES} states are cached, the least recently used ones being
+ * evicted beyond that.
+ */
+public final class PatchResolver {
+    private static final Log LOG = LogFactory.getLog(PatchResolver.class);
+
+    // Short enough for a merged or closed pull request to be noticed quickly
+    static final long STATE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    static final int MAX_CACHED_STATES = 4096;
+
+    @FunctionalInterface
+    interface PullRequestLoader {
+        Map<URL, PullRequest> load(Collection<URL> urls) throws AphroditeException;
+    }
+
+    private final PullRequestLoader loader;
+    private final int maxCachedStates;
+    private final Map<URL, CachedState> states;
+
+    public PatchResolver() {
+        this(urls -> Aphrodite.instance().getPullRequests(urls), MAX_CACHED_STATES);
+    }
+
+    PatchResolver(PullRequestLoader loader, int maxCachedStates) {
+        this.loader = loader;
+        this.maxCachedStates = maxCachedStates;
+        this.states = new LinkedHashMap<URL, CachedState>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<URL, CachedState> eldest) {
+                return size() > PatchResolver.this.maxCachedStates;
+            }
+        };
+    }
+
+    public Stream<Patch> getPatches(List<URL> urls) {
+        Supplier<Map<URL, PatchState>> states = memoize(() -> getPullRequestStates(urls));
+        return urls.stream().map(url -> {
+            PatchType patchType = getPatchType(url);
+            PatchState patchState = patchType == PatchType.PULLREQUEST ?
+                    states.get().getOrDefault(url, PatchState.UNDEFINED) : getPatchState(patchType);
+            return new Patch(url, patchType, patchState);
+        });
+    }
+
+    public static PatchType getPatchType(URL url) {
+        String urlStr = url.toString();
+        if (urlStr.contains("/pull/"))
+            return PatchType.PULLREQUEST;
+        else if (urlStr.contains("/commit/"))
+            return PatchType.COMMIT;
+        else
+            return PatchType.FILE;
+    }
+
+    private static PatchState getPatchState(PatchType patchType) {
+        return patchType == PatchType.COMMIT ? PatchState.CLOSED : PatchState.UNDEFINED;
+    }
+
+    /**
+     * @return the number of cached states, including the expired ones which have not been evicted yet.
+     */
+    int getCachedStateCount() {
+        synchronized (states) {
+            return states.size();
+        }
+    }
+
+    private Map<URL, PatchState> getPullRequestStates(List<URL> urls) {
+        long now = System.currentTimeMillis();
+        Map<URL, PatchState> resolved = new HashMap<>();
+        List<URL> missing = new ArrayList<>();
+        synchronized (states) {
+            for (URL url : urls) {
+                if (getPatchType(url) != PatchType.PULLREQUEST)
+                    continue;
+
+                CachedState cached = states.get(url);
+                if (cached != null && !cached.isExpired(now))
+                    resolved.put(url, cached.state);
+                else
+                    missing.add(url);
+            }
+        }
+        if (missing.isEmpty())
+            return resolved;
+
+        // the lock is not held while the pull requests are retrieved
+        try {
+            for (Map.Entry<URL, PullRequest> entry : loader.load(missing).entrySet()) {
+                PullRequest pullRequest = entry.getValue();
+                PatchState state = pullRequest != null && pullRequest.getState() != null ?
+                        PatchState.valueOf(pullRequest.getState().toString()) : PatchState.UNDEFINED;
+                resolved.put(entry.getKey(), state);
+                synchronized (states) {
+                    states.put(entry.getKey(), new CachedState(state, now));
+                }
+            }
+        } catch (AphroditeException e) {
+            Utils.logException(LOG, e);
+        }
+        return resolved;
+    }
+    private static <T> Supplier<T> memoize(Supplier<T> supplier) {
+        return new Supplier<T>() {
+            private T value;
+
+            @Override
+            public synchronized T get() {
+                if (value == null)
+                    value = supplier.get();
+                return value;
+            }
+        };
+    }
+
+    private static class CachedState {
+        private final PatchState state;
+        private final long time;
+
+        private CachedState(PatchState state, long time) {
+            this.state = state;
+            this.time = time;
+        }
+
+        private boolean isExpired(long now) {
+            return now - time >= STATE_TTL_MILLIS;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.jboss.set.aphrodite.domain.PullRequest;
 import org.jboss.set.aphrodite.domain.SearchCriteria;
 import org.jboss.set.aphrodite.issue.trackers.common.AbstractIssueTracker;
 import org.jboss.set.aphrodite.issue.trackers.common.IssueCreationDetails;
+import org.jboss.set.aphrodite.issue.trackers.common.IssueUpdateResult;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -135,6 +136,17 @@ public interface IssueTrackerService {
      */
     boolean updateIssue(Issue issue) throws NotFoundException, AphroditeException;
 
+    /**
+     * Update all of the provided issues at the remote issue tracker service. The updates are executed concurrently,
+     * and a failure to update one issue does not prevent the remaining issues from being updated.
+     *
+     * Note, this does not update issue comments or an issues description.
+     *
+     * @param issues the issues to be updated at the <code>IssueTrackerService</code>
+     * @return the result of each update, in the iteration order of the provided issues.
+     */
+    List<IssueUpdateResult> updateIssues(Collection<Issue> issues);
+
     /**
      * Adds a new comment to the specified issue.
      *
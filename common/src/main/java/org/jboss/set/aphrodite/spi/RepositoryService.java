@@ -23,8 +23,13 @@
 package org.jboss.set.aphrodite.spi;
 
 import java.net.URL;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.config.AphroditeConfig;
 import org.jboss.set.aphrodite.config.RepositoryConfig;
 import org.jboss.set.aphrodite.domain.Commit;
@@ -94,6 +99,27 @@ public interface RepositoryService {
      */
     PullRequest getPullRequest(URL url) throws NotFoundException;
 
+    /**
+     * Get the <code>PullRequest</code>s located at the provided <code>URL</code>s, which all belong to the same
+     * repository. By default they are retrieved one at a time, services which can retrieve several pull requests
+     * with a single call should override this method.
+     *
+     * @param urls the <code>URL</code>s of the pull requests to be retrieved.
+     * @return the <code>PullRequest</code> objects indexed by their <code>URL</code>, which does not contain the
+     *         pull requests which cannot be found.
+     */
+    default Map<URL, PullRequest> getPullRequests(Collection<URL> urls) {
+        Map<URL, PullRequest> pullRequests = new HashMap<>();
+        for (URL url : urls) {
+            try {
+                pullRequests.put(url, getPullRequest(url));
+            } catch (NotFoundException e) {
+                Utils.logException(LogFactory.getLog(getClass()), "Unable to find pull request with url: " + url, e);
+            }
+        }
+        return pullRequests;
+    }
+
     /**
      * Retrieve all pull requests associated with the provided <code>Issue</code> object
      *
@@ -142,6 +168,14 @@ public interface RepositoryService {
      */
     boolean hasModifiableLabels(Repository repository) throws NotFoundException;
 
+    /**
+     * Forget the permissions cached by {@link #hasModifiableLabels(Repository)} for the provided <code>Repository</code>,
+     * for instance after the user was granted access to it.
+     * @param repository the <code>Repository</code> whose permissions are to be checked again
+     */
+    default void invalidateModifiableLabels(Repository repository) {
+    }
+
     /**
      * Set the labels for the provided <code>PullRequest</code> object.
      * @param pullRequest the <code>PullRequest</code> object whose will be set.
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.common;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ParallelTasksTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(1);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void resultsInOrderTest() {
+        List<Integer> results = ParallelTasks.map(executor, 4, Arrays.asList(1, 2, 3, 4, 5), i -> i * 10);
+
+        assertEquals(Arrays.asList(10, 20, 30, 40, 50), results);
+    }
+
+    @Test(timeout = 10000)
+    public void nestedCallsOnSinglePoolThreadTest() throws Exception {
+        // the outer call runs on the only thread of the pool, as Aphrodite runs the tracker tasks
+        Future<List<Integer>> outer = executor.submit(() -> ParallelTasks.map(executor, 4, Arrays.asList(1, 2, 3),
+                i -> ParallelTasks.map(executor, 4, Arrays.asList(i, i), j -> j).stream().mapToInt(Integer::intValue).sum()));
+
+        assertEquals(Arrays.asList(2, 4, 6), outer.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void priorityCarriedToHelpersTest() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        RequestPriority previous = RequestPriority.set(RequestPriority.BACKGROUND);
+        try {
+            List<RequestPriority> priorities = ParallelTasks.map(pool, 3, Arrays.asList(1, 2, 3, 4, 5, 6), i -> {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return RequestPriority.current();
+            });
+            priorities.forEach(priority -> assertEquals(RequestPriority.BACKGROUND, priority));
+            // the threads of the pool are restored to their own priority
+            assertEquals(RequestPriority.INTERACTIVE, pool.submit(RequestPriority::current).get());
+        } finally {
+            RequestPriority.set(previous);
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failureTest() {
+        try {
+            ParallelTasks.map(executor, 2, Arrays.asList(1, 2, 3), i -> {
+                if (i == 2)
+                    throw new IllegalStateException("failed " + i);
+                return i;
+            });
+            fail("the failure of a task should be rethrown");
+        } catch (IllegalStateException e) {
+            assertEquals("failed 2", e.getMessage());
+        }
+    }
+}
@@ -38,7 +38,9 @@ import java.util.Collections;
 import static org.jboss.set.aphrodite.config.AphroditeConfigTestUtils.assertDeepEqualsIssueConfig;
 import static org.jboss.set.aphrodite.config.AphroditeConfigTestUtils.assertDeepEqualsRepositoryConfig;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Martin Stefanko (mstefank@redhat.com)
@@ -79,6 +81,91 @@ public class AphroditeConfigJSONTest {
 
     }
 
+    @Test
+    public void issueTrackerMaxConcurrentRequestsJSONTest() {
+        JsonObject jo = Json.createObjectBuilder()
+                .add("issueTrackerConfigs", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder()
+                                .add("url", "https://issues.redhat.com/")
+                                .add("password", "pass")
+                                .add("tracker", "JIRA"))
+                        .add(Json.createObjectBuilder()
+                                .add("url", "https://bugzilla.redhat.com/")
+                                .add("password", "pass")
+                                .add("tracker", "BUGZILLA")
+                                .add("maxConcurrentRequests", 8)
+                                .add("fullSyncIntervalMinutes", 15)
+                                .add("eagerLoading", true)
+                                .add("transport", "REST"))
+                        .build())
+                .add("repositoryConfigs", Json.createArrayBuilder().build())
+                .build();
+
+        AphroditeConfig result = AphroditeConfig.fromJson(jo);
+        assertEquals(IssueTrackerConfig.DEFAULT_MAX_CONCURRENT_REQUESTS,
+                result.getIssueTrackerConfigs().get(0).getMaxConcurrentRequests());
+        assertEquals(8, result.getIssueTrackerConfigs().get(1).getMaxConcurrentRequests());
+        assertEquals(IssueTrackerConfig.DEFAULT_FULL_SYNC_INTERVAL_MINUTES,
+                result.getIssueTrackerConfigs().get(0).getFullSyncIntervalMinutes());
+        assertEquals(15, result.getIssueTrackerConfigs().get(1).getFullSyncIntervalMinutes());
+        assertFalse(result.getIssueTrackerConfigs().get(0).isEagerLoading());
+        assertTrue(result.getIssueTrackerConfigs().get(1).isEagerLoading());
+        assertEquals(TransportType.XMLRPC, result.getIssueTrackerConfigs().get(0).getTransport());
+        assertEquals(TransportType.REST, result.getIssueTrackerConfigs().get(1).getTransport());
+    }
+
+    @Test
+    public void repositoryEagerLoadingJSONTest() {
+        JsonObject jo = Json.createObjectBuilder()
+                .add("issueTrackerConfigs", Json.createArrayBuilder().build())
+                .add("repositoryConfigs", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder()
+                                .add("url", "https://github.com/")
+                                .add("password", "pass")
+                                .add("type", "GITHUB"))
+                        .add(Json.createObjectBuilder()
+                                .add("url", "https://gitlab.cee.redhat.com/")
+                                .add("password", "pass")
+                                .add("type", "GITLAB")
+                                .add("eagerLoading", true))
+                        .build())
+                .build();
+
+        AphroditeConfig result = AphroditeConfig.fromJson(jo);
+        assertFalse(result.getRepositoryConfigs().get(0).isEagerLoading());
+        assertTrue(result.getRepositoryConfigs().get(1).isEagerLoading());
+    }
+
+    @Test
+    public void repositoryCacheJSONTest() {
+        JsonObject jo = Json.createObjectBuilder()
+                .add("issueTrackerConfigs", Json.createArrayBuilder().build())
+                .add("repositoryConfigs", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder()
+                                .add("url", "https://github.com/")
+                                .add("password", "pass")
+                                .add("type", "GITHUB"))
+                        .add(Json.createObjectBuilder()
+                                .add("url", "https://github.com/")
+                                .add("password", "pass")
+                                .add("type", "GITHUB")
+                                .add("cache", Json.createObjectBuilder()
+                                        .add("directory", "/tmp/github-cache")
+                                        .add("maxStale", 60)
+                                        .add("revalidate", false)))
+                        .build())
+                .build();
+
+        AphroditeConfig result = AphroditeConfig.fromJson(jo);
+        assertEquals(new CacheConfig(), result.getRepositoryConfigs().get(0).getCacheConfig());
+        CacheConfig cacheConfig = result.getRepositoryConfigs().get(1).getCacheConfig();
+        assertEquals("/tmp/github-cache", cacheConfig.getDirectory());
+        assertEquals(CacheConfig.DEFAULT_SIZE, cacheConfig.getSize());
+        assertEquals(60, cacheConfig.getMaxStale());
+        assertEquals(CacheConfig.DEFAULT_MEMORY_ENTRIES, cacheConfig.getMemoryEntries());
+        assertFalse(cacheConfig.isRevalidate());
+    }
+
     @Test
     public void repositoryConfigValidJSONTest() {
 
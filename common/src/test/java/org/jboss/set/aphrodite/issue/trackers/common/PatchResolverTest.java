@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.set.aphrodite.issue.trackers.common;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.Patch;
+import org.jboss.set.aphrodite.domain.PatchState;
+import org.jboss.set.aphrodite.domain.PatchType;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.junit.Test;
+
+public class PatchResolverTest {
+
+    @Test
+    public void countDoesNotResolveStatesTest() throws Exception {
+        // Resolving the state of the pull request would fail, as no Aphrodite instance is available
+        List<URL> urls = Arrays.asList(new URL("https://github.com/jboss-set/aphrodite/pull/100"),
+                new URL("https://github.com/jboss-set/aphrodite/pull/101"));
+
+        assertEquals(2, new PatchResolver().getPatches(urls).count());
+    }
+
+    @Test
+    public void patchWithoutPullRequestTest() throws Exception {
+        List<URL> urls = Arrays.asList(
+                new URL("https://github.com/jboss-set/aphrodite/commit/b053116bb42330971ac1357009b2d8879e21b3f0"),
+                new URL("https://bugzilla.redhat.com/attachment.cgi?id=1"));
+
+        List<Patch> patches = new PatchResolver().getPatches(urls).collect(Collectors.toList());
+        assertEquals(PatchType.COMMIT, patches.get(0).getPatchType());
+        assertEquals(PatchState.CLOSED, patches.get(0).getPatchState());
+        assertEquals(PatchType.FILE, patches.get(1).getPatchType());
+        assertEquals(PatchState.UNDEFINED, patches.get(1).getPatchState());
+    }
+
+    private static Map<URL, PullRequest> toPullRequests(Collection<URL> urls) {
+        Map<URL, PullRequest> pullRequests = new HashMap<>();
+        for (URL url : urls) {
+            pullRequests.put(url, new PullRequest(Utils.getTrailingValueFromUrlPath(url), url, null, null,
+                    PullRequestState.OPEN, null, null, false, false, null, null, Collections.emptyList()));
+        }
+        return pullRequests;
+    }
+
+    @Test
+    public void batchedResolutionTest() throws Exception {
+        List<Collection<URL>> loads = new ArrayList<>();
+        PatchResolver resolver = new PatchResolver(urls -> {
+            loads.add(new ArrayList<>(urls));
+            return toPullRequests(urls);
+        }, PatchResolver.MAX_CACHED_STATES);
+        URL commit = new URL("https://github.com/jboss-set/aphrodite/commit/b053116bb42330971ac1357009b2d8879e21b3f0");
+        List<URL> urls = Arrays.asList(new URL("https://github.com/jboss-set/aphrodite/pull/100"), commit,
+                new URL("https://github.com/jboss-set/aphrodite/pull/101"));
+
+        List<Patch> patches = resolver.getPatches(urls).collect(Collectors.toList());
+
+        assertEquals(PatchState.OPEN, patches.get(0).getPatchState());
+        assertEquals(PatchState.CLOSED, patches.get(1).getPatchState());
+        assertEquals(PatchState.OPEN, patches.get(2).getPatchState());
+        // both pull requests are retrieved together, and the commit is not retrieved
+        assertEquals(Collections.singletonList(Arrays.asList(urls.get(0), urls.get(2))), loads);
+    }
+
+    @Test
+    public void cachedStateTest() throws Exception {
+        List<Collection<URL>> loads = new ArrayList<>();
+        PatchResolver resolver = new PatchResolver(urls -> {
+            loads.add(new ArrayList<>(urls));
+            return toPullRequests(urls);
+        }, 2);
+        URL first = new URL("https://github.com/jboss-set/aphrodite/pull/100");
+        URL second = new URL("https://github.com/jboss-set/aphrodite/pull/101");
+        URL third = new URL("https://github.com/jboss-set/aphrodite/pull/102");
+
+        resolver.getPatches(Arrays.asList(first, second)).count();
+        assertEquals(0, loads.size());
+        resolver.getPatches(Arrays.asList(first, second)).collect(Collectors.toList());
+        resolver.getPatches(Arrays.asList(first, second)).collect(Collectors.toList());
+        assertEquals(1, loads.size());
+
+        // only the missing state is retrieved, and the least recently used one is evicted
+        resolver.getPatches(Arrays.asList(second, third)).collect(Collectors.toList());
+        assertEquals(Collections.singletonList(third), loads.get(1));
+        assertEquals(2, resolver.getCachedStateCount());
+        resolver.getPatches(Collections.singletonList(first)).collect(Collectors.toList());
+        assertEquals(Collections.singletonList(first), loads.get(2));
+    }
+
+    @Test
+    public void cachesNotSharedTest() throws Exception {
+        List<Collection<URL>> loads = new ArrayList<>();
+        PatchResolver.PullRequestLoader loader = urls -> {
+            loads.add(new ArrayList<>(urls));
+            return toPullRequests(urls);
+        };
+        List<URL> urls = Collections.singletonList(new URL("https://github.com/jboss-set/aphrodite/pull/100"));
+
+        new PatchResolver(loader, PatchResolver.MAX_CACHED_STATES).getPatches(urls).collect(Collectors.toList());
+        new PatchResolver(loader, PatchResolver.MAX_CACHED_STATES).getPatches(urls).collect(Collectors.toList());
+
+        assertEquals(2, loads.size());
+    }
+}
@@ -325,6 +325,13 @@ public class Issue {
         return Container.instance().lookup(PatchHome.class.getSimpleName(), (PatchHome.class)).findPatchesByIssue(this);
     }
 
+    /**
+     * Give the copy of this issue its own list of the patches of this issue.
+     */
+    protected void copyPatchesTo(Issue copy) {
+        copy.patches = new ArrayList<>(patches);
+    }
+
     public Stream<Issue> getUpstreamReferences() throws NameNotFoundException {
         return Container.instance().lookup(IssueHome.class.getSimpleName(), (IssueHome.class)).findUpstreamReferences(this);
     }
@@ -354,7 +361,7 @@ public class Issue {
                 ", creationDate=" + creationTime +
                 ", lastUpdated=" + lastUpdated +
                 ", estimation=" + estimation +
-                ", #comments=" + comments.size() +
+                ", #comments=" + getComments().size() +
                 ", #patches=" + patches.size() +
                 "}\n";
     }
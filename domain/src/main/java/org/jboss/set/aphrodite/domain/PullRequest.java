@@ -66,7 +66,7 @@ public class PullRequest {
     private boolean upgrade;
     private final MergeableState mergableState;
     private final Date mergedAt;
-    private List<Commit> commits;
+    private volatile List<Commit> commits;
     private PullRequestHome prHome;
 
     /**
@@ -91,6 +91,37 @@ public class PullRequest {
     public PullRequest(final String id, final URL url, final Repository repository, final Codebase codebase,
             final PullRequestState state, final String title, final String body, final boolean mergeable, final boolean merged,
             final MergeableState mergeableState, final Date mergedAt, final List<Commit> commits) {
+        this(id, url, repository, codebase, state, title, body, mergeable, merged, mergeableState, mergedAt, commits, null);
+    }
+
+    /**
+     * Return list of commits for this PR - youngest at the start, oldest( first ) at the end.
+     * When the PR was retrieved without its commits, they are retrieved from its <code>PullRequestHome</code> on the
+     * first call, and again on the next calls as long as they cannot be retrieved.
+     * @return
+     */
+    public List<Commit> getCommits() {
+        List<Commit> loaded = commits;
+        if (loaded == null) {
+            synchronized (this) {
+                if (commits == null) {
+                    List<Commit> fetched = prHome.getCommits(this);
+                    if (fetched == null)
+                        return Collections.emptyList();
+                    commits = Collections.unmodifiableList(fetched);
+                }
+                loaded = commits;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * @param commits the commits of the PR, or null to retrieve them from <code>prHome</code> on the first call to
+     *        {@link #getCommits()}.
+     */
+    public PullRequest(String id, URL url, Repository repository, Codebase codebase, PullRequestState state, String title, String body,
+            boolean mergeable,boolean merged, MergeableState mergeableState, Date mergedAt, List<Commit> commits, PullRequestHome prHome) {
         this.id = id;
         this.url = url;
         this.repository = repository;
@@ -104,25 +135,11 @@ public class PullRequest {
         this.mergedAt = mergedAt;
         if(this.title != null)
             this.upgrade = UPGRADE_TITLE.matcher(this.title).find();
-        if(commits != null) {
+        this.prHome = prHome;
+        if (commits != null)
             this.commits = Collections.unmodifiableList(commits);
-        } else {
+        else if (prHome == null)
             this.commits = Collections.unmodifiableList(new ArrayList<>());
-        }
-    }
-
-    /**
-     * Return list of commits for this PR - youngest at the start, oldest( first ) at the end.
-     * @return
-     */
-    public List<Commit> getCommits() {
-        return commits;
-    }
-
-    public PullRequest(String id, URL url, Repository repository, Codebase codebase, PullRequestState state, String title, String body,
-            boolean mergeable,boolean merged, MergeableState mergeableState, Date mergedAt, List<Commit> commits, PullRequestHome prHome) {
-        this(id, url, repository, codebase, state, title, body, mergeable, merged, mergeableState, mergedAt, commits);
-        this.prHome = prHome;
     }
 
     public String getId() {
@@ -46,10 +46,12 @@ public class SearchCriteria {
     private final LocalDate endDate;
     private final Integer maxResults;
     private final Set<String> labels;
+    private final Set<String> fields;
 
     private SearchCriteria(IssueStatus status, String assignee, String reporter, String product,
                            String component, Stage stage, Release release, Map<Stream, FlagStatus> streams,
-                           LocalDate startDate, LocalDate endDate, Integer maxResults, Set<String> labels) {
+                           LocalDate startDate, LocalDate endDate, Integer maxResults, Set<String> labels,
+                           Set<String> fields) {
         this.status = status;
         this.assignee = assignee;
         this.reporter = reporter;
@@ -62,6 +64,7 @@ public class SearchCriteria {
         this.endDate = endDate;
         this.maxResults = maxResults;
         this.labels = labels;
+        this.fields = fields;
 
         if (startDate != null && startDate.isAfter(LocalDate.now()))
             throw new IllegalArgumentException("startDate cannot be in the future.");
@@ -117,6 +120,17 @@ public class SearchCriteria {
         return labels==null? java.util.stream.Stream.empty():labels.stream();
     }
 
+    /**
+     * The fields which should be retrieved for every matching issue, using the field names of the underlying
+     * issue tracker (e.g. <code>fixVersions</code> or <code>customfield_12311240</code> for JIRA). Fields that are
+     * not requested are left unset on the returned issues. If no fields are set, all fields are retrieved.
+     *
+     * @return the requested fields, or an empty <code>Optional</code> if all fields should be retrieved.
+     */
+    public Optional<Set<String>> getFields() {
+        return Optional.ofNullable(fields);
+    }
+
     public boolean isEmpty() {
         return status == null && assignee == null && reporter == null && product == null && component == null && stage == null
                 && release == null && streams == null && startDate == null && endDate == null && maxResults == null;
@@ -136,6 +150,7 @@ public class SearchCriteria {
         private LocalDate endDate;
         private Integer maxResults;
         private Set<String> labels;
+        private Set<String> fields;
 
         public Builder setStatus(IssueStatus status) {
             this.status = status;
@@ -197,9 +212,14 @@ public class SearchCriteria {
             return this;
         }
 
+        public Builder setFields(Set<String> fields) {
+            this.fields = fields;
+            return this;
+        }
+
         public SearchCriteria build() {
             return new SearchCriteria(status, assignee, reporter, product, component, stage, release,
-                    streams, startDate, endDate, maxResults, labels);
+                    streams, startDate, endDate, maxResults, labels, fields);
         }
     }
 }
@@ -16,8 +16,13 @@
 
 package org.jboss.set.aphrodite.domain.spi;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.jboss.set.aphrodite.domain.Commit;
 import org.jboss.set.aphrodite.domain.CommitStatus;
 import org.jboss.set.aphrodite.domain.Label;
 import org.jboss.set.aphrodite.domain.PullRequest;
@@ -41,6 +46,19 @@ public interface PullRequestHome {
      */
     List<PullRequest> findReferencedPullRequests(PullRequest pullRequest);
 
+    /**
+     * Retrieve the commits of the provided <code>PullRequest</code> object. This is called on the first access to
+     * {@link PullRequest#getCommits()} when the pull request was retrieved without its commits.
+     *
+     * @param pullRequest the <code>PullRequest</code> object whose commits should be returned.
+     * @return the commits of the pull request, youngest at the start, or null if they cannot be retrieved, so that
+     *         they are retrieved again on the next call to {@link PullRequest#getCommits()}. The default
+     *         implementation always returns an empty list.
+     */
+    default List<Commit> getCommits(PullRequest pullRequest) {
+        return Collections.emptyList();
+    }
+
     /**
      * Add a comment to the specified <code>PullRequest</code> object, and propagate the changes to the remote repository.
      *
@@ -94,6 +112,19 @@ public interface PullRequestHome {
      */
     CommitStatus getCommitStatus(PullRequest pullRequest);
 
+    /**
+     * Retrieve the current CI status of the latest commit of each of the given pull requests.
+     *
+     * @param pullRequests the <code>PullRequest</code> objects whose status is to be queried
+     * @return the CI status of each pull request, in the order of the given collection
+     */
+    default Map<PullRequest, CommitStatus> getCommitStatuses(Collection<PullRequest> pullRequests) {
+        Map<PullRequest, CommitStatus> statuses = new LinkedHashMap<>();
+        for (PullRequest pullRequest : pullRequests)
+            statuses.put(pullRequest, getCommitStatus(pullRequest));
+        return statuses;
+    }
+
     /**
      * Approve pull request.
      *
@@ -18,13 +18,28 @@ package org.jboss.set.aphrodite.repository.services.github;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.JsonObject;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.config.CacheConfig;
 import org.jboss.set.aphrodite.config.RepositoryConfig;
+import org.jboss.set.aphrodite.domain.CommitStatus;
 import org.jboss.set.aphrodite.repository.services.common.AbstractRepositoryService;
 import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
+import org.kohsuke.github.GHLabel;
+import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHUser;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
@@ -33,6 +48,8 @@ import org.kohsuke.github.extras.okhttp3.OkHttpConnector;
 import okhttp3.Cache;
 import okhttp3.OkHttpClient;
 
+import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.createRepositoryIdFromUrl;
+
 /**
  * @author wangc
  *
@@ -43,7 +60,27 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
     private static final String CACHE_DIR = "cacheDir";
     private static final String CACHE_NAME = "cacheName";
     private static final String CACHE_SIZE = "cacheSize";
+    private static final String GRAPHQL_URL = "githubGraphqlUrl";
+    private static final int REPOSITORY_CACHE_SIZE = 256;
+    // The repositories were cached for two hours per service before being shared
+    private static final ExpiringCache<String, GHRepository> REPOSITORIES =
+            new ExpiringCache<>(REPOSITORY_CACHE_SIZE, TimeUnit.HOURS.toMillis(2));
+    // A label missing from the cached ones is looked up again, in case it was created since
+    private static final ExpiringCache<String, List<GHLabel>> LABELS =
+            new ExpiringCache<>(REPOSITORY_CACHE_SIZE, TimeUnit.MINUTES.toMillis(10));
+    // The repositories whose labels were reloaded for a missing label, which are not reloaded again for a minute
+    private static final ExpiringCache<String, Boolean> RELOADED_LABELS =
+            new ExpiringCache<>(REPOSITORY_CACHE_SIZE, TimeUnit.MINUTES.toMillis(1));
+    // A status can change at any time while the CI runs, so it is only kept long enough to serve a burst of requests
+    private static final ExpiringCache<String, CommitStatus> COMMIT_STATUSES =
+            new ExpiringCache<>(1024, TimeUnit.SECONDS.toMillis(30));
+    private static final Set<String> LABELING_PERMISSIONS = new HashSet<>(Arrays.asList("admin", "maintain", "write", "triage"));
+    // The permissions of the user rarely change, they are kept for half an hour unless invalidated
+    private static final ExpiringCache<String, Boolean> LABEL_PERMISSIONS =
+            new ExpiringCache<>(REPOSITORY_CACHE_SIZE, TimeUnit.MINUTES.toMillis(30));
     private static final int DEFAULT_CACHE_SIZE = 20;
+    // Shared by the connections, as GitHub counts the requests per user
+    static final GitHubRateLimiter RATE_LIMITER = new GitHubRateLimiter();
 
     private static String cacheDir;
     private static  String cacheName;
@@ -52,6 +89,9 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
     private static Cache cache;
     protected static GitHub github;
     protected static GHUser user;
+    static GitHubGraphQLClient graphql;
+    static GitHubRestClient rest;
+    private static GitHubResponseCache responseCache;
 
     public AbstractGithubService(RepositoryType repositoryType) {
         super(repositoryType);
@@ -71,14 +111,27 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
     }
 
     public static boolean commonGithubInit(RepositoryConfig config) {
+        CacheConfig cacheConfig = config.getCacheConfig();
         cacheDir = getValueFromPropertyAndEnv(CACHE_DIR);
         cacheName = getValueFromPropertyAndEnv(CACHE_NAME);
+        // the cached repositories are bound to the previous connection
+        REPOSITORIES.invalidateAll();
+        LABELS.invalidateAll();
+        RELOADED_LABELS.invalidateAll();
+        COMMIT_STATUSES.invalidateAll();
+        LABEL_PERMISSIONS.invalidateAll();
 
         try {
-            if (cacheDir == null || cacheName == null) {
-                // no cache specified
-                github = GitHub.connect(config.getUsername(), config.getPassword());
-            } else {
+            // the in-memory tier answers before the rate limiter, as its hits do not use the budget
+            responseCache = new GitHubResponseCache(cacheConfig);
+            OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
+                    .addInterceptor(responseCache)
+                    .addInterceptor(RATE_LIMITER);
+            if (cacheConfig.getDirectory() != null) {
+                cacheFile = new File(cacheConfig.getDirectory());
+                cache = new Cache(cacheFile, cacheConfig.getSize() * 1024L * 1024L);
+                httpClientBuilder.cache(cache);
+            } else if (cacheDir != null && cacheName != null) {
                 // use cache
                 cacheFile = new File(cacheDir, cacheName);
                 cacheSize = getValueFromPropertyAndEnv(CACHE_SIZE);
@@ -94,13 +147,19 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
                     cache = new Cache(cacheFile, size * 1024 * 1024); // default 20MB cache
                 }
 
-                // oauthAccessToken here, if you use text password, call .withPassword()
-                github = new GitHubBuilder()
-                        .withOAuthToken(config.getPassword(), config.getUsername())
-                        .withConnector(new OkHttpConnector(new OkHttpClient.Builder().cache(cache).build()))
-                        .build();
-
+                httpClientBuilder.cache(cache);
             }
+
+            // oauthAccessToken here, if you use text password, call .withPassword()
+            // the disk cache serves the requests of github-api without revalidation for up to maxStale seconds
+            OkHttpClient httpClient = httpClientBuilder.build();
+            github = new GitHubBuilder()
+                    .withOAuthToken(config.getPassword(), config.getUsername())
+                    .withConnector(new OkHttpConnector(httpClient, cacheConfig.getMaxStale()))
+                    .build();
+            rest = new GitHubRestClient(github.getApiUrl(), config.getPassword(), httpClient);
+            graphql = new GitHubGraphQLClient(getGraphQLEndpoint(config), github.getApiUrl(), config.getPassword(),
+                    httpClient, config.isEagerLoading());
             user = github.getUser(config.getUsername());
             return github.isCredentialValid();
         } catch (IOException e) {
@@ -109,6 +168,128 @@ public abstract class AbstractGithubService extends AbstractRepositoryService {
         return false;
     }
 
+    /**
+     * @return the repository handles shared by all the GitHub services, with their hit and miss counters.
+     */
+    public static ExpiringCache<String, GHRepository> getRepositoryCache() {
+        return REPOSITORIES;
+    }
+
+    /**
+     * @return how the GET requests were served by the response cache since the last initialization, per endpoint.
+     */
+    public static Map<String, CacheStatistics> getCacheStatistics() {
+        GitHubResponseCache current = responseCache;
+        return current == null ? Collections.emptyMap() : current.getStatistics();
+    }
+
+    protected static GHRepository getGHRepository(URL url) throws IOException {
+        return getGHRepository(createRepositoryIdFromUrl(url));
+    }
+
+    protected static GHRepository getGHRepository(String repositoryId) throws IOException {
+        return REPOSITORIES.get(repositoryId, id -> github.getRepository(id));
+    }
+
+    /**
+     * @return the labels of the repository, which are cached for a few minutes.
+     */
+    protected static List<GHLabel> getRepositoryLabels(String repositoryId) throws IOException {
+        return LABELS.get(repositoryId, AbstractGithubService::listLabels);
+    }
+
+    /**
+     * @return the label of the repository with the given name, ignoring the case, or null if there is none. The labels
+     *         are reloaded when the label is missing from the cached ones, at most once a minute per repository, so
+     *         that looking up missing labels in bulk does not list the labels of the repository every time.
+     */
+    protected static GHLabel findLabel(String repositoryId, String labelName) throws IOException {
+        List<GHLabel> labels = LABELS.getIfPresent(repositoryId);
+        GHLabel label = labels != null ? findLabel(labels, labelName) : null;
+        if (label == null && (labels == null || RELOADED_LABELS.putIfAbsent(repositoryId, Boolean.TRUE))) {
+            labels = listLabels(repositoryId);
+            LABELS.put(repositoryId, labels);
+            label = findLabel(labels, labelName);
+        }
+        return label;
+    }
+
+    private static GHLabel findLabel(List<GHLabel> labels, String labelName) {
+        for (GHLabel label : labels) {
+            if (label.getName().equalsIgnoreCase(labelName))
+                return label;
+        }
+        return null;
+    }
+
+    private static List<GHLabel> listLabels(String repositoryId) throws IOException {
+        return getGHRepository(repositoryId).listLabels().withPageSize(100).asList();
+    }
+
+    /**
+     * @return whether the authenticated user can label the issues and pull requests of the repository, that is has
+     *         at least the triage role on it.
+     * @throws IOException if the permission cannot be retrieved, e.g. the repository is not found, in which case
+     *         nothing is cached.
+     */
+    protected static boolean canModifyLabels(String repositoryId) throws IOException {
+        return LABEL_PERMISSIONS.get(repositoryId, id -> {
+            JsonObject permission = rest.getCollaboratorPermission(id, github.getMyself().getLogin());
+            return permission != null && (LABELING_PERMISSIONS.contains(permission.getString("permission", ""))
+                    || LABELING_PERMISSIONS.contains(permission.getString("role_name", "")));
+        });
+    }
+
+    /**
+     * Forget the cached permission of the authenticated user on the repository, to check it again on the next call.
+     */
+    protected static void invalidateLabelPermission(String repositoryId) {
+        LABEL_PERMISSIONS.invalidate(repositoryId);
+    }
+
+    /**
+     * @return the sha of the head commit of the pull request.
+     */
+    protected static String getHeadSha(String repositoryId, int pullRequestId) throws IOException {
+        return getGHRepository(repositoryId).getPullRequest(pullRequestId).getHead().getSha();
+    }
+
+    /**
+     * @return the status of the commit reduced from its statuses and its check runs, as the
+     *         <code>statusCheckRollup</code> of the GraphQL API, which is cached for a few seconds.
+     */
+    protected static CommitStatus getCombinedStatus(String repositoryId, String sha) throws IOException {
+        return COMMIT_STATUSES.get(repositoryId + "@" + sha, key -> GitHubWrapper.restToCommitStatus(
+                rest.getCombinedStatus(repositoryId, sha), rest.listCheckRuns(repositoryId, sha)));
+    }
+
+    /**
+     * @return the cached status of the commit, or null if it is not cached.
+     */
+    static CommitStatus getCachedCommitStatus(String repositoryId, String sha) {
+        return COMMIT_STATUSES.getIfPresent(repositoryId + "@" + sha);
+    }
+
+    /**
+     * Cache the status of a commit retrieved with the GraphQL API, to be served by
+     * {@link #getCombinedStatus(String, String)}.
+     */
+    static void cacheCommitStatus(String repositoryId, String sha, CommitStatus status) {
+        COMMIT_STATUSES.put(repositoryId + "@" + sha, status);
+    }
+
+    // The GraphQL API of GitHub Enterprise is served by the host of the repositories
+    private static URL getGraphQLEndpoint(RepositoryConfig config) throws MalformedURLException {
+        String graphqlUrl = getValueFromPropertyAndEnv(GRAPHQL_URL);
+        if (graphqlUrl != null)
+            return new URL(graphqlUrl);
+
+        URL url = new URL(config.getUrl());
+        if (url.getHost().equals("github.com"))
+            return new URL("https://api.github.com/graphql");
+        return new URL(url.getProtocol(), url.getHost(), url.getPort(), "/api/graphql");
+    }
+
     private static String getValueFromPropertyAndEnv(String key) {
         String value = System.getProperty(key);
         if (value == null) {
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How the GET requests to an endpoint of GitHub were served by the response cache. The hits, whether served from
+ * memory, from disk or revalidated with a <code>304 Not Modified</code>, do not count against the rate limit.
+ */
+public class CacheStatistics {
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    void recordMemoryHit() {
+        memoryHits.incrementAndGet();
+    }
+
+    void recordDiskHit() {
+        diskHits.incrementAndGet();
+    }
+
+    void recordRevalidation() {
+        revalidations.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * @return the responses served from memory without asking GitHub.
+     */
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    /**
+     * @return the responses served from the disk cache without asking GitHub.
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * @return the cached responses GitHub confirmed with a <code>304 Not Modified</code>.
+     */
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    /**
+     * @return the responses downloaded in full from GitHub.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRequests() {
+        return getMemoryHits() + getDiskHits() + getRevalidations() + getMisses();
+    }
+
+    /**
+     * @return the share of the requests which did not use the rate limit, or 0 if there were none.
+     */
+    public double getHitRatio() {
+        long requests = getRequests();
+        return requests == 0 ? 0 : (double) (requests - getMisses()) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "memoryHits=" + getMemoryHits() +
+                ", diskHits=" + getDiskHits() +
+                ", revalidations=" + getRevalidations() +
+                ", misses=" + getMisses() +
+                '}';
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe cache holding at most a given number of entries, evicting the least recently used one beyond that.
+ * An entry is loaded again once it is older than the time to live. The lock is not held while an entry is loaded,
+ * so that a slow request does not block the lookups of other keys.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class ExpiringCache<K, V> {
+
+    @FunctionalInterface
+    interface Loader<K, V> {
+        V load(K key) throws IOException;
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public ExpiringCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > ExpiringCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached value of the key, which is loaded when it is missing or expired.
+     */
+    V get(K key, Loader<K, V> loader) throws IOException {
+        V value = getIfPresent(key);
+        if (value != null)
+            return value;
+
+        value = loader.load(key);
+        if (value != null)
+            put(key, value);
+        return value;
+    }
+
+    /**
+     * @return the cached value of the key, or null when it is missing or expired.
+     */
+    V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired()) {
+                hitCount.incrementAndGet();
+                return entry.value;
+            }
+            if (entry != null)
+                entries.remove(key);
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    /**
+     * @return true if the value was cached, false if the key already has a value which is not expired.
+     */
+    boolean putIfAbsent(K key, V value) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired())
+                return false;
+            entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+            return true;
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiryTime;
+
+        private Entry(V value, long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiryTime;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.Commit;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.domain.spi.PullRequestHome;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Retrieves pull requests through the GitHub GraphQL API. A single query returns the metadata, the commits, the labels
+ * and the status rollup of the head commit of many pull requests, where the REST API needs several calls per pull
+ * request. Only pull requests with more than {@link #PAGE_SIZE} commits need a further query for the remaining ones,
+ * when the commits are loaded with the pull requests.
+ */
+class GitHubGraphQLClient {
+
+    private static final Log LOG = LogFactory.getLog(GitHubGraphQLClient.class);
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    // mergeStateStatus is still a preview of the GraphQL schema
+    private static final String ACCEPT = "application/vnd.github.merge-info-preview+json";
+
+    // The maximum number of nodes per connection allowed by GitHub
+    static final int PAGE_SIZE = 100;
+    // Keeps each query well under the GitHub node limit, as every pull request brings its commits and labels
+    static final int PULL_REQUESTS_PER_QUERY = 50;
+
+    private static final String COMMITS = "totalCount pageInfo { hasNextPage endCursor } nodes { commit { oid message } }";
+    private static final String HEAD_STATUS = "head: commits(last: 1) { nodes { commit { oid statusCheckRollup { state } } } }";
+    private static final String PULL_REQUESTS_BY_STATE = "query($owner: String!, $name: String!, $states: [PullRequestState!], $cursor: String) {"
+            + " repository(owner: $owner, name: $name) { pullRequests(states: $states, first: " + PULL_REQUESTS_PER_QUERY
+            + ", after: $cursor, orderBy: {field: CREATED_AT, direction: DESC}) { pageInfo { hasNextPage endCursor } nodes { ...pr } } } } ";
+    private static final String REMAINING_COMMITS = "query($owner: String!, $name: String!, $number: Int!, $cursor: String) {"
+            + " repository(owner: $owner, name: $name) { pullRequest(number: $number) { commits(first: " + PAGE_SIZE
+            + ", after: $cursor) { " + COMMITS + " } } } }";
+
+    private final URL endpoint;
+    private final HttpUrl apiUrl;
+    private final String token;
+    private final OkHttpClient client;
+    private final boolean loadCommits;
+    private final String pullRequestFragment;
+    private final GitHubWrapper wrapper = new GitHubWrapper();
+
+    /**
+     * @param apiUrl the base URL of the REST API, from which the URLs of the labels are built as with the REST API.
+     * @param loadCommits whether the commits are retrieved with the pull requests, otherwise they are retrieved from
+     *        the <code>PullRequestHome</code> on the first access to them.
+     */
+    GitHubGraphQLClient(URL endpoint, String apiUrl, String token, OkHttpClient client, boolean loadCommits) {
+        this.endpoint = endpoint;
+        this.apiUrl = HttpUrl.get(apiUrl);
+        this.token = token;
+        this.client = client;
+        this.loadCommits = loadCommits;
+        this.pullRequestFragment = "fragment pr on PullRequest { number url title body state merged mergedAt"
+                + " mergeable mergeStateStatus baseRefName labels(first: " + PAGE_SIZE + ") { nodes { name color } }"
+                + (loadCommits ? " commits(first: " + PAGE_SIZE + ") { " + COMMITS + " }" : "")
+                + " " + HEAD_STATUS + " }";
+    }
+
+    /**
+     * @param repositoryId the repository, as <code>owner/name</code>
+     * @return the pull requests of the repository in the given state, the most recent first as with the REST API.
+     */
+    List<PullRequest> getPullRequestsByState(String repositoryId, PullRequestState state, PullRequestHome prHome)
+            throws IOException {
+        String[] ownerAndName = repositoryId.split("/");
+        List<PullRequest> pullRequests = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonObjectBuilder variables = Json.createObjectBuilder()
+                    .add("owner", ownerAndName[0])
+                    .add("name", ownerAndName[1])
+                    .add("states", state == PullRequestState.CLOSED ?
+                            Json.createArrayBuilder().add("CLOSED").add("MERGED") : Json.createArrayBuilder().add("OPEN"));
+            if (cursor != null)
+                variables.add("cursor", cursor);
+
+            JsonObject connection = getRepository(execute(PULL_REQUESTS_BY_STATE + pullRequestFragment, variables), repositoryId)
+                    .getJsonObject("pullRequests");
+            for (JsonObject pullRequest : connection.getJsonArray("nodes").getValuesAs(JsonObject.class))
+                pullRequests.add(toPullRequest(ownerAndName, pullRequest, prHome));
+
+            JsonObject pageInfo = connection.getJsonObject("pageInfo");
+            cursor = pageInfo.getBoolean("hasNextPage") ? pageInfo.getString("endCursor") : null;
+        } while (cursor != null);
+        return pullRequests;
+    }
+
+    /**
+     * @param repositoryId the repository, as <code>owner/name</code>
+     * @param urls the urls of pull requests of this repository, indexed by their number
+     * @return the pull requests indexed by their url, without the ones which do not exist.
+     */
+    Map<URL, PullRequest> getPullRequests(String repositoryId, Map<Integer, URL> urls, PullRequestHome prHome)
+            throws IOException {
+        String[] ownerAndName = repositoryId.split("/");
+        List<Integer> numbers = new ArrayList<>(urls.keySet());
+        Map<URL, PullRequest> pullRequests = new LinkedHashMap<>();
+        for (int from = 0; from < numbers.size(); from += PULL_REQUESTS_PER_QUERY) {
+            List<Integer> chunk = numbers.subList(from, Math.min(from + PULL_REQUESTS_PER_QUERY, numbers.size()));
+            // each pull request is queried under an alias, as a field cannot be repeated with different arguments
+            StringBuilder query = new StringBuilder("query($owner: String!, $name: String!) { repository(owner: $owner, name: $name) {");
+            for (Integer number : chunk)
+                query.append(" pr").append(number).append(": pullRequest(number: ").append(number).append(") { ...pr }");
+            query.append(" } } ").append(pullRequestFragment);
+
+            JsonObject repository = getRepository(execute(query.toString(), Json.createObjectBuilder()
+                    .add("owner", ownerAndName[0])
+                    .add("name", ownerAndName[1])), repositoryId);
+            for (Integer number : chunk) {
+                if (repository.isNull("pr" + number)) {
+                    Utils.logWarnMessage(LOG, "Unable to find pull request with url: " + urls.get(number));
+                    continue;
+                }
+                pullRequests.put(urls.get(number), toPullRequest(ownerAndName, repository.getJsonObject("pr" + number), prHome));
+            }
+        }
+        return pullRequests;
+    }
+
+    /**
+     * @param repositoryId the repository, as <code>owner/name</code>
+     * @return the pull requests with only their <code>head</code> commit and its status, as reduced by GitHub from
+     *         its statuses and check runs, indexed by their number, without the ones which do not exist. See
+     *         {@link GitHubWrapper#jsonToHeadSha(JsonObject)} and {@link GitHubWrapper#jsonToCommitStatus(JsonObject)}.
+     */
+    Map<Integer, JsonObject> getHeads(String repositoryId, Collection<Integer> numbers) throws IOException {
+        String[] ownerAndName = repositoryId.split("/");
+        List<Integer> all = new ArrayList<>(numbers);
+        Map<Integer, JsonObject> heads = new LinkedHashMap<>();
+        for (int from = 0; from < all.size(); from += PAGE_SIZE) {
+            List<Integer> chunk = all.subList(from, Math.min(from + PAGE_SIZE, all.size()));
+            StringBuilder query = new StringBuilder("query($owner: String!, $name: String!) { repository(owner: $owner, name: $name) {");
+            for (Integer number : chunk)
+                query.append(" pr").append(number).append(": pullRequest(number: ").append(number).append(") { ")
+                        .append(HEAD_STATUS).append(" }");
+            query.append(" } }");
+
+            JsonObject repository = getRepository(execute(query.toString(), Json.createObjectBuilder()
+                    .add("owner", ownerAndName[0])
+                    .add("name", ownerAndName[1])), repositoryId);
+            for (Integer number : chunk) {
+                if (!repository.isNull("pr" + number))
+                    heads.put(number, repository.getJsonObject("pr" + number));
+            }
+        }
+        return heads;
+    }
+
+    private PullRequest toPullRequest(String[] ownerAndName, JsonObject pullRequest, PullRequestHome prHome)
+            throws IOException {
+        if (!loadCommits)
+            return wrapper.jsonToPullRequest(pullRequest, null, prHome, apiUrl);
+
+        JsonObject connection = pullRequest.getJsonObject("commits");
+        List<Commit> commits = GitHubWrapper.jsonToCommits(connection.getJsonArray("nodes"));
+        while (connection.getJsonObject("pageInfo").getBoolean("hasNextPage")) {
+            connection = execute(REMAINING_COMMITS, Json.createObjectBuilder()
+                    .add("owner", ownerAndName[0])
+                    .add("name", ownerAndName[1])
+                    .add("number", pullRequest.getInt("number"))
+                    .add("cursor", connection.getJsonObject("pageInfo").getString("endCursor")))
+                    .getJsonObject("repository").getJsonObject("pullRequest").getJsonObject("commits");
+            commits.addAll(GitHubWrapper.jsonToCommits(connection.getJsonArray("nodes")));
+        }
+        // youngest commit first, as for the REST API
+        Collections.reverse(commits);
+        return wrapper.jsonToPullRequest(pullRequest, commits, prHome, apiUrl);
+    }
+
+    private static JsonObject getRepository(JsonObject data, String repositoryId) throws IOException {
+        if (!(data.get("repository") instanceof JsonObject))
+            throw new IOException("Unable to find repository " + repositoryId + " with the GitHub GraphQL API");
+        return data.getJsonObject("repository");
+    }
+
+    // The errors are only fatal when no data is returned, a missing pull request is reported as an error beside the others
+    private JsonObject execute(String query, JsonObjectBuilder variables) throws IOException {
+        String body = Json.createObjectBuilder()
+                .add("query", query)
+                .add("variables", variables)
+                .build()
+                .toString();
+        Request request = new Request.Builder()
+                .url(endpoint)
+                .header("Authorization", "bearer " + token)
+                .header("Accept", ACCEPT)
+                .post(RequestBody.create(JSON, body))
+                .build();
+
+        try (Response response = client.newCall(request).execute()) {
+            ResponseBody responseBody = response.body();
+            if (!response.isSuccessful() || responseBody == null)
+                throw new IOException("GitHub GraphQL API returned " + response.code() + " for " + endpoint);
+
+            JsonObject result;
+            try (JsonReader reader = Json.createReader(responseBody.charStream())) {
+                result = reader.readObject();
+            }
+            if (result.containsKey("errors") && !result.isNull("errors"))
+                Utils.logDebugMessage(LOG, "GitHub GraphQL API returned errors: " + result.get("errors"));
+            if (!result.containsKey("data") || result.isNull("data"))
+                throw new IOException("GitHub GraphQL API returned no data: " + result.get("errors"));
+            return result.getJsonObject("data");
+        } catch (JsonException e) {
+            throw new IOException("Unable to parse the response of the GitHub GraphQL API", e);
+        }
+    }
+}
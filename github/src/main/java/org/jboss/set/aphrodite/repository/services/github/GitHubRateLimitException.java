@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Thrown by {@link GitHubRateLimiter} instead of sending a request when the rate limit budget of GitHub would hold it
+ * back for too long. The request can be tried again once {@link #getRetryAt()} has passed.
+ */
+public class GitHubRateLimitException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAt;
+
+    GitHubRateLimitException(long retryAt) {
+        super("The GitHub rate limit budget is exhausted until " + new Date(retryAt));
+        this.retryAt = retryAt;
+    }
+
+    /**
+     * @return the time in milliseconds since the epoch from which the budget allows the request again.
+     */
+    public long getRetryAt() {
+        return retryAt;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.common.RequestPriority;
+import org.jboss.set.aphrodite.common.Utils;
+import org.jboss.set.aphrodite.domain.RateLimit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Schedules the requests sent to GitHub against the rate limit budgets reported in the <code>X-RateLimit-*</code>
+ * headers of its responses, one budget per resource (core, search, graphql).
+ * <p>
+ * The last {@link #RESERVE_RATIO} of a budget is kept for the {@link RequestPriority#INTERACTIVE interactive} requests.
+ * The {@link RequestPriority#BACKGROUND background} requests are spread across what is left of the reset window once
+ * less than half of the budget remains, and wait for the reset once only the reserve remains. The interactive requests
+ * are spread across the window once they use the reserve, and wait for the reset once it is exhausted. A
+ * <code>Retry-After</code> header, sent with the secondary rate limits, holds back every request.
+ * <p>
+ * A request is only held back for up to {@link #MAX_WAIT_MILLIS}, as the interceptor blocks the calling thread. When
+ * the budget would make it wait longer, the request fails at once with a {@link GitHubRateLimitException} telling when
+ * to try again.
+ */
+class GitHubRateLimiter implements Interceptor {
+
+    private static final Log LOG = LogFactory.getLog(GitHubRateLimiter.class);
+
+    static final String CORE = "core";
+    static final double RESERVE_RATIO = 0.1;
+    static final double PACING_RATIO = 0.5;
+    static final long MAX_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    interface Clock {
+        Clock SYSTEM = new Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return System.currentTimeMillis();
+            }
+
+            @Override
+            public void sleep(long millis) throws InterruptedException {
+                Thread.sleep(millis);
+            }
+        };
+
+        long currentTimeMillis();
+
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final Map<String, Budget> budgets = new HashMap<>();
+    private final Clock clock;
+
+    GitHubRateLimiter() {
+        this(Clock.SYSTEM);
+    }
+
+    GitHubRateLimiter(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Budget budget = getBudget(getResource(request));
+        long window = acquire(budget, RequestPriority.current());
+        boolean sent = false;
+        try {
+            Response response = chain.proceed(request);
+            // the responses served by the cache do not use the budget, nor tell its state
+            sent = response.networkResponse() != null;
+            if (sent)
+                update(budget, response);
+            return response;
+        } finally {
+            release(budget, sent, window);
+        }
+    }
+
+    /**
+     * @return the last known state of the budget of the resource, or null if it is unknown.
+     */
+    synchronized RateLimit getRateLimit(String resource) {
+        Budget budget = budgets.get(resource);
+        if (budget == null || budget.limit < 0 || clock.currentTimeMillis() >= budget.reset)
+            return null;
+        return new RateLimit(budget.remaining, budget.limit, new Date(budget.reset));
+    }
+
+    private synchronized Budget getBudget(String resource) {
+        return budgets.computeIfAbsent(resource, r -> new Budget());
+    }
+
+    /**
+     * @return the window of the budget the request was taken from.
+     */
+    private long acquire(Budget budget, RequestPriority priority) throws IOException {
+        Reservation reservation = null;
+        try {
+            while (!(reservation = reserve(budget, priority)).granted) {
+                if (reservation.delay > MAX_WAIT_MILLIS)
+                    throw new GitHubRateLimitException(clock.currentTimeMillis() + reservation.delay);
+                Utils.logDebugMessage(LOG, "Waiting " + reservation.delay + "ms for the GitHub rate limit budget");
+                clock.sleep(reservation.delay);
+            }
+            if (reservation.delay > 0)
+                clock.sleep(reservation.delay);
+            return reservation.window;
+        } catch (InterruptedException e) {
+            if (reservation != null && reservation.granted)
+                release(budget, false, reservation.window);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the GitHub rate limit budget");
+        }
+    }
+
+    /**
+     * Take a request from the budget if it allows one within {@link #MAX_WAIT_MILLIS}, otherwise leave the budget
+     * unchanged.
+     */
+    private synchronized Reservation reserve(Budget budget, RequestPriority priority) {
+        long now = clock.currentTimeMillis();
+        if (now < budget.blockedUntil)
+            return Reservation.retryAfter(budget.blockedUntil - now);
+        if (budget.limit < 0 || now >= budget.reset) {
+            // a new window, whose budget is only known with the next response
+            if (budget.limit >= 0)
+                budget.window++;
+            budget.limit = -1;
+            budget.inFlight++;
+            return Reservation.granted(0, budget.window);
+        }
+
+        int reserve = Math.max(1, (int) (budget.limit * RESERVE_RATIO));
+        int available = priority == RequestPriority.INTERACTIVE ? budget.remaining : budget.remaining - reserve;
+        if (available <= 0)
+            return Reservation.retryAfter(budget.reset - now);
+
+        boolean paced = priority == RequestPriority.INTERACTIVE ? budget.remaining <= reserve
+                : budget.remaining < budget.limit * PACING_RATIO;
+        long slot = now;
+        if (paced) {
+            int index = priority.ordinal();
+            slot = Math.max(now, budget.nextSlots[index]);
+            // the slot is only taken if the request is sent in it
+            if (slot - now > MAX_WAIT_MILLIS)
+                return Reservation.retryAfter(slot - now);
+            budget.nextSlots[index] = slot + (budget.reset - now) / available;
+        }
+        budget.remaining--;
+        budget.inFlight++;
+        return Reservation.granted(slot - now, budget.window);
+    }
+
+    private synchronized void update(Budget budget, Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null && (response.code() == 403 || response.code() == 429)) {
+            try {
+                budget.blockedUntil = clock.currentTimeMillis() + Long.parseLong(retryAfter.trim()) * 1000;
+            } catch (NumberFormatException e) {
+                Utils.logWarnMessage(LOG, "Ignoring the Retry-After header " + retryAfter + " of GitHub");
+            }
+        }
+
+        String limit = response.header("X-RateLimit-Limit");
+        String remaining = response.header("X-RateLimit-Remaining");
+        String reset = response.header("X-RateLimit-Reset");
+        if (limit == null || remaining == null || reset == null)
+            return;
+        try {
+            long resetMillis = Long.parseLong(reset.trim()) * 1000;
+            int others = budget.inFlight - 1;
+            if (resetMillis != budget.reset) {
+                budget.reset = resetMillis;
+                budget.window++;
+                budget.nextSlots = new long[RequestPriority.values().length];
+            }
+            budget.limit = Integer.parseInt(limit.trim());
+            // the requests in flight are counted by GitHub once they complete
+            budget.remaining = Math.max(0, Integer.parseInt(remaining.trim()) - others);
+        } catch (NumberFormatException e) {
+            Utils.logWarnMessage(LOG, "Ignoring the invalid rate limit headers of GitHub: " + limit + ", " + remaining
+                    + ", " + reset);
+        }
+    }
+
+    /**
+     * Give back a request which was not sent, if it was taken from the current window of the budget. The budget of a
+     * new window comes from GitHub, so it does not account for the requests reserved before.
+     */
+    private synchronized void release(Budget budget, boolean sent, long window) {
+        budget.inFlight--;
+        if (!sent && budget.limit >= 0 && window == budget.window)
+            budget.remaining++;
+    }
+
+    private static String getResource(Request request) {
+        String path = request.url().encodedPath();
+        if (path.endsWith("/graphql"))
+            return "graphql";
+        if (path.contains("/search/"))
+            return "search";
+        return CORE;
+    }
+
+    private static class Budget {
+        private int limit = -1;
+        private int remaining;
+        private long reset;
+        private long blockedUntil;
+        private int inFlight;
+        // changes with every reset of the budget
+        private long window;
+        private long[] nextSlots = new long[RequestPriority.values().length];
+    }
+
+    private static class Reservation {
+        private final boolean granted;
+        // the delay before sending the request if granted, before trying again otherwise
+        private final long delay;
+        private final long window;
+
+        private Reservation(boolean granted, long delay, long window) {
+            this.granted = granted;
+            this.delay = delay;
+            this.window = window;
+        }
+
+        private static Reservation granted(long delay, long window) {
+            return new Reservation(true, delay, window);
+        }
+
+        private static Reservation retryAfter(long delay) {
+            return new Reservation(false, delay, -1);
+        }
+    }
+}
@@ -26,16 +26,13 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.time.Duration;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -54,24 +51,17 @@ import org.jboss.set.aphrodite.spi.NotFoundException;
 import org.jboss.set.aphrodite.spi.RepositoryService;
 import org.kohsuke.github.GHBranch;
 import org.kohsuke.github.GHCommit;
-import org.kohsuke.github.GHCommitState;
-import org.kohsuke.github.GHCommitStatus;
 import org.kohsuke.github.GHException;
 import org.kohsuke.github.GHIssue;
 import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHLabel;
-import org.kohsuke.github.GHMyself;
 import org.kohsuke.github.GHPullRequest;
-import org.kohsuke.github.GHPullRequestCommitDetail;
 import org.kohsuke.github.GHRateLimit;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GHUser;
 
 import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.createRepositoryIdFromUrl;
 import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.getPRFromDescription;
 
-import static org.jboss.set.aphrodite.repository.services.github.GithubUtils.getCombineStatus;
-
 /**
  * @author Ryan Emerson
  */
@@ -82,9 +72,6 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
 
     private GithubPullRequestHomeService prHome;
 
-    private Map<String, GHRepository> ghRepositories = new HashMap<>();
-    private LocalTime timeStamp = LocalTime.now();
-
     public GitHubRepositoryService() {
         super(RepositoryType.GITHUB);
     }
@@ -102,7 +89,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
             int pullId = Integer.parseInt(elements[elements.length - 1]);
             GHRepository repository = getGHRepository(url);
             GHPullRequest pullRequest = repository.getPullRequest(pullId);
-            return WRAPPER.pullRequestToPullRequest(pullRequest, getPullRequestHome());
+            return WRAPPER.pullRequestToPullRequest(pullRequest, getPullRequestHome(), config.isEagerLoading());
         } catch (IOException e) {
             Utils.logException(LOG, url.toString(), e);
             throw new NotFoundException(e);
@@ -112,6 +99,39 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         }
     }
 
+    /**
+     * Retrieve the pull requests with the GraphQL API, which returns many pull requests of a repository at once. The
+     * pull requests which cannot be retrieved this way are retrieved one at a time with the REST API.
+     */
+    @Override
+    public Map<URL, PullRequest> getPullRequests(Collection<URL> urls) {
+        Map<String, Map<Integer, URL>> urlsByRepository = new LinkedHashMap<>();
+        for (URL url : urls) {
+            try {
+                checkHost(url);
+                int pullId = Integer.parseInt(Utils.getTrailingValueFromUrlPath(url));
+                urlsByRepository.computeIfAbsent(createRepositoryIdFromUrl(url), id -> new LinkedHashMap<>()).put(pullId, url);
+            } catch (NotFoundException | NumberFormatException e) {
+                Utils.logWarnMessage(LOG, "Unable to get pull request from " + url);
+            }
+        }
+
+        Map<URL, PullRequest> pullRequests = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, URL>> entry : urlsByRepository.entrySet()) {
+            Collection<URL> repositoryUrls = entry.getValue().values();
+            if (graphql != null) {
+                try {
+                    pullRequests.putAll(graphql.getPullRequests(entry.getKey(), entry.getValue(), getPullRequestHome()));
+                    continue;
+                } catch (IOException e) {
+                    Utils.logException(LOG, "Unable to get pull requests of " + entry.getKey() + " with GraphQL, falling back to REST", e);
+                }
+            }
+            pullRequests.putAll(RepositoryService.super.getPullRequests(repositoryUrls));
+        }
+        return pullRequests;
+    }
+
     @Override
     public Repository getRepository(URL url) throws NotFoundException {
         checkHost(url);
@@ -153,6 +173,14 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         URL url = repository.getURL();
         checkHost(url);
 
+        if (graphql != null) {
+            try {
+                return graphql.getPullRequestsByState(createRepositoryIdFromUrl(url), state, getPullRequestHome());
+            } catch (IOException e) {
+                Utils.logException(LOG, "Unable to get pull requests of " + url + " with GraphQL, falling back to REST", e);
+            }
+        }
+
         try {
             // String githubState = state.toString().toLowerCase();
             GHRepository githubRepository = getGHRepository(url);
@@ -163,7 +191,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
                 issueState = GHIssueState.OPEN;
             }
             List<GHPullRequest> pullRequests = githubRepository.getPullRequests(issueState);
-            return WRAPPER.toAphroditePullRequests(pullRequests, getPullRequestHome());
+            return WRAPPER.toAphroditePullRequests(pullRequests, getPullRequestHome(), config.isEagerLoading());
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
@@ -193,20 +221,18 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         checkHost(url);
 
         try {
-            GHMyself myself = github.getMyself();
-            GHRepository githubRepository = getGHRepository(url);
-            Set<GHUser> collaborators = githubRepository.listCollaborators().asSet();
-            return collaborators.stream().anyMatch(e -> e.getLogin().equals(myself.getLogin()));
-        } catch (Throwable t) {
-            if (t.getMessage().contains("Must have push access")) {
-                return false;
-            }
-            Exception e = (Exception) t;
+            return canModifyLabels(createRepositoryIdFromUrl(url));
+        } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
         }
     }
 
+    @Override
+    public void invalidateModifiableLabels(Repository repository) {
+        invalidateLabelPermission(createRepositoryIdFromUrl(repository.getURL()));
+    }
+
     @Override
     @Deprecated
     public void addLabelToPullRequest(PullRequest pullRequest, String labelName) throws NotFoundException {
@@ -214,37 +240,23 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         checkHost(url);
 
         int pullRequestId = new Integer(Utils.getTrailingValueFromUrlPath(url));
+        String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = getGHRepository(url);
-            GHLabel newLabel = getLabel(repository, labelName);
-            GHIssue issue = repository.getIssue(pullRequestId);
-            Collection<GHLabel> labels = issue.getLabels();
-            if (labels.contains(newLabel)) {
-                return;
-            }
-
-            List<String> list = labels.stream().map(e -> e.getName()).collect(Collectors.toList());
-            list.add(newLabel.getName());
-            String[] labelArray = list.toArray(new String[list.size()]);
-            issue.setLabels(labelArray);
+            GHLabel newLabel = getLabel(repositoryId, labelName);
+            // adding a label which is already set is a no-op for GitHub
+            rest.addLabels(repositoryId, pullRequestId, Collections.singletonList(newLabel.getName()));
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
         }
     }
 
-    private GHLabel getLabel(GHRepository repository, String labelName) throws NotFoundException, IOException {
-        List<GHLabel> labels = repository.listLabels().asList();
-        return getLabel(repository, labelName, labels);
-    }
-
-    private GHLabel getLabel(GHRepository repository, String labelName, List<GHLabel> validLabels) throws NotFoundException {
-        for (GHLabel label : validLabels) {
-            if (label.getName().equalsIgnoreCase(labelName))
-                return label;
-        }
-        throw new NotFoundException("No label exists with the name '" + labelName +
-                "' at repository '" + repository.getName() + "'");
+    private GHLabel getLabel(String repositoryId, String labelName) throws NotFoundException, IOException {
+        GHLabel label = findLabel(repositoryId, labelName);
+        if (label == null)
+            throw new NotFoundException("No label exists with the name '" + labelName +
+                    "' at repository '" + repositoryId + "'");
+        return label;
     }
 
     @Override
@@ -254,8 +266,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
 
         List<GHLabel> labels;
         try {
-            GHRepository githubRepository = getGHRepository(url);
-            labels = githubRepository.listLabels().asList();
+            labels = getRepositoryLabels(createRepositoryIdFromUrl(url));
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
@@ -286,18 +297,13 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         checkHost(url);
 
         int pullRequestId = new Integer(Utils.getTrailingValueFromUrlPath(url));
+        String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = getGHRepository(url);
-            GHIssue issue = repository.getIssue(pullRequestId);
-            List<GHLabel> issueLabels = new ArrayList<>();
-            List<GHLabel> existingLabels = repository.listLabels().asList();
-
+            List<String> names = new ArrayList<>();
             for (Label label : labels) {
-                issueLabels.add(getLabel(repository, label.getName(), existingLabels));
+                names.add(getLabel(repositoryId, label.getName()).getName());
             }
-            List<String> list = issueLabels.stream().map(e -> e.getName()).collect(Collectors.toList());
-            String[] labelArray = list.toArray(new String[list.size()]);
-            issue.setLabels(labelArray);
+            rest.setLabels(repositoryId, pullRequestId, names);
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
@@ -311,20 +317,11 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         checkHost(url);
 
         int pullRequestId = new Integer(Utils.getTrailingValueFromUrlPath(url));
+        String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = getGHRepository(url);
-            GHIssue issue = repository.getIssue(pullRequestId);
-            Collection<GHLabel> labels = issue.getLabels();
-
-            for (GHLabel label : labels)
-                if (label.getName().equalsIgnoreCase(name)) {
-                    // remove the label and reset
-                    List<String> list = labels.stream().map(e -> e.getName()).collect(Collectors.toList());
-                    list.remove(label.getName());
-                    String[] labelArray = list.toArray(new String[list.size()]);
-                    issue.setLabels(labelArray);
-                    return;
-                }
+            GHLabel label = findLabel(repositoryId, name);
+            if (label != null && rest.removeLabel(repositoryId, pullRequestId, label.getName()))
+                return;
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
@@ -364,36 +361,13 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         URL url = pullRequest.getURL();
         checkHost(url);
 
-        CommitStatus status = null;
-        int pullRequestId = Integer.parseInt(pullRequest.getId());
+        String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            String sha = null;
-
-            GHRepository repository = getGHRepository(url);
-            GHPullRequest ghPullRequest = repository.getPullRequest(pullRequestId);
-
-            List<GHPullRequestCommitDetail> commits = ghPullRequest.listCommits().asList();
-            if (commits.size() > 0) {
-                sha = commits.get(commits.size() - 1).getSha();
-            }
-
-            // statuses contains Finished and Started TeamCity Build
-            List<GHCommitStatus> statuses = repository.listCommitStatuses(sha).asList();
-            if (statuses.size() > 0) {
-                GHCommitState sta = getCombineStatus(statuses);
-                if (sta != null)
-                    status = CommitStatus.fromString(sta.toString());
-            }
+            return getCombinedStatus(repositoryId, getHeadSha(repositoryId, Integer.parseInt(pullRequest.getId())));
         } catch (IOException e) {
             Utils.logException(LOG, e);
             throw new NotFoundException(e);
         }
-
-        if (status != null) {
-            return status;
-        } else {
-            return CommitStatus.UNKNOWN;
-        }
     }
 
     @Override
@@ -418,7 +392,7 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
     @Override
     public List<Commit> getCommitsSince(URL url, String branch, long since) {
         try {
-            GHRepository repo = github.getRepository(createRepositoryIdFromUrl(url));
+            GHRepository repo = getGHRepository(url);
             Iterable<GHCommit> ghCommits = repo.queryCommits().from(branch).since(since).pageSize(100).list();
 
             List<Commit> commits = new ArrayList<>();
@@ -431,7 +405,13 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         }
     }
 
+    /**
+     * @return the core rate limit, as tracked from the last responses of GitHub if they tell it.
+     */
     public RateLimit getRateLimit() throws NotFoundException {
+        RateLimit rateLimit = RATE_LIMITER.getRateLimit(GitHubRateLimiter.CORE);
+        if (rateLimit != null)
+            return rateLimit;
         try {
             GHRateLimit ghRateLimit = github.getRateLimit();
             return WRAPPER.ghRateLimittoRateLimit(ghRateLimit);
@@ -453,18 +433,4 @@ public class GitHubRepositoryService extends AbstractGithubService implements Re
         }
         return prHome;
     }
-
-    private GHRepository getGHRepository(URL url) throws IOException {
-        String repositoryId = createRepositoryIdFromUrl(url);
-        if (Duration.between(timeStamp, LocalTime.now()).toHours() >= 2) {
-            timeStamp = LocalTime.now();
-            ghRepositories.clear();
-        }
-        GHRepository repository = ghRepositories.get(repositoryId);
-        if (repository == null) {
-            repository = github.getRepository(repositoryId);
-            ghRepositories.put(repositoryId, repository);
-        }
-        return repository;
-    }
 }
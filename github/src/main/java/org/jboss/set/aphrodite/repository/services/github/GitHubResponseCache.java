@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.jboss.set.aphrodite.config.CacheConfig;
+
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * The in-memory tier of the response cache, in front of the disk cache of OkHttp. It keeps the last responses to GET
+ * requests, serves them while they are at most {@link CacheConfig#getMaxStale()} seconds old, and revalidates them
+ * with their <code>ETag</code> or <code>Last-Modified</code> header afterwards: GitHub answers with a
+ * <code>304 Not Modified</code>, which does not count against the rate limit, if they are still current.
+ * <p>
+ * It also records how the requests to each endpoint were served, whichever tier served them.
+ */
+class GitHubResponseCache implements Interceptor {
+
+    // The larger responses are left to the disk cache
+    private static final long MAX_BODY_SIZE = 1024 * 1024;
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+    private static final Pattern SHA = Pattern.compile("[0-9a-f]{40}");
+
+    private final ExpiringCache<String, Entry> entries;
+    private final long maxStaleMillis;
+    private final boolean revalidate;
+    private final Map<String, CacheStatistics> statistics = new ConcurrentHashMap<>();
+
+    GitHubResponseCache(CacheConfig config) {
+        // the entries are revalidated rather than expired
+        this.entries = config.getMemoryEntries() == 0 ? null
+                : new ExpiringCache<>(config.getMemoryEntries(), TimeUnit.DAYS.toMillis(1));
+        this.maxStaleMillis = TimeUnit.SECONDS.toMillis(config.getMaxStale());
+        this.revalidate = config.isRevalidate();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method()))
+            return chain.proceed(request);
+
+        CacheStatistics stats = statistics.computeIfAbsent(getEndpoint(request.url()), e -> new CacheStatistics());
+        // the requests already conditional are left to their sender
+        String key = entries == null || isConditional(request) ? null : request.url() + " " + request.header("Accept");
+        Entry entry = key == null ? null : entries.getIfPresent(key);
+        long now = System.currentTimeMillis();
+        if (entry != null && now - entry.validatedAt < maxStaleMillis) {
+            stats.recordMemoryHit();
+            return entry.toResponse(request);
+        }
+
+        Request sent = request;
+        if (entry != null && revalidate && (entry.etag != null || entry.lastModified != null)) {
+            Request.Builder builder = request.newBuilder();
+            if (entry.etag != null)
+                builder.header("If-None-Match", entry.etag);
+            if (entry.lastModified != null)
+                builder.header("If-Modified-Since", entry.lastModified);
+            sent = builder.build();
+        }
+
+        Response response = chain.proceed(sent);
+        if (sent != request && response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            response.close();
+            entry.validatedAt = now;
+            stats.recordRevalidation();
+            return entry.toResponse(request);
+        }
+
+        record(stats, response);
+        if (key != null && response.code() == HttpURLConnection.HTTP_OK)
+            store(key, response, now);
+        return response;
+    }
+
+    /**
+     * @return the statistics of the requests per endpoint, such as <code>/repos/{owner}/{repo}/pulls/{number}</code>.
+     */
+    Map<String, CacheStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private static void record(CacheStatistics stats, Response response) {
+        Response networkResponse = response.networkResponse();
+        if (networkResponse == null && response.cacheResponse() != null) {
+            stats.recordDiskHit();
+        } else if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED
+                || (networkResponse != null && networkResponse.code() == HttpURLConnection.HTTP_NOT_MODIFIED)) {
+            stats.recordRevalidation();
+        } else {
+            stats.recordMiss();
+        }
+    }
+
+    private void store(String key, Response response, long now) throws IOException {
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        if (etag == null && lastModified == null && maxStaleMillis == 0)
+            return;
+
+        ResponseBody body = response.peekBody(MAX_BODY_SIZE + 1);
+        if (body.contentLength() > MAX_BODY_SIZE)
+            return;
+        entries.put(key, new Entry(response, body.contentType(), body.bytes(), etag, lastModified, now));
+    }
+
+    private static boolean isConditional(Request request) {
+        return request.header("If-None-Match") != null || request.header("If-Modified-Since") != null;
+    }
+
+    static String getEndpoint(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        int repos = segments.indexOf("repos");
+        StringBuilder endpoint = new StringBuilder();
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (repos >= 0 && i == repos + 1)
+                segment = "{owner}";
+            else if (repos >= 0 && i == repos + 2)
+                segment = "{repo}";
+            else if (NUMBER.matcher(segment).matches())
+                segment = "{number}";
+            else if (SHA.matcher(segment).matches())
+                segment = "{sha}";
+            endpoint.append('/').append(segment);
+        }
+        return endpoint.toString();
+    }
+
+    private static class Entry {
+        private final Protocol protocol;
+        private final int code;
+        private final String message;
+        private final Headers headers;
+        private final MediaType contentType;
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private volatile long validatedAt;
+
+        private Entry(Response response, MediaType contentType, byte[] body, String etag, String lastModified,
+                long validatedAt) {
+            this.protocol = response.protocol();
+            this.code = response.code();
+            this.message = response.message();
+            this.headers = response.headers();
+            this.contentType = contentType;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.validatedAt = validatedAt;
+        }
+
+        private Response toResponse(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(protocol)
+                    .code(code)
+                    .message(message)
+                    .headers(headers)
+                    .body(ResponseBody.create(contentType, body))
+                    .build();
+        }
+    }
+}
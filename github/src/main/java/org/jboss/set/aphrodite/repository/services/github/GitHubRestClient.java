@@ -0,0 +1,249 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Calls the GitHub REST endpoints which github-api can only reach through objects that must be fetched first, such as
+ * the labels of an issue, or does not support, such as the combined status of a commit. Each method is a single
+ * request.
+ */
+class GitHubRestClient {
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private static final String ACCEPT = "application/vnd.github.v3+json";
+    // the largest page size allowed by GitHub
+    static final int PAGE_SIZE = 100;
+
+    private final HttpUrl apiUrl;
+    private final String token;
+    private final OkHttpClient client;
+
+    GitHubRestClient(String apiUrl, String token, OkHttpClient client) {
+        this.apiUrl = HttpUrl.get(apiUrl);
+        this.token = token;
+        this.client = client;
+    }
+
+    /**
+     * Add labels to an issue or pull request, keeping its other labels.
+     *
+     * @return the labels of the issue after the call.
+     */
+    JsonArray addLabels(String repositoryId, int number, List<String> names) throws IOException {
+        return readArray(execute(new Request.Builder()
+                .url(labelsUrl(repositoryId, number).build())
+                .post(RequestBody.create(JSON, toBody(names)))));
+    }
+
+    /**
+     * Replace all the labels of an issue or pull request.
+     *
+     * @return the labels of the issue after the call.
+     */
+    JsonArray setLabels(String repositoryId, int number, List<String> names) throws IOException {
+        return readArray(execute(new Request.Builder()
+                .url(labelsUrl(repositoryId, number).build())
+                .put(RequestBody.create(JSON, toBody(names)))));
+    }
+
+    /**
+     * Remove a label from an issue or pull request.
+     *
+     * @return false if the issue does not have the label.
+     */
+    boolean removeLabel(String repositoryId, int number, String name) throws IOException {
+        Request request = new Request.Builder()
+                .url(labelsUrl(repositoryId, number).addPathSegment(name).build())
+                .delete()
+                .header("Authorization", "token " + token)
+                .header("Accept", ACCEPT)
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            if (response.code() == HttpURLConnection.HTTP_NOT_FOUND)
+                return false;
+            if (!response.isSuccessful())
+                throw new IOException("GitHub returned " + response.code() + " for DELETE " + request.url());
+            return true;
+        }
+    }
+
+    /**
+     * Get the combined status of a commit, which GitHub reduces from the latest status of each context.
+     */
+    JsonObject getCombinedStatus(String repositoryId, String sha) throws IOException {
+        return readObject(execute(new Request.Builder()
+                .url(apiUrl.newBuilder()
+                        .addPathSegment("repos")
+                        .addPathSegments(repositoryId)
+                        .addPathSegment("commits")
+                        .addPathSegment(sha)
+                        .addPathSegment("status")
+                        .build())
+                .get()));
+    }
+
+    /**
+     * List the check runs of a commit. One request is made per page of {@link #PAGE_SIZE} check runs.
+     */
+    List<JsonObject> listCheckRuns(String repositoryId, String sha) throws IOException {
+        List<JsonObject> checkRuns = new ArrayList<>();
+        for (int page = 1; ; page++) {
+            JsonArray nodes = readObject(execute(new Request.Builder()
+                    .url(apiUrl.newBuilder()
+                            .addPathSegment("repos")
+                            .addPathSegments(repositoryId)
+                            .addPathSegment("commits")
+                            .addPathSegment(sha)
+                            .addPathSegment("check-runs")
+                            .addQueryParameter("per_page", Integer.toString(PAGE_SIZE))
+                            .addQueryParameter("page", Integer.toString(page))
+                            .build())
+                    .get())).getJsonArray("check_runs");
+            checkRuns.addAll(nodes.getValuesAs(JsonObject.class));
+            if (nodes.size() < PAGE_SIZE)
+                return checkRuns;
+        }
+    }
+
+    /**
+     * List the commits of a pull request, oldest first, without fetching the pull request itself. One request is made
+     * per page of {@link #PAGE_SIZE} commits.
+     */
+    List<JsonObject> listPullRequestCommits(String repositoryId, int number) throws IOException {
+        List<JsonObject> commits = new ArrayList<>();
+        for (int page = 1; ; page++) {
+            JsonArray nodes = readArray(execute(new Request.Builder()
+                    .url(apiUrl.newBuilder()
+                            .addPathSegment("repos")
+                            .addPathSegments(repositoryId)
+                            .addPathSegment("pulls")
+                            .addPathSegment(Integer.toString(number))
+                            .addPathSegment("commits")
+                            .addQueryParameter("per_page", Integer.toString(PAGE_SIZE))
+                            .addQueryParameter("page", Integer.toString(page))
+                            .build())
+                    .get()));
+            commits.addAll(nodes.getValuesAs(JsonObject.class));
+            if (nodes.size() < PAGE_SIZE)
+                return commits;
+        }
+    }
+
+    /**
+     * Get the permission of a user on a repository.
+     *
+     * @return the permission, or null if the authenticated user is not allowed to see it, which needs push access.
+     * @throws FileNotFoundException if the repository or the user does not exist, or the repository is not visible to
+     *         the authenticated user.
+     */
+    JsonObject getCollaboratorPermission(String repositoryId, String login) throws IOException {
+        Request request = new Request.Builder()
+                .url(apiUrl.newBuilder()
+                        .addPathSegment("repos")
+                        .addPathSegments(repositoryId)
+                        .addPathSegment("collaborators")
+                        .addPathSegment(login)
+                        .addPathSegment("permission")
+                        .build())
+                .header("Authorization", "token " + token)
+                .header("Accept", ACCEPT)
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            if (response.code() == HttpURLConnection.HTTP_FORBIDDEN)
+                return null;
+            if (response.code() == HttpURLConnection.HTTP_NOT_FOUND)
+                throw new FileNotFoundException("GitHub returned 404 for GET " + request.url());
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null)
+                throw new IOException("GitHub returned " + response.code() + " for GET " + request.url());
+            return readObject(body.string());
+        }
+    }
+
+    private HttpUrl.Builder labelsUrl(String repositoryId, int number) {
+        return apiUrl.newBuilder()
+                .addPathSegment("repos")
+                .addPathSegments(repositoryId)
+                .addPathSegment("issues")
+                .addPathSegment(Integer.toString(number))
+                .addPathSegment("labels");
+    }
+
+    private static String toBody(List<String> names) {
+        JsonArrayBuilder labels = Json.createArrayBuilder();
+        names.forEach(labels::add);
+        return Json.createObjectBuilder().add("labels", labels).build().toString();
+    }
+
+    private String execute(Request.Builder builder) throws IOException {
+        Request request = builder
+                .header("Authorization", "token " + token)
+                .header("Accept", ACCEPT)
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null)
+                throw new IOException("GitHub returned " + response.code() + " for " + request.method() + " " + request.url());
+            return body.string();
+        }
+    }
+
+    private static JsonObject readObject(String body) throws IOException {
+        try (JsonReader reader = Json.createReader(new StringReader(body))) {
+            return reader.readObject();
+        } catch (JsonException e) {
+            throw new IOException("Unable to parse the response of GitHub", e);
+        }
+    }
+
+    private static JsonArray readArray(String body) throws IOException {
+        try (JsonReader reader = Json.createReader(new StringReader(body))) {
+            return reader.readArray();
+        } catch (JsonException e) {
+            throw new IOException("Unable to parse the response of GitHub", e);
+        }
+    }
+}
@@ -25,20 +25,28 @@ package org.jboss.set.aphrodite.repository.services.github;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.domain.Codebase;
 import org.jboss.set.aphrodite.domain.Commit;
+import org.jboss.set.aphrodite.domain.CommitStatus;
 import org.jboss.set.aphrodite.domain.Compare;
 import org.jboss.set.aphrodite.domain.Label;
 import org.jboss.set.aphrodite.domain.MergeableState;
@@ -56,12 +64,17 @@ import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHPullRequestCommitDetail;
 import org.kohsuke.github.GHRateLimit;
 
+import okhttp3.HttpUrl;
+
+import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.createRepositoryIdFromUrl;
+
 /**
  * @author Ryan Emerson
  */
 class GitHubWrapper {
 
     private static final Log LOG = LogFactory.getLog(GitHubWrapper.class);
+    private static final Set<String> SUCCESSFUL_CONCLUSIONS = new HashSet<>(Arrays.asList("success", "neutral", "skipped"));
 
     Repository toAphroditeRepository(URL url, Collection<GHBranch> branches) {
         Repository repo = new Repository(url);
@@ -72,13 +85,17 @@ class GitHubWrapper {
         return repo;
     }
 
-    List<PullRequest> toAphroditePullRequests(List<GHPullRequest> pullRequests, PullRequestHome prHome) {
+    List<PullRequest> toAphroditePullRequests(List<GHPullRequest> pullRequests, PullRequestHome prHome, boolean loadCommits) {
         return pullRequests.stream()
-                .map(pr -> this.pullRequestToPullRequest(pr, prHome)).filter(x -> x!=null)
+                .map(pr -> this.pullRequestToPullRequest(pr, prHome, loadCommits)).filter(x -> x!=null)
                 .collect(Collectors.toList());
     }
 
-    PullRequest pullRequestToPullRequest(GHPullRequest pullRequest, PullRequestHome prHome) {
+    /**
+     * @param loadCommits whether the commits are listed now, otherwise they are retrieved from <code>prHome</code> on
+     *        the first access to them.
+     */
+    PullRequest pullRequestToPullRequest(GHPullRequest pullRequest, PullRequestHome prHome, boolean loadCommits) {
         try {
             final String id = Integer.toString(pullRequest.getNumber());
             final URL url = pullRequest.getHtmlUrl();
@@ -97,19 +114,8 @@ class GitHubWrapper {
             final boolean merged = pullRequest.isMerged();
             final Date mergedAt = pullRequest.getMergedAt();
             final MergeableState mergeableState = pullRequest.getMergeableState() == null ? null : MergeableState.valueOf(pullRequest.getMergeableState().toUpperCase());
-            String urlString = url.toString();
-            int idx = urlString.indexOf("pull");
-            if (idx >= 0) {
-                urlString = urlString.substring(0, idx);
-            }
-            final Repository repo = new Repository(URI.create(urlString).toURL());
-            final int commitCount = pullRequest.getCommits();
-            final List<Commit> commits = new ArrayList<>(commitCount);
-
-            for (GHPullRequestCommitDetail det : pullRequest.listCommits()) {
-                commits.add(new Commit(det.getSha(), det.getCommit().getMessage()));
-            }
-            Collections.reverse(commits);
+            final Repository repo = toPullRequestRepository(url);
+            final List<Commit> commits = loadCommits ? toCommits(pullRequest) : null;
             return new PullRequest(id, url, repo, codebase, state, title, body, mergeable, merged, mergeableState, mergedAt, commits, prHome);
         } catch (IOException e) {
             Utils.logException(LOG, e);
@@ -117,6 +123,155 @@ class GitHubWrapper {
         }
     }
 
+    List<Commit> toCommits(GHPullRequest pullRequest) throws IOException {
+        final List<Commit> commits = new ArrayList<>();
+        for (GHPullRequestCommitDetail det : pullRequest.listCommits()) {
+            commits.add(new Commit(det.getSha(), det.getCommit().getMessage()));
+        }
+        Collections.reverse(commits);
+        return commits;
+    }
+
+    /**
+     * Convert the commits listed by {@link GitHubRestClient#listPullRequestCommits(String, int)}.
+     *
+     * @return the commits, youngest at the start.
+     */
+    static List<Commit> restToCommits(List<JsonObject> nodes) {
+        List<Commit> commits = new ArrayList<>(nodes.size());
+        for (JsonObject node : nodes) {
+            commits.add(new Commit(node.getString("sha"), node.getJsonObject("commit").getString("message")));
+        }
+        Collections.reverse(commits);
+        return commits;
+    }
+
+    /**
+     * Convert a pull request returned by {@link GitHubGraphQLClient}. The labels included in the response are served by
+     * a {@link PrefetchedPullRequestHome} wrapping the given home, and the status of the head commit is cached with the
+     * other commit statuses, see {@link AbstractGithubService#cacheCommitStatus(String, String, CommitStatus)}.
+     *
+     * @param apiUrl the base URL of the REST API, see {@link #toLabelUrl(HttpUrl, String, String)}.
+     */
+    PullRequest jsonToPullRequest(JsonObject pullRequest, List<Commit> commits, PullRequestHome prHome, HttpUrl apiUrl)
+            throws IOException {
+        final String id = Integer.toString(pullRequest.getInt("number"));
+        final URL url = new URL(pullRequest.getString("url"));
+        final Codebase codebase = new Codebase(pullRequest.getString("baseRefName"));
+        // the merged pull requests are closed ones for the REST API
+        final PullRequestState state = "OPEN".equals(pullRequest.getString("state")) ? PullRequestState.OPEN : PullRequestState.CLOSED;
+        final String title = pullRequest.getString("title", "").replaceFirst("\\u2026", "");
+        final String body = pullRequest.getString("body", "").replaceFirst("\\u2026", "");
+        final boolean mergeable = "MERGEABLE".equals(pullRequest.getString("mergeable", null));
+        final boolean merged = pullRequest.getBoolean("merged", false);
+        final Date mergedAt = pullRequest.isNull("mergedAt") ? null : Date.from(Instant.parse(pullRequest.getString("mergedAt")));
+        MergeableState mergeableState = null;
+        if (!pullRequest.isNull("mergeStateStatus")) {
+            try {
+                mergeableState = MergeableState.valueOf(pullRequest.getString("mergeStateStatus"));
+            } catch (IllegalArgumentException e) {
+                mergeableState = MergeableState.UNKNOWN;
+            }
+        }
+
+        String repositoryId = createRepositoryIdFromUrl(url);
+        List<Label> labels = new ArrayList<>();
+        for (JsonObject label : pullRequest.getJsonObject("labels").getJsonArray("nodes").getValuesAs(JsonObject.class)) {
+            String name = label.getString("name");
+            labels.add(new Label(label.getString("color"), name, toLabelUrl(apiUrl, repositoryId, name)));
+        }
+        String headSha = jsonToHeadSha(pullRequest);
+        if (headSha != null)
+            AbstractGithubService.cacheCommitStatus(repositoryId, headSha, jsonToCommitStatus(pullRequest));
+
+        return new PullRequest(id, url, toPullRequestRepository(url), codebase, state, title, body, mergeable, merged,
+                mergeableState, mergedAt, commits, new PrefetchedPullRequestHome(prHome, labels, repositoryId, headSha));
+    }
+
+    /**
+     * The GraphQL API only returns the HTML URL of a label, so its URL is built as returned by the REST API, e.g.
+     * <code>https://api.github.com/repos/jboss-set/aphrodite/labels/bug</code>, like the labels of
+     * {@link #pullRequestLabeltoPullRequestLabel(Collection)}.
+     */
+    static String toLabelUrl(HttpUrl apiUrl, String repositoryId, String name) {
+        return apiUrl.newBuilder()
+                .addPathSegment("repos")
+                .addPathSegments(repositoryId)
+                .addPathSegment("labels")
+                .addPathSegment(name)
+                .build()
+                .toString();
+    }
+
+    /**
+     * @return the sha of the <code>head</code> commit of a pull request returned by {@link GitHubGraphQLClient}, or
+     *         null if it has no commit.
+     */
+    static String jsonToHeadSha(JsonObject pullRequest) {
+        List<JsonObject> head = pullRequest.getJsonObject("head").getJsonArray("nodes").getValuesAs(JsonObject.class);
+        return head.isEmpty() ? null : head.get(0).getJsonObject("commit").getString("oid");
+    }
+
+    /**
+     * @return the status of the <code>head</code> commit of a pull request returned by {@link GitHubGraphQLClient}.
+     */
+    static CommitStatus jsonToCommitStatus(JsonObject pullRequest) {
+        List<JsonObject> head = pullRequest.getJsonObject("head").getJsonArray("nodes").getValuesAs(JsonObject.class);
+        if (head.isEmpty() || head.get(0).getJsonObject("commit").isNull("statusCheckRollup"))
+            return CommitStatus.UNKNOWN;
+        String rollup = head.get(0).getJsonObject("commit").getJsonObject("statusCheckRollup").getString("state");
+        // the expected checks have not reported yet
+        CommitStatus status = "EXPECTED".equals(rollup) ? CommitStatus.PENDING : CommitStatus.fromString(rollup);
+        return status != null ? status : CommitStatus.UNKNOWN;
+    }
+
+    /**
+     * Reduce the combined status and the check runs of a commit as GitHub reduces them into the
+     * <code>statusCheckRollup</code> of {@link #jsonToCommitStatus(JsonObject)}: an error or a failure wins over a
+     * pending status or check run, which wins over a success. Neutral and skipped check runs count as successful.
+     *
+     * @param combined the combined status returned by {@link GitHubRestClient#getCombinedStatus(String, String)}.
+     * @param checkRuns the check runs returned by {@link GitHubRestClient#listCheckRuns(String, String)}.
+     */
+    static CommitStatus restToCommitStatus(JsonObject combined, List<JsonObject> checkRuns) {
+        List<CommitStatus> statuses = new ArrayList<>();
+        // GitHub reports a commit without any status as pending
+        if (combined.getInt("total_count", 0) > 0)
+            statuses.add(CommitStatus.fromString(combined.getString("state", null)));
+        for (JsonObject checkRun : checkRuns) {
+            if (!"completed".equals(checkRun.getString("status", null)))
+                statuses.add(CommitStatus.PENDING);
+            else if (SUCCESSFUL_CONCLUSIONS.contains(checkRun.getString("conclusion", null)))
+                statuses.add(CommitStatus.SUCCESS);
+            else
+                statuses.add(CommitStatus.FAILURE);
+        }
+        for (CommitStatus status : Arrays.asList(CommitStatus.ERROR, CommitStatus.FAILURE, CommitStatus.PENDING,
+                CommitStatus.SUCCESS)) {
+            if (statuses.contains(status))
+                return status;
+        }
+        return CommitStatus.UNKNOWN;
+    }
+
+    static List<Commit> jsonToCommits(JsonArray nodes) {
+        List<Commit> commits = new ArrayList<>(nodes.size());
+        for (JsonObject node : nodes.getValuesAs(JsonObject.class)) {
+            JsonObject commit = node.getJsonObject("commit");
+            commits.add(new Commit(commit.getString("oid"), commit.getString("message")));
+        }
+        return commits;
+    }
+
+    private static Repository toPullRequestRepository(URL url) throws IOException {
+        String urlString = url.toString();
+        int idx = urlString.indexOf("pull");
+        if (idx >= 0) {
+            urlString = urlString.substring(0, idx);
+        }
+        return new Repository(URI.create(urlString).toURL());
+    }
+
     public List<Label> pullRequestLabeltoPullRequestLabel(Collection<GHLabel> labels) {
         List<Label> patchLabels = new ArrayList<>();
         for (GHLabel label : labels) {
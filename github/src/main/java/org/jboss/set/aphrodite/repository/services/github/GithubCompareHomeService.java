@@ -27,8 +27,6 @@ import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHTag;
 
-import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.createRepositoryIdFromUrl;
-
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
@@ -49,7 +47,7 @@ public class GithubCompareHomeService extends AbstractGithubService implements C
     @Override
     public Compare getCompare(URL url, String tag1, String tag2) {
         try {
-            return WRAPPER.toCompare(github.getRepository(createRepositoryIdFromUrl(url)).getCompare(tag1,tag2));
+            return WRAPPER.toCompare(getGHRepository(url).getCompare(tag1,tag2));
         } catch (IOException e) {
             Utils.logWarnMessage(LOG, "repository : " + url + " is not accessable due to " + e.getMessage() + ". Check repository link and your account permission.");
             return new Compare();
@@ -59,7 +57,7 @@ public class GithubCompareHomeService extends AbstractGithubService implements C
     @Override
     public List<String> getTags(URL url) {
         try {
-            GHRepository repo = github.getRepository(createRepositoryIdFromUrl(url));
+            GHRepository repo = getGHRepository(url);
             return repo.listTags().toList().stream().map(GHTag::getName).collect(Collectors.toList());
         } catch (IOException e) {
             Utils.logWarnMessage(LOG, "repository : " + url + " is not accessable due to " + e.getMessage() + ". Check repository link and your account permission.");
@@ -70,7 +68,7 @@ public class GithubCompareHomeService extends AbstractGithubService implements C
     @Override
     public List<String> getBranches(URL url) {
         try {
-            GHRepository repo = github.getRepository(createRepositoryIdFromUrl(url));
+            GHRepository repo = getGHRepository(url);
             return new ArrayList<>(repo.getBranches().keySet());
         } catch (IOException e) {
             Utils.logWarnMessage(LOG, "repository : " + url + " is not accessable due to " + e.getMessage() + ". Check repository link and your account permission.");
@@ -23,27 +23,29 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
-import java.util.stream.Collectors;
+import java.util.Map;
+
+import javax.json.JsonObject;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jboss.set.aphrodite.Aphrodite;
+import org.jboss.set.aphrodite.common.RequestPriority;
 import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.config.AphroditeConfig;
 import org.jboss.set.aphrodite.config.RepositoryConfig;
+import org.jboss.set.aphrodite.domain.Commit;
 import org.jboss.set.aphrodite.domain.CommitStatus;
 import org.jboss.set.aphrodite.domain.Label;
 import org.jboss.set.aphrodite.domain.PullRequest;
 import org.jboss.set.aphrodite.domain.spi.PullRequestHome;
 import org.jboss.set.aphrodite.repository.services.common.RepositoryType;
-import org.kohsuke.github.GHCommitState;
-import org.kohsuke.github.GHCommitStatus;
 import org.kohsuke.github.GHIssue;
 import org.kohsuke.github.GHLabel;
 import org.kohsuke.github.GHPullRequest;
-import org.kohsuke.github.GHPullRequestCommitDetail;
 import org.kohsuke.github.GHPullRequestReview;
 import org.kohsuke.github.GHPullRequestReviewBuilder;
 import org.kohsuke.github.GHPullRequestReviewEvent;
@@ -54,8 +56,6 @@ import org.kohsuke.github.GHUser;
 import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.createRepositoryIdFromUrl;
 import static org.jboss.set.aphrodite.repository.services.common.RepositoryUtils.getPRFromDescription;
 
-import static org.jboss.set.aphrodite.repository.services.github.GithubUtils.getCombineStatus;
-
 /**
  * Service implementation of {@link PullRequestHome}. This helps to detach pull request specific methods in
  * {@link GitHubRepositoryService} and allow to call them from pull request itself once this service implementation registered
@@ -104,15 +104,28 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         int pullId = Integer.parseInt(elements[elements.length - 1]);
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             GHPullRequest pullRequest = repository.getPullRequest(pullId);
-            return WRAPPER.pullRequestToPullRequest(pullRequest, this);
+            return WRAPPER.pullRequestToPullRequest(pullRequest, this, config.isEagerLoading());
         } catch (IOException e) {
             Utils.logException(LOG, "Unable to retrieve pull request from url " + url, e);
             return null;
         }
     }
 
+    @Override
+    public List<Commit> getCommits(PullRequest pullRequest) {
+        URL url = pullRequest.getURL();
+        String repositoryId = createRepositoryIdFromUrl(url);
+        try {
+            // the number of the pull request is all that is needed, so it is not fetched again
+            return GitHubWrapper.restToCommits(rest.listPullRequestCommits(repositoryId, Integer.parseInt(pullRequest.getId())));
+        } catch (IOException | NumberFormatException e) {
+            Utils.logException(LOG, "Unable to retrieve the commits of pull request " + url, e);
+            return null;
+        }
+    }
+
     @Override
     public boolean addComment(PullRequest pullRequest, String comment) {
         URL url = pullRequest.getURL();
@@ -120,7 +133,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         int id = Integer.parseInt(pullRequest.getId());
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             GHIssue issue = repository.getIssue(id);
             issue.comment(comment);
             return true;
@@ -135,7 +148,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         URL url = pullRequest.getURL();
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             GHIssue issue = repository.getIssue(Integer.parseInt(pullRequest.getId()));
             return WRAPPER.pullRequestLabeltoPullRequestLabel(issue.getLabels());
         } catch (IOException | NumberFormatException e) {
@@ -150,20 +163,14 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         int pullRequestId = new Integer(Utils.getTrailingValueFromUrlPath(url));
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
-            GHIssue issue = repository.getIssue(pullRequestId);
-            List<GHLabel> issueLabels = new ArrayList<>();
-            List<GHLabel> existingLabels = repository.listLabels().asList();
-
+            List<String> names = new ArrayList<>();
             for (Label label : labels) {
-                GHLabel validLabel = validAndGetLabel(repository, label, existingLabels);
-                if(validLabel != null) {
-                    issueLabels.add(validLabel);
+                GHLabel validLabel = findLabel(repositoryId, label.getName());
+                if (validLabel != null) {
+                    names.add(validLabel.getName());
                 }
             }
-            List<String> list = issueLabels.stream().map(e -> e.getName()).collect(Collectors.toList());
-            String[] labelArray = list.toArray(new String[list.size()]);
-            issue.setLabels(labelArray);
+            rest.setLabels(repositoryId, pullRequestId, names);
         } catch (IOException e) {
             Utils.logException(LOG, e);
             return false;
@@ -178,23 +185,13 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         String repositoryId = createRepositoryIdFromUrl(url);
 
         try {
-            GHRepository repository = github.getRepository(repositoryId);
-            List<GHLabel> existingLabels = repository.listLabels().asList();
-            GHLabel newLabel = validAndGetLabel(repository, label, existingLabels);
+            GHLabel newLabel = findLabel(repositoryId, label.getName());
             if (newLabel == null) {
-                Utils.logWarnMessage(LOG, "No label exists with name '" + label.getName() + "' at repository '" + repository.getName() + "'");
+                Utils.logWarnMessage(LOG, "No label exists with name '" + label.getName() + "' at repository '" + repositoryId + "'");
                 return false;
             }
-            GHIssue issue = repository.getIssue(pullRequestId);
-            Collection<GHLabel> labels = issue.getLabels();
-            if (labels.contains(newLabel)) {
-                return true; // label is already existed.
-            }
-
-            List<String> list = labels.stream().map(e -> e.getName()).collect(Collectors.toList());
-            list.add(newLabel.getName());
-            String[] labelArray = list.toArray(new String[list.size()]);
-            issue.setLabels(labelArray);
+            // adding a label which is already set is a no-op for GitHub
+            rest.addLabels(repositoryId, pullRequestId, Collections.singletonList(newLabel.getName()));
         } catch (IOException e) {
             Utils.logException(LOG, e);
             return false;
@@ -202,14 +199,6 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         return true;
     }
 
-    private GHLabel validAndGetLabel(GHRepository repository, Label label, List<GHLabel> existingLabels) throws IOException {
-        for (GHLabel exsitingLabel : existingLabels) {
-            if (exsitingLabel.getName().equalsIgnoreCase(label.getName()))
-                return exsitingLabel;
-        }
-        return null;
-    }
-
     @Override
     public boolean removeLabel(PullRequest pullRequest, Label label) {
         URL url = pullRequest.getURL();
@@ -218,18 +207,10 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         String repositoryId = createRepositoryIdFromUrl(url);
 
         try {
-            GHRepository repository = github.getRepository(repositoryId);
-            GHIssue issue = repository.getIssue(pullRequestId);
-            Collection<GHLabel> labels = issue.getLabels();
-            for (GHLabel l : labels)
-                if (l.getName().equalsIgnoreCase(labelName)) {
-                    // remove the label and reset
-                    List<String> list = labels.stream().map(e -> e.getName()).collect(Collectors.toList());
-                    list.remove(l.getName());
-                    String[] labelArray = list.toArray(new String[list.size()]);
-                    issue.setLabels(labelArray);
-                    return true;
-                }
+            GHLabel existingLabel = findLabel(repositoryId, labelName);
+            if (existingLabel != null && rest.removeLabel(repositoryId, pullRequestId, existingLabel.getName())) {
+                return true;
+            }
         } catch (IOException e) {
             Utils.logException(LOG, e);
             return false;
@@ -240,38 +221,69 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
 
     @Override
     public CommitStatus getCommitStatus(PullRequest pullRequest) {
-        URL url = pullRequest.getURL();
-        CommitStatus status = null;
-        int pullRequestId = Integer.parseInt(pullRequest.getId());
-        String repositoryId = createRepositoryIdFromUrl(url);
+        String repositoryId = createRepositoryIdFromUrl(pullRequest.getURL());
         try {
-            String sha = null;
-
-            GHRepository repository = github.getRepository(repositoryId);
-            GHPullRequest ghPullRequest = repository.getPullRequest(pullRequestId);
+            return getCombinedStatus(repositoryId, getHeadSha(repositoryId, Integer.parseInt(pullRequest.getId())));
+        } catch (IOException | NumberFormatException e) {
+            Utils.logException(LOG, e);
+            return CommitStatus.UNKNOWN;
+        }
+    }
 
-            List<GHPullRequestCommitDetail> commits = ghPullRequest.listCommits().asList();
-            if (commits.size() > 0) {
-                sha = commits.get(commits.size() - 1).getSha();
-            }
+    /**
+     * The statuses of the pull requests of each repository are retrieved with a single GraphQL query, which returns
+     * the status GitHub reduces from both the statuses and the check runs of the head commit. The REST API is used for
+     * the pull requests it does not return, and when the GraphQL API is not available, reducing the statuses and the
+     * check runs the same way. Either way the statuses are cached by commit, and served to
+     * {@link #getCommitStatus(PullRequest)}. The requests are sent with the {@link RequestPriority#BACKGROUND background}
+     * priority.
+     */
+    @Override
+    public Map<PullRequest, CommitStatus> getCommitStatuses(Collection<PullRequest> pullRequests) {
+        RequestPriority previous = RequestPriority.set(RequestPriority.BACKGROUND);
+        try {
+            return getCommitStatusesInBackground(pullRequests);
+        } finally {
+            RequestPriority.set(previous);
+        }
+    }
 
-            // statuses contains Finished and Started TeamCity Build
-            List<GHCommitStatus> statuses = repository.listCommitStatuses(sha).asList();
-            if (statuses.size() > 0) {
-                GHCommitState sta = getCombineStatus(statuses);
-                if (sta != null)
-                    status = CommitStatus.fromString(sta.toString());
+    private Map<PullRequest, CommitStatus> getCommitStatusesInBackground(Collection<PullRequest> pullRequests) {
+        Map<PullRequest, CommitStatus> statuses = new LinkedHashMap<>();
+        Map<String, Map<Integer, PullRequest>> byRepository = new LinkedHashMap<>();
+        for (PullRequest pullRequest : pullRequests) {
+            statuses.put(pullRequest, CommitStatus.UNKNOWN);
+            try {
+                byRepository.computeIfAbsent(createRepositoryIdFromUrl(pullRequest.getURL()), id -> new LinkedHashMap<>())
+                        .put(Integer.parseInt(pullRequest.getId()), pullRequest);
+            } catch (NumberFormatException e) {
+                Utils.logException(LOG, "Invalid number of pull request " + pullRequest.getURL(), e);
             }
-        } catch (IOException e) {
-            Utils.logException(LOG, e);
-            return CommitStatus.UNKNOWN;
         }
 
-        if (status != null) {
-            return status;
-        } else {
-            return CommitStatus.UNKNOWN;
+        for (Map.Entry<String, Map<Integer, PullRequest>> repository : byRepository.entrySet()) {
+            String repositoryId = repository.getKey();
+            Map<Integer, JsonObject> heads = Collections.emptyMap();
+            if (graphql != null) {
+                try {
+                    heads = graphql.getHeads(repositoryId, repository.getValue().keySet());
+                } catch (IOException e) {
+                    Utils.logException(LOG, "Falling back to the REST API for the statuses of " + repositoryId, e);
+                }
+            }
+            for (Map.Entry<Integer, PullRequest> pullRequest : repository.getValue().entrySet()) {
+                JsonObject head = heads.get(pullRequest.getKey());
+                String sha = head != null ? GitHubWrapper.jsonToHeadSha(head) : null;
+                if (sha != null) {
+                    CommitStatus status = GitHubWrapper.jsonToCommitStatus(head);
+                    cacheCommitStatus(repositoryId, sha, status);
+                    statuses.put(pullRequest.getValue(), status);
+                } else {
+                    statuses.put(pullRequest.getValue(), getCommitStatus(pullRequest.getValue()));
+                }
+            }
         }
+        return statuses;
     }
 
     @Override
@@ -290,7 +302,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         int pullRequestId = Integer.parseInt(pullRequest.getId());
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             GHPullRequest ghPullRequest = repository.getPullRequest(pullRequestId);
             List<GHPullRequestReview> reviews = ghPullRequest.listReviews().asList();
             ListIterator<GHPullRequestReview> li = reviews.listIterator(reviews.size());
@@ -315,7 +327,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
         String repositoryId = createRepositoryIdFromUrl(url);
 
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             GHPullRequest ghPullRequest = repository.getPullRequest(pullRequestId);
             GHPullRequestReviewBuilder builder = ghPullRequest.createReview();
             builder.event(event).body(body).create();
@@ -347,7 +359,7 @@ public class GithubPullRequestHomeService extends AbstractGithubService implemen
 
         String repositoryId = createRepositoryIdFromUrl(url);
         try {
-            GHRepository repository = github.getRepository(repositoryId);
+            GHRepository repository = getGHRepository(repositoryId);
             repository.getBranches(); // action to test account repository accessibility
         } catch (IOException e) {
             Utils.logWarnMessage(LOG, "repository : " + url + " is not accessable due to " + e.getMessage() + ". Check repository link and your account permission.");
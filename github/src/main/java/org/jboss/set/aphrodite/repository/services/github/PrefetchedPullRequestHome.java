@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.set.aphrodite.domain.Commit;
+import org.jboss.set.aphrodite.domain.CommitStatus;
+import org.jboss.set.aphrodite.domain.Label;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.spi.PullRequestHome;
+
+/**
+ * A {@link PullRequestHome} serving the labels which were fetched together with a pull request, and delegating
+ * everything else. The labels are only served for {@link #PREFETCH_TTL_MILLIS}, and are dropped as soon as they are
+ * modified through this home. The status of the head commit fetched with the pull request is served from the cache of
+ * the commit statuses, like the statuses retrieved by the delegate.
+ */
+class PrefetchedPullRequestHome implements PullRequestHome {
+
+    static final long PREFETCH_TTL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final PullRequestHome delegate;
+    private final String repositoryId;
+    // null if the pull request has no commit
+    private final String headSha;
+    private final long fetchTime = System.currentTimeMillis();
+    private volatile List<Label> labels;
+
+    PrefetchedPullRequestHome(PullRequestHome delegate, List<Label> labels, String repositoryId, String headSha) {
+        this.delegate = delegate;
+        this.labels = labels;
+        this.repositoryId = repositoryId;
+        this.headSha = headSha;
+    }
+
+    private boolean isExpired() {
+        return System.currentTimeMillis() - fetchTime >= PREFETCH_TTL_MILLIS;
+    }
+
+    @Override
+    public List<PullRequest> findReferencedPullRequests(PullRequest pullRequest) {
+        return delegate.findReferencedPullRequests(pullRequest);
+    }
+
+    @Override
+    public List<Commit> getCommits(PullRequest pullRequest) {
+        return delegate.getCommits(pullRequest);
+    }
+
+    @Override
+    public boolean addComment(PullRequest pullRequest, String comment) {
+        return delegate.addComment(pullRequest, comment);
+    }
+
+    @Override
+    public List<Label> getLabels(PullRequest pullRequest) {
+        List<Label> prefetched = labels;
+        return prefetched != null && !isExpired() ? prefetched : delegate.getLabels(pullRequest);
+    }
+
+    @Override
+    public boolean setLabels(PullRequest pullRequest, List<Label> labels) {
+        this.labels = null;
+        return delegate.setLabels(pullRequest, labels);
+    }
+
+    @Override
+    public boolean addLabel(PullRequest pullRequest, Label label) {
+        this.labels = null;
+        return delegate.addLabel(pullRequest, label);
+    }
+
+    @Override
+    public boolean removeLabel(PullRequest pullRequest, Label label) {
+        this.labels = null;
+        return delegate.removeLabel(pullRequest, label);
+    }
+
+    @Override
+    public CommitStatus getCommitStatus(PullRequest pullRequest) {
+        CommitStatus cached = headSha != null ? AbstractGithubService.getCachedCommitStatus(repositoryId, headSha) : null;
+        return cached != null ? cached : delegate.getCommitStatus(pullRequest);
+    }
+
+    @Override
+    public void approveOnPullRequest(PullRequest pullRequest) {
+        delegate.approveOnPullRequest(pullRequest);
+    }
+
+    @Override
+    public void requestChangesOnPullRequest(PullRequest pullRequest, String body) {
+        delegate.requestChangesOnPullRequest(pullRequest, body);
+    }
+}
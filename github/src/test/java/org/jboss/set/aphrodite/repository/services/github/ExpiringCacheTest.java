@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ExpiringCacheTest {
+
+    @Test
+    public void hitAndMissTest() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        ExpiringCache.Loader<String, String> loader = key -> {
+            loads.incrementAndGet();
+            return key.toUpperCase();
+        };
+
+        assertEquals("A", cache.get("a", loader));
+        assertEquals("A", cache.get("a", loader));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedEvictionTest() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, 60_000);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.getIfPresent("a");
+        cache.put("c", "C");
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+    }
+
+    @Test
+    public void expiredEntryTest() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, 0);
+        cache.put("a", "A");
+
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(0, cache.size());
+        assertEquals("A2", cache.get("a", key -> "A2"));
+    }
+
+    @Test
+    public void putIfAbsentTest() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, 60_000);
+
+        assertTrue(cache.putIfAbsent("a", "A"));
+        assertFalse(cache.putIfAbsent("a", "A2"));
+        assertEquals("A", cache.getIfPresent("a"));
+
+        ExpiringCache<String, String> expiring = new ExpiringCache<>(2, 0);
+        assertTrue(expiring.putIfAbsent("a", "A"));
+        assertTrue(expiring.putIfAbsent("a", "A2"));
+    }
+}
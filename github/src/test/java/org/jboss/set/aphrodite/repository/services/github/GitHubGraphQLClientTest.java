@@ -0,0 +1,201 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import com.sun.net.httpserver.HttpExchange;
+import okhttp3.OkHttpClient;
+import org.jboss.set.aphrodite.domain.Commit;
+import org.jboss.set.aphrodite.domain.CommitStatus;
+import org.jboss.set.aphrodite.domain.MergeableState;
+import org.jboss.set.aphrodite.domain.PullRequest;
+import org.jboss.set.aphrodite.domain.PullRequestState;
+import org.jboss.set.aphrodite.domain.spi.PullRequestHome;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.jboss.set.aphrodite.repository.services.github.StandInServer.readAll;
+import static org.jboss.set.aphrodite.repository.services.github.StandInServer.respond;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the {@link GitHubGraphQLClient} against a local stand-in for the GraphQL API of GitHub.
+ */
+public class GitHubGraphQLClientTest {
+
+    private static final String TOKEN = "token";
+    private static final String REPOSITORY = "jboss-set/aphrodite";
+    private static final String API_URL = "https://api.github.com";
+
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    @Rule
+    public final StandInServer server = new StandInServer().handle("/graphql", this::handle);
+    private GitHubGraphQLClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        client = new GitHubGraphQLClient(new URL(server.getURL("/graphql")), API_URL, TOKEN, new OkHttpClient(), true);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String query = new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8);
+        queries.add(query);
+        if (!("bearer " + TOKEN).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            respond(exchange, 401, "{\"message\":\"Bad credentials\"}");
+        } else if (query.contains("pullRequests(states")) {
+            // two pages of pull requests
+            boolean firstPage = !query.contains("\"cursor\"");
+            respond(exchange, 200, "{\"data\":{\"repository\":{\"pullRequests\":{\"pageInfo\":{\"hasNextPage\":" + firstPage
+                    + ",\"endCursor\":\"c1\"},\"nodes\":[" + (firstPage ? pullRequest(1, "OPEN", true) : pullRequest(2, "OPEN", false))
+                    + "]}}}}");
+        } else if (!query.contains("fragment pr") && query.contains("statusCheckRollup")) {
+            respond(exchange, 200, "{\"data\":{\"repository\":{"
+                    + "\"pr3\":{\"head\":{\"nodes\":[{\"commit\":{\"oid\":\"head3\",\"statusCheckRollup\":{\"state\":\"FAILURE\"}}}]}},"
+                    + "\"pr5\":{\"head\":{\"nodes\":[{\"commit\":{\"oid\":\"head5\",\"statusCheckRollup\":null}}]}},\"pr4\":null}},"
+                    + "\"errors\":[{\"type\":\"NOT_FOUND\",\"path\":[\"repository\",\"pr4\"]}]}");
+        } else if (query.contains("after: $cursor")) {
+            respond(exchange, 200, "{\"data\":{\"repository\":{\"pullRequest\":{\"commits\":{\"totalCount\":2,"
+                    + "\"pageInfo\":{\"hasNextPage\":false,\"endCursor\":\"c2\"},"
+                    + "\"nodes\":[{\"commit\":{\"oid\":\"sha2\",\"message\":\"Second\"}}]}}}}}");
+        } else {
+            respond(exchange, 200, "{\"data\":{\"repository\":{\"pr3\":" + pullRequest(3, "MERGED", false) + ",\"pr4\":null}},"
+                    + "\"errors\":[{\"type\":\"NOT_FOUND\",\"path\":[\"repository\",\"pr4\"]}]}");
+        }
+    }
+
+    private static String pullRequest(int number, String state, boolean moreCommits) {
+        return "{\"number\":" + number + ",\"url\":\"https://github.com/" + REPOSITORY + "/pull/" + number + "\","
+                + "\"title\":\"Title " + number + "\",\"body\":null,\"state\":\"" + state + "\","
+                + "\"merged\":" + state.equals("MERGED") + ",\"mergedAt\":" + (state.equals("MERGED") ? "\"2020-01-02T10:00:00Z\"" : "null") + ","
+                + "\"mergeable\":\"MERGEABLE\",\"mergeStateStatus\":\"CLEAN\",\"baseRefName\":\"master\","
+                + "\"labels\":{\"nodes\":[{\"name\":\"bug\",\"color\":\"ff0000\"},{\"name\":\"help wanted\",\"color\":\"00ff00\"}]},"
+                + "\"commits\":{\"totalCount\":" + (moreCommits ? 2 : 1) + ",\"pageInfo\":{\"hasNextPage\":" + moreCommits
+                + ",\"endCursor\":\"c1\"},\"nodes\":[{\"commit\":{\"oid\":\"sha1\",\"message\":\"First\"}}]},"
+                + "\"head\":{\"nodes\":[{\"commit\":{\"oid\":\"head" + number + "\",\"statusCheckRollup\":{\"state\":\"EXPECTED\"}}}]}}";
+    }
+
+    @Test
+    public void getPullRequestsByStateTest() throws Exception {
+        List<PullRequest> pullRequests = client.getPullRequestsByState(REPOSITORY, PullRequestState.OPEN, null);
+
+        assertEquals(2, pullRequests.size());
+        PullRequest pullRequest = pullRequests.get(0);
+        assertEquals("1", pullRequest.getId());
+        assertEquals(PullRequestState.OPEN, pullRequest.getState());
+        assertEquals("", pullRequest.getBody());
+        assertEquals("master", pullRequest.getCodebase().getName());
+        assertEquals(new URL("https://github.com/" + REPOSITORY + "/"), pullRequest.getRepository().getURL());
+        assertTrue(pullRequest.isMergeable());
+        assertEquals(MergeableState.CLEAN, pullRequest.getMergableState());
+        // youngest commit first, the second one was fetched by a further query
+        assertEquals(2, pullRequest.getCommits().size());
+        assertEquals("sha2", pullRequest.getCommits().get(0).getSha());
+        assertEquals("sha1", pullRequest.getCommits().get(1).getSha());
+        // served from the response, without any further query
+        assertEquals("bug", pullRequest.getLabels().get(0).getName());
+        // the URLs of the REST API, as for the labels retrieved through it
+        assertEquals(API_URL + "/repos/" + REPOSITORY + "/labels/bug", pullRequest.getLabels().get(0).getUrl());
+        assertEquals(API_URL + "/repos/" + REPOSITORY + "/labels/help%20wanted", pullRequest.getLabels().get(1).getUrl());
+        assertEquals(CommitStatus.PENDING, pullRequest.getCommitStatus());
+        assertEquals(3, queries.size());
+        assertTrue(queries.get(0).contains("\"states\":[\"OPEN\"]"));
+    }
+
+    @Test
+    public void getPullRequestsTest() throws Exception {
+        Map<Integer, URL> urls = new LinkedHashMap<>();
+        urls.put(3, new URL("https://github.com/" + REPOSITORY + "/pull/3"));
+        urls.put(4, new URL("https://github.com/" + REPOSITORY + "/pull/4"));
+
+        Map<URL, PullRequest> pullRequests = client.getPullRequests(REPOSITORY, urls, null);
+
+        assertEquals(1, pullRequests.size());
+        assertFalse(pullRequests.containsKey(urls.get(4)));
+        PullRequest pullRequest = pullRequests.get(urls.get(3));
+        assertEquals(PullRequestState.CLOSED, pullRequest.getState());
+        assertTrue(pullRequest.isMerged());
+        assertEquals(1577959200000L, pullRequest.getMergedAt().getTime());
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    public void getHeadsTest() throws Exception {
+        Map<Integer, JsonObject> heads = client.getHeads(REPOSITORY, Arrays.asList(3, 4, 5));
+
+        assertEquals(Arrays.asList(3, 5), new ArrayList<>(heads.keySet()));
+        assertEquals("head3", GitHubWrapper.jsonToHeadSha(heads.get(3)));
+        assertEquals(CommitStatus.FAILURE, GitHubWrapper.jsonToCommitStatus(heads.get(3)));
+        // the commit has no status nor check run
+        assertEquals("head5", GitHubWrapper.jsonToHeadSha(heads.get(5)));
+        assertEquals(CommitStatus.UNKNOWN, GitHubWrapper.jsonToCommitStatus(heads.get(5)));
+        assertEquals(1, queries.size());
+        assertTrue(queries.get(0).contains("pr4: pullRequest(number: 4) { head: commits(last: 1)"));
+    }
+
+    @Test
+    public void lazyCommitsTest() throws Exception {
+        GitHubGraphQLClient lazyClient = new GitHubGraphQLClient(
+                new URL(server.getURL("/graphql")), API_URL, TOKEN, new OkHttpClient(), false);
+        PullRequestHome prHome = mock(PullRequestHome.class);
+        when(prHome.getCommits(any())).thenReturn(null, Collections.singletonList(new Commit("sha3", "Third")));
+
+        Map<URL, PullRequest> pullRequests = lazyClient.getPullRequests(REPOSITORY,
+                Collections.singletonMap(3, new URL("https://github.com/" + REPOSITORY + "/pull/3")), prHome);
+
+        assertFalse(queries.get(0).contains("commits(first"));
+        PullRequest pullRequest = pullRequests.values().iterator().next();
+        verify(prHome, never()).getCommits(any());
+        assertTrue(pullRequest.getCommits().isEmpty());
+        assertEquals("sha3", pullRequest.getCommits().get(0).getSha());
+        assertEquals("sha3", pullRequest.getCommits().get(0).getSha());
+        verify(prHome, times(2)).getCommits(pullRequest);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectedRequestTest() throws Exception {
+        GitHubGraphQLClient unauthorized = new GitHubGraphQLClient(
+                new URL(server.getURL("/graphql")), API_URL, "invalid", new OkHttpClient(), true);
+        unauthorized.getPullRequestsByState(REPOSITORY, PullRequestState.OPEN, null);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import com.sun.net.httpserver.HttpExchange;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jboss.set.aphrodite.common.RequestPriority;
+import org.jboss.set.aphrodite.domain.RateLimit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.jboss.set.aphrodite.repository.services.github.StandInServer.respond;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the {@link GitHubRateLimiter} against a local stand-in for GitHub returning scripted rate limit headers, with a
+ * clock which records the waits instead of sleeping.
+ */
+public class GitHubRateLimiterTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long RESET = START / 1000 + 60;
+
+    private final Deque<Map<String, String>> script = new ConcurrentLinkedDeque<>();
+    private final List<Long> sleeps = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch failing = new CountDownLatch(1);
+    private volatile long now = START;
+    @Rule
+    public final StandInServer server = new StandInServer().handle("/", this::handle);
+    private GitHubRateLimiter limiter;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() {
+        limiter = new GitHubRateLimiter(new GitHubRateLimiter.Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return now;
+            }
+
+            @Override
+            public void sleep(long millis) {
+                sleeps.add(millis);
+                now += millis;
+            }
+        });
+        client = new OkHttpClient.Builder().addInterceptor(limiter).build();
+    }
+
+    @After
+    public void tearDown() {
+        failing.countDown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<String, String> headers = script.poll();
+        int status = 200;
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                if (header.getKey().equals("status"))
+                    status = Integer.parseInt(header.getValue());
+                else
+                    exchange.getResponseHeaders().add(header.getKey(), header.getValue());
+            }
+        }
+        respond(exchange, status, "{}");
+    }
+
+    private void respondWith(int limit, int remaining, long reset) {
+        script.add(Map.of("X-RateLimit-Limit", Integer.toString(limit),
+                "X-RateLimit-Remaining", Integer.toString(remaining),
+                "X-RateLimit-Reset", Long.toString(reset)));
+    }
+
+    private void call(String path) throws IOException {
+        Request request = new Request.Builder().url(server.getURL(path)).build();
+        try (Response response = client.newCall(request).execute()) {
+            response.body().string();
+        }
+    }
+
+    private void callInBackground(String path) throws IOException {
+        RequestPriority previous = RequestPriority.set(RequestPriority.BACKGROUND);
+        try {
+            call(path);
+        } finally {
+            RequestPriority.set(previous);
+        }
+    }
+
+    @Test
+    public void tracksBudgetsTest() throws Exception {
+        assertNull(limiter.getRateLimit(GitHubRateLimiter.CORE));
+
+        respondWith(5000, 4999, RESET);
+        call("/repos/jboss-set/aphrodite");
+        respondWith(5000, 4990, RESET);
+        call("/graphql");
+
+        RateLimit core = limiter.getRateLimit(GitHubRateLimiter.CORE);
+        assertEquals(5000, core.getLimit());
+        assertEquals(4999, core.getRemaining());
+        assertEquals(RESET * 1000, core.getReset().getTime());
+        assertEquals(4990, limiter.getRateLimit("graphql").getRemaining());
+        assertTrue(sleeps.isEmpty());
+
+        // the budget is unknown once its window is over
+        now = RESET * 1000;
+        assertNull(limiter.getRateLimit(GitHubRateLimiter.CORE));
+    }
+
+    @Test
+    public void backgroundWaitsForResetTest() throws Exception {
+        respondWith(100, 10, RESET);
+        call("/repos/jboss-set/aphrodite");
+        now = RESET * 1000 - TimeUnit.SECONDS.toMillis(20);
+        respondWith(5000, 4999, RESET + 3600);
+        callInBackground("/repos/jboss-set/aphrodite/pulls");
+
+        assertEquals(Collections.singletonList(TimeUnit.SECONDS.toMillis(20)), sleeps);
+        assertEquals(4999, limiter.getRateLimit(GitHubRateLimiter.CORE).getRemaining());
+    }
+
+    @Test
+    public void backgroundFailsFastTest() throws Exception {
+        respondWith(100, 10, RESET);
+        call("/repos/jboss-set/aphrodite");
+        try {
+            callInBackground("/repos/jboss-set/aphrodite/pulls");
+            fail("The reset is a minute away");
+        } catch (GitHubRateLimitException e) {
+            assertEquals(RESET * 1000, e.getRetryAt());
+        }
+
+        assertTrue(sleeps.isEmpty());
+        // the budget is left to the interactive requests
+        assertEquals(10, limiter.getRateLimit(GitHubRateLimiter.CORE).getRemaining());
+        respondWith(100, 9, RESET);
+        call("/repos/jboss-set/aphrodite/pulls");
+    }
+
+    @Test
+    public void unsentRequestOfPreviousWindowTest() throws Exception {
+        respondWith(100, 50, RESET);
+        call("/repos/jboss-set/aphrodite");
+
+        CountDownLatch received = new CountDownLatch(1);
+        server.handle("/failing", exchange -> {
+            received.countDown();
+            try {
+                failing.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> request = executor.submit(() -> {
+                call("/failing");
+                return null;
+            });
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+
+            // the budget is reset while the request is in flight
+            respondWith(100, 100, RESET + 3600);
+            call("/repos/jboss-set/aphrodite/pulls");
+            failing.countDown();
+            try {
+                request.get(10, TimeUnit.SECONDS);
+                fail("The connection was closed without a response");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // the failed request was taken from the previous window, so it is not given back to the new one
+        assertEquals(99, limiter.getRateLimit(GitHubRateLimiter.CORE).getRemaining());
+    }
+
+    @Test
+    public void interactiveUsesReserveTest() throws Exception {
+        respondWith(100, 10, RESET);
+        call("/repos/jboss-set/aphrodite");
+        respondWith(100, 9, RESET);
+        call("/repos/jboss-set/aphrodite/pulls/1");
+        respondWith(100, 8, RESET);
+        call("/repos/jboss-set/aphrodite/pulls/2");
+
+        // the ten remaining requests are spread across the sixty seconds left
+        assertEquals(Collections.singletonList(6000L), sleeps);
+        assertEquals(8, limiter.getRateLimit(GitHubRateLimiter.CORE).getRemaining());
+    }
+
+    @Test
+    public void backgroundPacedTest() throws Exception {
+        respondWith(100, 100, RESET);
+        call("/repos/jboss-set/aphrodite");
+        respondWith(100, 99, RESET);
+        callInBackground("/repos/jboss-set/aphrodite/pulls/1");
+        assertTrue(sleeps.isEmpty());
+
+        respondWith(100, 40, RESET);
+        callInBackground("/repos/jboss-set/aphrodite/pulls/2");
+        respondWith(100, 39, RESET);
+        callInBackground("/repos/jboss-set/aphrodite/pulls/3");
+        respondWith(100, 38, RESET);
+        callInBackground("/repos/jboss-set/aphrodite/pulls/4");
+
+        // thirty requests above the reserve for sixty seconds
+        assertEquals(Collections.singletonList(2000L), sleeps);
+    }
+
+    @Test
+    public void retryAfterTest() throws Exception {
+        script.add(Map.of("status", "403", "Retry-After", "30"));
+        call("/repos/jboss-set/aphrodite");
+        respondWith(5000, 4999, RESET);
+        call("/repos/jboss-set/aphrodite");
+
+        assertEquals(Collections.singletonList(TimeUnit.SECONDS.toMillis(30)), sleeps);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jboss.set.aphrodite.config.CacheConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Runs the {@link GitHubResponseCache} against a local stand-in for GitHub which supports conditional requests.
+ */
+public class GitHubResponseCacheTest {
+
+    private static final String ETAG = "\"4f2b\"";
+    private static final String BODY = "{\"number\":1}";
+    private static final String ENDPOINT = "/repos/{owner}/{repo}/pulls/{number}";
+
+    private final List<String> conditions = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/repos", this::handle);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+        conditions.add(String.valueOf(condition));
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        if (ETAG.equals(condition)) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String get(OkHttpClient client, String url) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            assertEquals(200, response.code());
+            return response.body().string();
+        }
+    }
+
+    private CacheStatistics getTwice(GitHubResponseCache cache) throws IOException {
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(cache).build();
+        String url = "http://localhost:" + server.getAddress().getPort() + "/repos/jboss-set/aphrodite/pulls/1";
+        assertEquals(BODY, get(client, url));
+        assertEquals(BODY, get(client, url));
+        return cache.getStatistics().get(ENDPOINT);
+    }
+
+    @Test
+    public void revalidationTest() throws Exception {
+        CacheStatistics stats = getTwice(new GitHubResponseCache(new CacheConfig()));
+
+        assertEquals(List.of("null", ETAG), conditions);
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getRevalidations());
+        assertEquals(0.5, stats.getHitRatio(), 0);
+    }
+
+    @Test
+    public void maxStaleTest() throws Exception {
+        CacheStatistics stats = getTwice(new GitHubResponseCache(new CacheConfig(null, 20, 60, 500, true)));
+
+        assertEquals(List.of("null"), conditions);
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getMemoryHits());
+    }
+
+    @Test
+    public void withoutRevalidationTest() throws Exception {
+        CacheStatistics stats = getTwice(new GitHubResponseCache(new CacheConfig(null, 20, 0, 500, false)));
+
+        assertEquals(List.of("null", "null"), conditions);
+        assertEquals(2, stats.getMisses());
+        assertEquals(0, stats.getHitRatio(), 0);
+    }
+
+    @Test
+    public void endpointTest() {
+        assertEquals(ENDPOINT, GitHubResponseCache.getEndpoint(
+                HttpUrl.get("https://api.github.com/repos/jboss-set/aphrodite/pulls/12")));
+        assertEquals("/api/v3/repos/{owner}/{repo}/commits/{sha}/status", GitHubResponseCache.getEndpoint(
+                HttpUrl.get("https://github.example.com/api/v3/repos/jboss-set/aphrodite/commits/"
+                        + "0123456789abcdef0123456789abcdef01234567/status")));
+        assertEquals("/user", GitHubResponseCache.getEndpoint(HttpUrl.get("https://api.github.com/user")));
+        assertNull(new GitHubResponseCache(new CacheConfig()).getStatistics().get("/user"));
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import com.sun.net.httpserver.HttpExchange;
+import okhttp3.OkHttpClient;
+import org.jboss.set.aphrodite.domain.CommitStatus;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.jboss.set.aphrodite.repository.services.github.StandInServer.readAll;
+import static org.jboss.set.aphrodite.repository.services.github.StandInServer.respond;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the {@link GitHubRestClient} against a local stand-in for the REST API of GitHub.
+ */
+public class GitHubRestClientTest {
+
+    private static final String TOKEN = "token";
+    private static final String LABELS = "[{\"name\":\"bug\",\"color\":\"ff0000\"},{\"name\":\"hold\",\"color\":\"00ff00\"}]";
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    @Rule
+    public final StandInServer server = new StandInServer().handle("/api/v3/repos", this::handle);
+    private GitHubRestClient client;
+
+    @Before
+    public void setUp() {
+        client = new GitHubRestClient(server.getURL("/api/v3"), TOKEN, new OkHttpClient());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String request = exchange.getRequestMethod() + " " + exchange.getRequestURI().getRawPath() + " "
+                + new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8);
+        requests.add(request.trim());
+        if (!("token " + TOKEN).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            respond(exchange, 401, "{\"message\":\"Bad credentials\"}");
+        } else if (exchange.getRequestURI().getRawPath().startsWith("/api/v3/repos/jboss-set/missing/")) {
+            respond(exchange, 404, "{\"message\":\"Not Found\"}");
+        } else if (exchange.getRequestURI().getRawPath().endsWith("/outsider/permission")) {
+            respond(exchange, 403, "{\"message\":\"Must have push access to view collaborator permission.\"}");
+        } else if (exchange.getRequestURI().getRawPath().endsWith("/permission")) {
+            respond(exchange, 200, "{\"permission\":\"write\",\"role_name\":\"maintain\"}");
+        } else if (exchange.getRequestURI().getRawPath().endsWith("/commits")) {
+            respond(exchange, 200, getCommits(exchange.getRequestURI().getRawQuery()));
+        } else if (exchange.getRequestURI().getRawPath().endsWith("/check-runs")) {
+            respond(exchange, 200, "{\"total_count\":2,\"check_runs\":[{\"status\":\"completed\",\"conclusion\":\"neutral\"},"
+                    + "{\"status\":\"in_progress\",\"conclusion\":null}]}");
+        } else if (exchange.getRequestURI().getRawPath().endsWith("/status")) {
+            respond(exchange, 200, "{\"state\":\"failure\",\"total_count\":2,\"statuses\":[]}");
+        } else if (exchange.getRequestURI().getRawPath().endsWith("/labels/missing")) {
+            respond(exchange, 404, "{\"message\":\"Label does not exist\"}");
+        } else {
+            respond(exchange, 200, LABELS);
+        }
+    }
+
+    // 150 commits, served by pages of per_page commits
+    private static String getCommits(String query) {
+        int perPage = 30;
+        int page = 1;
+        for (String parameter : query.split("&")) {
+            String[] pair = parameter.split("=");
+            if (pair[0].equals("per_page"))
+                perPage = Integer.parseInt(pair[1]);
+            else if (pair[0].equals("page"))
+                page = Integer.parseInt(pair[1]);
+        }
+        StringBuilder commits = new StringBuilder("[");
+        for (int i = (page - 1) * perPage; i < Math.min(page * perPage, 150); i++) {
+            if (commits.length() > 1)
+                commits.append(',');
+            commits.append("{\"sha\":\"sha").append(i).append("\",\"commit\":{\"message\":\"commit ").append(i).append("\"}}");
+        }
+        return commits.append(']').toString();
+    }
+
+    @Test
+    public void addLabelsTest() throws Exception {
+        JsonArray labels = client.addLabels("jboss-set/aphrodite", 12, Collections.singletonList("hold"));
+
+        assertEquals(2, labels.size());
+        assertEquals(Collections.singletonList("POST /api/v3/repos/jboss-set/aphrodite/issues/12/labels {\"labels\":[\"hold\"]}"),
+                requests);
+    }
+
+    @Test
+    public void setLabelsTest() throws Exception {
+        client.setLabels("jboss-set/aphrodite", 12, Arrays.asList("bug", "hold"));
+
+        assertEquals(Collections.singletonList("PUT /api/v3/repos/jboss-set/aphrodite/issues/12/labels {\"labels\":[\"bug\",\"hold\"]}"),
+                requests);
+    }
+
+    @Test
+    public void removeLabelTest() throws Exception {
+        assertTrue(client.removeLabel("jboss-set/aphrodite", 12, "needs review"));
+        assertFalse(client.removeLabel("jboss-set/aphrodite", 12, "missing"));
+
+        assertEquals("DELETE /api/v3/repos/jboss-set/aphrodite/issues/12/labels/needs%20review", requests.get(0));
+    }
+
+    @Test
+    public void getCombinedStatusTest() throws Exception {
+        JsonObject status = client.getCombinedStatus("jboss-set/aphrodite", "4f2b");
+
+        assertEquals("failure", status.getString("state"));
+        assertEquals(Collections.singletonList("GET /api/v3/repos/jboss-set/aphrodite/commits/4f2b/status"), requests);
+    }
+
+    @Test
+    public void listCheckRunsTest() throws Exception {
+        List<JsonObject> checkRuns = client.listCheckRuns("jboss-set/aphrodite", "4f2b");
+
+        assertEquals(2, checkRuns.size());
+        assertEquals(Collections.singletonList("GET /api/v3/repos/jboss-set/aphrodite/commits/4f2b/check-runs"), requests);
+        // as the status rollup of the GraphQL API, a failed status wins over a running check
+        assertEquals(CommitStatus.FAILURE, GitHubWrapper.restToCommitStatus(
+                client.getCombinedStatus("jboss-set/aphrodite", "4f2b"), checkRuns));
+    }
+
+    @Test
+    public void restToCommitStatusTest() throws Exception {
+        JsonObject noStatus = Json.createObjectBuilder().add("state", "pending").add("total_count", 0).build();
+        JsonObject success = Json.createObjectBuilder().add("state", "success").add("total_count", 1).build();
+        JsonObject running = Json.createObjectBuilder().add("status", "in_progress").addNull("conclusion").build();
+        JsonObject skipped = Json.createObjectBuilder().add("status", "completed").add("conclusion", "skipped").build();
+        JsonObject timedOut = Json.createObjectBuilder().add("status", "completed").add("conclusion", "timed_out").build();
+
+        assertEquals(CommitStatus.UNKNOWN, GitHubWrapper.restToCommitStatus(noStatus, Collections.emptyList()));
+        assertEquals(CommitStatus.SUCCESS, GitHubWrapper.restToCommitStatus(noStatus, Collections.singletonList(skipped)));
+        assertEquals(CommitStatus.PENDING, GitHubWrapper.restToCommitStatus(success, Arrays.asList(skipped, running)));
+        assertEquals(CommitStatus.FAILURE, GitHubWrapper.restToCommitStatus(success, Arrays.asList(running, timedOut)));
+    }
+
+    @Test
+    public void listPullRequestCommitsTest() throws Exception {
+        List<JsonObject> commits = client.listPullRequestCommits("jboss-set/aphrodite", 12);
+
+        assertEquals(150, commits.size());
+        assertEquals("sha0", commits.get(0).getString("sha"));
+        assertEquals("commit 149", commits.get(149).getJsonObject("commit").getString("message"));
+        assertEquals(Arrays.asList("GET /api/v3/repos/jboss-set/aphrodite/pulls/12/commits",
+                "GET /api/v3/repos/jboss-set/aphrodite/pulls/12/commits"), requests);
+        assertEquals("sha149", GitHubWrapper.restToCommits(commits).get(0).getSha());
+    }
+
+    @Test
+    public void getCollaboratorPermissionTest() throws Exception {
+        JsonObject permission = client.getCollaboratorPermission("jboss-set/aphrodite", "member");
+
+        assertEquals("maintain", permission.getString("role_name"));
+        assertNull(client.getCollaboratorPermission("jboss-set/aphrodite", "outsider"));
+        assertEquals("GET /api/v3/repos/jboss-set/aphrodite/collaborators/member/permission", requests.get(0));
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void permissionOfMissingRepositoryTest() throws Exception {
+        // not cacheable, unlike the permission the authenticated user is not allowed to see
+        client.getCollaboratorPermission("jboss-set/missing", "member");
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectedRequestTest() throws Exception {
+        new GitHubRestClient(server.getURL("/api/v3"), "invalid", new OkHttpClient())
+                .addLabels("jboss-set/aphrodite", 12, Collections.singletonList("hold"));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.set.aphrodite.repository.services.github;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.rules.ExternalResource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A local stand-in for the APIs of GitHub, started before each test and stopped after it. The requests are
+ * dispatched by path to the handlers given to {@link #handle(String, HttpHandler)}, and served concurrently.
+ */
+class StandInServer extends ExternalResource {
+
+    private final Map<String, HttpHandler> handlers = new LinkedHashMap<>();
+    private ExecutorService executor;
+    private HttpServer server;
+
+    /**
+     * The handler is registered right away if the server is already started.
+     */
+    synchronized StandInServer handle(String path, HttpHandler handler) {
+        if (server != null)
+            server.createContext(path, handler);
+        else
+            handlers.put(path, handler);
+        return this;
+    }
+
+    @Override
+    protected synchronized void before() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        handlers.forEach(server::createContext);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @Override
+    protected synchronized void after() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    String getURL(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer))
+            out.write(buffer, 0, read);
+        return out.toByteArray();
+    }
+}
@@ -73,6 +73,23 @@ public class GitLabPullRequestHomeService implements PullRequestHome {
         prPattern = Pattern.compile(patternString, Pattern.CASE_INSENSITIVE);
     }
 
+    // commits
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Commit> getCommits(PullRequest pullRequest) {
+        String repoId = GitLabUtils.getProjectIdFromURL(pullRequest.getRepository().getURL());
+        int mergeId = Integer.parseInt(pullRequest.getId());
+        try {
+            return GitLabUtils.toCommits(gitLabApi.getMergeRequestApi().getCommits(repoId, mergeId));
+        } catch (GitLabApiException e) {
+            Utils.logException(LOG, "Unable to retrieve the commits of merge request " + pullRequest.getURL(), e);
+            return null;
+        }
+    }
+
     // comments
 
     /**
@@ -160,7 +160,7 @@ public class GitLabRepositoryService extends AbstractRepositoryService implement
                 int mergeId = Integer.parseInt(res[1]);
                 Repository repo = getRepository(repoId);
                 MergeRequest merge = gitLabApi.getMergeRequestApi().getMergeRequest(repoId, mergeId);
-                List<Commit> commits = gitLabApi.getMergeRequestApi().getCommits(repoId, mergeId);
+                List<Commit> commits = config.isEagerLoading() ? gitLabApi.getMergeRequestApi().getCommits(repoId, mergeId) : null;
                 return GitLabUtils.toPullRequest(merge, commits, url, repo, prHome);
             } catch (GitLabApiException e) {
                 throw new NotFoundException(e);
@@ -183,7 +183,7 @@ public class GitLabRepositoryService extends AbstractRepositoryService implement
             List<MergeRequest> merges = gitLabApi.getMergeRequestApi().getMergeRequests(filter);
             List<PullRequest> prs = new ArrayList<>(merges.size());
             for (MergeRequest merge : merges) {
-                List<Commit> commits = gitLabApi.getMergeRequestApi().getCommits(repoId, merge.getIid());
+                List<Commit> commits = config.isEagerLoading() ? gitLabApi.getMergeRequestApi().getCommits(repoId, merge.getIid()) : null;
                 prs.add(GitLabUtils.toPullRequest(merge, commits, new URL(repository.getURL() + "/merge_requests/" + merge.getIid()), repository, prHome));
             }
             return prs;
@@ -185,7 +185,7 @@ public class GitLabUtils {
      * Converts a gitlab merge object into an aphrodite pull request.
      *
      * @param m The gilab merge object
-     * @param commits The commits of the merge request
+     * @param commits The commits of the merge request, or null to retrieve them from prHome on first access
      * @param url The URL for the merge
      * @param repo The repository of the merge
      * @param prHome The pull request home to use in the or
@@ -203,10 +203,20 @@ public class GitLabUtils {
                 m.getMergedAt() != null, // merged
                 MergeableState.UNKNOWN, //merge state
                 m.getMergedAt(),
-                commits.stream().map(commit -> new org.jboss.set.aphrodite.domain.Commit(commit.getId(), commit.getMessage())).collect(Collectors.toList()),
+                commits == null ? null : toCommits(commits),
                 prHome);
     }
 
+    /**
+     * Converts the gitlab commits of a merge request into aphrodite ones.
+     *
+     * @param commits The gitlab commits
+     * @return The aphrodite commits
+     */
+    public static List<org.jboss.set.aphrodite.domain.Commit> toCommits(List<Commit> commits) {
+        return commits.stream().map(commit -> new org.jboss.set.aphrodite.domain.Commit(commit.getId(), commit.getMessage())).collect(Collectors.toList());
+    }
+
     /**
      * Converts a gitlab label into an aphrodite one.
      *
@@ -65,6 +65,14 @@ public class CandidateRelease {
         releaseCandidateVersion = version;
     }
 
+    /**
+     * @param issues the issues of the version, retrieved beforehand.
+     */
+    public CandidateRelease(String project, Version version, List<Issue> issues) {
+        this(project, version);
+        this.issues = issues;
+    }
+
     public static String extractVersion(String name) throws NotFoundException {
         Matcher matcher = VERSION_PART.matcher(name);
 
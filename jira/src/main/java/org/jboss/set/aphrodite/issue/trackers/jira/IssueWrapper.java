@@ -22,6 +22,7 @@
 
 package org.jboss.set.aphrodite.issue.trackers.jira;
 
+import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.ALL_FIELDS;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.BROWSE_ISSUE_PATH;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.DEV_ACK;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.FLAG_MAP;
@@ -47,7 +48,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.Map;
 import java.util.function.BiConsumer;
-import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -75,7 +76,6 @@ import com.atlassian.jira.rest.client.api.domain.BasicProject;
 import com.atlassian.jira.rest.client.api.domain.IssueField;
 import com.atlassian.jira.rest.client.api.domain.IssueFieldId;
 import com.atlassian.jira.rest.client.api.domain.IssueLinkType.Direction;
-import com.atlassian.jira.rest.client.api.domain.Project;
 import com.atlassian.jira.rest.client.api.domain.TimeTracking;
 import com.atlassian.jira.rest.client.api.domain.Version;
 import com.atlassian.jira.rest.client.api.domain.input.ComplexIssueInputFieldValue;
@@ -91,8 +91,14 @@ class IssueWrapper {
     private static final Log LOG = LogFactory.getLog(JiraIssueTracker.class);
 
     Issue jiraSearchIssueToIssue(URL baseURL, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue) {
+        return jiraSearchIssueToIssue(baseURL, jiraIssue, Collections.singleton(ALL_FIELDS));
+    }
+
+    Issue jiraSearchIssueToIssue(URL baseURL, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue, Set<String> fields) {
         URL url = trackerIdToBrowsableUrl(baseURL, jiraIssue.getKey());
-        return jiraIssueToIssue(url, jiraIssue);
+        JiraIssue issue = new JiraIssue(url);
+        copy(url, jiraIssue, issue, fields);
+        return issue;
     }
 
     private void setCreationTime(Issue issue, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue) {
@@ -110,12 +116,26 @@ class IssueWrapper {
     }
 
     void copy(final URL url, final com.atlassian.jira.rest.client.api.domain.Issue jiraIssue, final JiraIssue issue) {
+        copy(url, jiraIssue, issue, Collections.singleton(ALL_FIELDS));
+    }
+
+    /**
+     * Copy the given fields of the JIRA issue into the aphrodite issue. Fields which were not requested are not present
+     * in the JIRA issue, so their converters are skipped and the corresponding issue properties keep their defaults.
+     * The fields in {@link JiraFields#REQUIRED_SEARCH_FIELDS} are always copied.
+     */
+    void copy(final URL url, final com.atlassian.jira.rest.client.api.domain.Issue jiraIssue, final JiraIssue issue,
+              final Set<String> fields) {
+        final Predicate<String> requested = field -> fields.contains(ALL_FIELDS) || fields.contains(field);
+
         issue.setTrackerId(jiraIssue.getKey());
         issue.setSummary(jiraIssue.getSummary());
-        issue.setDescription(jiraIssue.getDescription());
+        if (requested.test(IssueFieldId.DESCRIPTION_FIELD.id))
+            issue.setDescription(jiraIssue.getDescription());
         String status = jiraIssue.getStatus().getName();
         issue.setStatus(getAphroditeStatus(status), status);
-        issue.setPriority(getAphroditePriority(jiraIssue.getPriority().getName()));
+        if (requested.test(IssueFieldId.PRIORITY_FIELD.id) && jiraIssue.getPriority() != null)
+            issue.setPriority(getAphroditePriority(jiraIssue.getPriority().getName()));
 
         TimeTracking timeTracking = jiraIssue.getTimeTracking();
         if(timeTracking != null) {
@@ -124,31 +144,47 @@ class IssueWrapper {
             issue.setEstimation(new IssueEstimation(estimate / 60d, spent / 60d));
         }
 
-        setIssueStream(issue, jiraIssue);
+        if (requested.test(JSON_CUSTOM_FIELD + TARGET_RELEASE))
+            setIssueStream(issue, jiraIssue);
         setIssueProject(issue, jiraIssue);
-        setIssueComponent(issue, jiraIssue);
+        if (requested.test(IssueFieldId.COMPONENTS_FIELD.id))
+            setIssueComponent(issue, jiraIssue);
 
-        setIssueUser((i, u) -> i.setAssignee(new User(u.getEmailAddress(), u.getName())), issue, jiraIssue.getAssignee());
-        setIssueUser((i, u) -> i.setReporter(new User(u.getEmailAddress(), u.getName())), issue, jiraIssue.getReporter());
+        if (requested.test(IssueFieldId.ASSIGNEE_FIELD.id))
+            setIssueUser((i, u) -> i.setAssignee(new User(u.getEmailAddress(), u.getName())), issue, jiraIssue.getAssignee());
+        if (requested.test(IssueFieldId.REPORTER_FIELD.id))
+            setIssueUser((i, u) -> i.setReporter(new User(u.getEmailAddress(), u.getName())), issue, jiraIssue.getReporter());
 
-        setIssueStage(issue, jiraIssue);
+        setIssueStage(issue, jiraIssue, requested);
         String type = jiraIssue.getIssueType().getName();
         issue.setType(getAphroditeType(type), type);
-        setIssueAffectedVersions(issue, jiraIssue);
-        setIssueReleases(issue, jiraIssue);
-        setIssueDependencies(url, issue, jiraIssue.getIssueLinks());
-        setIssueComments(issue, jiraIssue);
+        if (requested.test(IssueFieldId.AFFECTS_VERSIONS_FIELD.id))
+            setIssueAffectedVersions(issue, jiraIssue);
+        if (requested.test(IssueFieldId.FIX_VERSIONS_FIELD.id))
+            setIssueReleases(issue, jiraIssue);
+        if (requested.test(IssueFieldId.LINKS_FIELD.id))
+            setIssueDependencies(url, issue, jiraIssue.getIssueLinks());
+        if (requested.test(IssueFieldId.COMMENT_FIELD.id))
+            setIssueComments(issue, jiraIssue);
         setCreationTime(issue, jiraIssue);
         setLastUpdated(issue, jiraIssue);
         // Set JIRA specific fields
         setPullRequests(issue, jiraIssue);
         setIssueSprintRelease(issue, jiraIssue);
-        setLabels(issue, jiraIssue);
+        if (requested.test(IssueFieldId.LABELS_FIELD.id))
+            setLabels(issue, jiraIssue);
         setChangelog(issue, jiraIssue);
-        setResolution(issue, jiraIssue);
-        setSecuritySensitive(jiraIssue, issue);
-        setSecurityLevel(jiraIssue, issue);
-        setInvolved(jiraIssue, issue);
+        if (requested.test(IssueFieldId.RESOLUTION_FIELD.id))
+            setResolution(issue, jiraIssue);
+        if (requested.test(JSON_CUSTOM_FIELD + SECURITY_SENSITIVE))
+            setSecuritySensitive(jiraIssue, issue);
+        if (requested.test(SECURITY_LEVEL))
+            setSecurityLevel(jiraIssue, issue);
+        if (requested.test(JSON_CUSTOM_FIELD + INVOLVED_FIELD))
+            setInvolved(jiraIssue, issue);
+        // without the stream field the snapshot could not tell whether the project uses it
+        if (requested.test(JSON_CUSTOM_FIELD + TARGET_RELEASE))
+            issue.setSnapshot(JiraIssueSnapshot.of(jiraIssue));
     }
 
     private void setInvolved(com.atlassian.jira.rest.client.api.domain.Issue jiraIssue, JiraIssue issue) {
@@ -205,9 +241,13 @@ class IssueWrapper {
     }
 
     private List<JiraChangelogGroup> createJiraChangelogGroups(com.atlassian.jira.rest.client.api.domain.Issue jiraIssue) {
+        return jiraChangelogToChangelog(jiraIssue.getChangelog());
+    }
+
+    List<JiraChangelogGroup> jiraChangelogToChangelog(Iterable<ChangelogGroup> changelogGroups) {
         List<JiraChangelogGroup> changelog = new ArrayList<>();
-        if (jiraIssue.getChangelog() != null) {
-            jiraIssue.getChangelog().forEach(changelogGroup -> changelog.add(createJiraChangelogGroup(changelogGroup)));
+        if (changelogGroups != null) {
+            changelogGroups.forEach(changelogGroup -> changelog.add(createJiraChangelogGroup(changelogGroup)));
         }
         return changelog;
     }
@@ -251,9 +291,9 @@ class IssueWrapper {
     }
 
     // TODO find a solution for updating time estimates, see https://github.com/jboss-set/aphrodite/issues/23
-    IssueInput issueToFluentUpdate(Issue issue, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue, Project project) throws NotFoundException, AphroditeException {
+    IssueInput issueToFluentUpdate(Issue issue, JiraIssueSnapshot jiraIssue, JiraProjectMetadata project) throws NotFoundException, AphroditeException {
         checkUnsupportedUpdateFields(issue);
-        IssueInputBuilder inputBuilder = new IssueInputBuilder(jiraIssue.getProject().getKey(), jiraIssue.getIssueType().getId());
+        IssueInputBuilder inputBuilder = new IssueInputBuilder(jiraIssue.getProjectKey(), jiraIssue.getIssueTypeId());
 
 
         issue.getSummary().ifPresent(inputBuilder::setSummary);
@@ -271,8 +311,7 @@ class IssueWrapper {
             .stream().filter(entry -> entry.getValue() != FlagStatus.NO_SET)
             .forEach(entry -> inputBuilder.setFieldInput(new FieldInput(JSON_CUSTOM_FIELD + FLAG_MAP.get(entry.getKey()), entry.getValue().getSymbol())));
 
-        Map<String, Version> versionsMap = StreamSupport.stream(project.getVersions().spliterator(), false)
-                .collect(Collectors.toMap(Version::getName, Function.identity()));
+        Map<String, Version> versionsMap = project.getVersionsByName();
         updateFixVersions(issue, versionsMap, inputBuilder);
         updateStreamStatus(issue, jiraIssue, versionsMap, inputBuilder);
 
@@ -303,13 +342,12 @@ class IssueWrapper {
         return inputBuilder.build();
     }
 
-    private void updateStreamStatus(Issue issue, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue,
+    private void updateStreamStatus(Issue issue, JiraIssueSnapshot jiraIssue,
                                     Map<String, Version> versionsMap, IssueInputBuilder inputBuilder) throws NotFoundException {
         String customField = JSON_CUSTOM_FIELD + TARGET_RELEASE;
-        IssueField issueField = jiraIssue.getField(customField);
-        if (issueField == null) {
+        if (!jiraIssue.hasStreamField()) {
             String msg = String.format("Unable to set a stream status for issue %1$s as %2$s projects do not utilise field: %3$s",
-                    jiraIssue.getKey(), jiraIssue.getProject().getName(), customField);
+                    jiraIssue.getKey(), jiraIssue.getProjectName(), customField);
             Utils.logWarnMessage(LOG, msg);
             return;
         }
@@ -371,15 +409,19 @@ class IssueWrapper {
             function.accept(issue, user);
     }
 
-    private void setIssueStage(Issue issue, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue) {
+    private void setIssueStage(Issue issue, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue,
+                               Predicate<String> requested) {
         Stage stage = new Stage();
-        setFlag(jiraIssue, stage, Flag.PM, JSON_CUSTOM_FIELD + PM_ACK);
-        setFlag(jiraIssue, stage, Flag.DEV, JSON_CUSTOM_FIELD + DEV_ACK);
-        setFlag(jiraIssue, stage, Flag.QE, JSON_CUSTOM_FIELD + QE_ACK);
+        setFlag(jiraIssue, stage, Flag.PM, JSON_CUSTOM_FIELD + PM_ACK, requested);
+        setFlag(jiraIssue, stage, Flag.DEV, JSON_CUSTOM_FIELD + DEV_ACK, requested);
+        setFlag(jiraIssue, stage, Flag.QE, JSON_CUSTOM_FIELD + QE_ACK, requested);
         issue.setStage(stage);
     }
 
-    private void setFlag(com.atlassian.jira.rest.client.api.domain.Issue jiraIssue, Stage stage, Flag flag, String fieldname) {
+    private void setFlag(com.atlassian.jira.rest.client.api.domain.Issue jiraIssue, Stage stage, Flag flag, String fieldname,
+                         Predicate<String> requested) {
+        if (!requested.test(fieldname))
+            return;
         if (jiraIssue.getField(fieldname) != null && jiraIssue.getField(fieldname).getValue() != null)
             stage.setStatus(flag, FlagStatus.getMatchingFlag((String) jiraIssue.getField(fieldname).getValue()));
         else {
@@ -468,10 +510,13 @@ class IssueWrapper {
     }
 
     private void setIssueComments(Issue issue, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue) {
+        issue.getComments().addAll(jiraCommentsToComments(issue.getTrackerId().get(), jiraIssue.getComments()));
+    }
+
+    List<Comment> jiraCommentsToComments(String trackerId, Iterable<com.atlassian.jira.rest.client.api.domain.Comment> jiraComments) {
         List<Comment> comments = new ArrayList<>();
-        jiraIssue.getComments()
-                .forEach(c -> comments.add(new Comment(issue.getTrackerId().get(), Long.toString(c.getId()), c.getBody(), false)));
-        issue.getComments().addAll(comments);
+        jiraComments.forEach(c -> comments.add(new Comment(trackerId, Long.toString(c.getId()), c.getBody(), false)));
+        return comments;
     }
 
     private void setPullRequests(JiraIssue issue, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue) {
@@ -22,6 +22,10 @@
 
 package org.jboss.set.aphrodite.issue.trackers.jira;
 
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.jboss.set.aphrodite.domain.Flag;
@@ -33,6 +37,7 @@ import org.jboss.set.aphrodite.spi.AphroditeException;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableSet;
 
 /**
  * @author Ryan Emerson
@@ -43,6 +48,8 @@ class JiraFields {
     static final String API_ISSUE_PATH = API_BASE_PATH + "issue/";
     static final String BROWSE_ISSUE_PATH = "/browse/";
     static final Pattern PROJECTS_ISSUE_PATTERN = Pattern.compile("\\/projects\\/[^\\/]+\\/issues\\/");
+    // Error messages returned by JIRA when a JQL query references an issue key that does not exist
+    static final Pattern UNKNOWN_ISSUE_KEY_PATTERN = Pattern.compile("(?:An issue with key|The issue key) '([^']+)'");
 
     static final String DATE_STRING_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSSZZZZ";
     static final String JSON_CUSTOM_FIELD = "customfield_";
@@ -58,6 +65,12 @@ class JiraFields {
 
     static final String SECURITY_LEVEL = "security";
 
+    static final String ALL_FIELDS = "*all";
+
+    // The JRJC search result parser fails if any of these fields is missing from a search response
+    static final Set<String> REQUIRED_SEARCH_FIELDS = ImmutableSet.of("summary", "issuetype", "created", "updated",
+            "project", "status");
+
     static final BiMap<String, String> CUSTOM_FIELD_MAP = new ImmutableBiMap.Builder<String, String>()
             .put(Flag.DEV.toString(), getJQLField(DEV_ACK))
             .put(Flag.PM.toString(), getJQLField(PM_ACK))
@@ -97,6 +110,20 @@ class JiraFields {
             .put(Flag.QE, QE_ACK)
             .build();
 
+    static Set<String> getUnknownIssueKeys(String errorMessage) {
+        Set<String> keys = new LinkedHashSet<>();
+        Matcher m = UNKNOWN_ISSUE_KEY_PATTERN.matcher(errorMessage);
+        while (m.find())
+            keys.add(m.group(1));
+        return keys;
+    }
+
+    static Set<String> withRequiredSearchFields(Set<String> fields) {
+        Set<String> searchFields = new HashSet<>(fields);
+        searchFields.addAll(REQUIRED_SEARCH_FIELDS);
+        return searchFields;
+    }
+
     static String getSecurityLevelId(String name) throws AphroditeException {
         if (!SECURITY_LEVEL_MAP.containsKey(name)) {
             throw new AphroditeException("Unknown security level: " + name);
@@ -149,14 +176,13 @@ class JiraFields {
         return String.format(JQL_CUSTOM_TEMPLATE, field);
     }
 
-    static boolean hasSameIssueStatus(Issue issue, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue) {
+    static boolean hasSameIssueStatus(Issue issue, String jiraStatus) {
         IssueStatus status = issue.getStatus();
-        IssueStatus jiraStatus = getAphroditeStatus(jiraIssue.getStatus().getName());
-        return status == jiraStatus;
+        return status == getAphroditeStatus(jiraStatus);
     }
 
-    static String getJiraTransition(Issue issue, com.atlassian.jira.rest.client.api.domain.Issue jiraIssue) throws AphroditeException {
-        IssueStatus currentStatus = getAphroditeStatus(jiraIssue.getStatus().getName());
+    static String getJiraTransition(Issue issue, String jiraStatus) throws AphroditeException {
+        IssueStatus currentStatus = getAphroditeStatus(jiraStatus);
         return getJiraTransition(currentStatus, issue.getStatus());
     }
 
@@ -23,6 +23,7 @@ package org.jboss.set.aphrodite.issue.trackers.jira;
 
 import org.jboss.set.aphrodite.config.TrackerType;
 import org.jboss.set.aphrodite.container.Container;
+import org.jboss.set.aphrodite.domain.Comment;
 import org.jboss.set.aphrodite.domain.Issue;
 import org.jboss.set.aphrodite.domain.Patch;
 import org.jboss.set.aphrodite.domain.spi.PatchHome;
@@ -31,6 +32,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.naming.NameNotFoundException;
@@ -52,6 +54,12 @@ public class JiraIssue extends Issue {
 
     private List<JiraChangelogGroup> changelog = new ArrayList<>();
 
+    // Set when the changelog and comments are fetched on first access, cleared once they are
+    private Supplier<List<JiraChangelogGroup>> changelogLoader;
+    private Supplier<List<Comment>> commentsLoader;
+
+    private JiraIssueSnapshot snapshot;
+
     //Links to issues cloned from/to
     private List<URL> linkedCloneIssues = new ArrayList<>();
 
@@ -103,14 +111,42 @@ public class JiraIssue extends Issue {
         this.labels = labels;
     }
 
-    public List<JiraChangelogGroup> getChangelog() {
+    public synchronized List<JiraChangelogGroup> getChangelog() {
+        if (changelogLoader != null) {
+            changelog = changelogLoader.get();
+            changelogLoader = null;
+        }
         return changelog;
     }
 
-    public void setChangelog(List<JiraChangelogGroup> changelog) {
+    public synchronized void setChangelog(List<JiraChangelogGroup> changelog) {
+        this.changelogLoader = null;
         this.changelog = changelog;
     }
 
+    synchronized void setChangelogLoader(Supplier<List<JiraChangelogGroup>> changelogLoader) {
+        this.changelogLoader = changelogLoader;
+    }
+
+    @Override
+    public synchronized List<Comment> getComments() {
+        if (commentsLoader != null) {
+            super.setComments(commentsLoader.get());
+            commentsLoader = null;
+        }
+        return super.getComments();
+    }
+
+    @Override
+    public synchronized void setComments(List<Comment> comments) {
+        super.setComments(comments);
+        this.commentsLoader = null;
+    }
+
+    synchronized void setCommentsLoader(Supplier<List<Comment>> commentsLoader) {
+        this.commentsLoader = commentsLoader;
+    }
+
     public void setLinkedCloneIssues(List<URL> linkedCloneIssues) {
         this.linkedCloneIssues = linkedCloneIssues;
     }
@@ -143,6 +179,14 @@ public class JiraIssue extends Issue {
         this.securitySensitiveIssue = securitySensitiveIssue;
     }
 
+    JiraIssueSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    void setSnapshot(JiraIssueSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
     @Override
     public Stream<Patch> getPatches() throws NameNotFoundException {
         return Container.instance().lookup(JiraPatchHomeImpl.class.getSimpleName(), (PatchHome.class)).findPatchesByIssue(this);
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.jira;
+
+import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.JSON_CUSTOM_FIELD;
+import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.TARGET_RELEASE;
+
+import java.net.URI;
+import java.util.Locale;
+
+import javax.ws.rs.core.UriBuilder;
+
+/**
+ * The state of an issue on the JIRA server which is needed to update it, as it was when the issue was retrieved.
+ * It allows an update to skip fetching the issue again, at the risk of being out of date.
+ */
+class JiraIssueSnapshot {
+
+    private final URI self;
+    private final String key;
+    private final String projectKey;
+    private final String projectName;
+    private final Long issueTypeId;
+    private final String status;
+    private final boolean hasStreamField;
+
+    private JiraIssueSnapshot(URI self, String key, String projectKey, String projectName, Long issueTypeId,
+                              String status, boolean hasStreamField) {
+        this.self = self;
+        this.key = key;
+        this.projectKey = projectKey;
+        this.projectName = projectName;
+        this.issueTypeId = issueTypeId;
+        this.status = status;
+        this.hasStreamField = hasStreamField;
+    }
+
+    static JiraIssueSnapshot of(com.atlassian.jira.rest.client.api.domain.Issue jiraIssue) {
+        return new JiraIssueSnapshot(jiraIssue.getSelf(), jiraIssue.getKey(), jiraIssue.getProject().getKey(),
+                jiraIssue.getProject().getName(), jiraIssue.getIssueType().getId(), jiraIssue.getStatus().getName(),
+                jiraIssue.getField(JSON_CUSTOM_FIELD + TARGET_RELEASE) != null);
+    }
+
+    JiraIssueSnapshot withStatus(String status) {
+        return new JiraIssueSnapshot(self, key, projectKey, projectName, issueTypeId, status, hasStreamField);
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getProjectKey() {
+        return projectKey;
+    }
+
+    String getProjectName() {
+        return projectName;
+    }
+
+    Long getIssueTypeId() {
+        return issueTypeId;
+    }
+
+    String getStatus() {
+        return status;
+    }
+
+    boolean hasStreamField() {
+        return hasStreamField;
+    }
+
+    // Same as the JIRA client, so that the available transitions come with the fields of their screen
+    URI getTransitionsUri() {
+        return UriBuilder.fromUri(self).path("transitions").queryParam("expand", "transitions.fields").build();
+    }
+
+    // The available transitions only depend on the workflow of the project and issue type, and on the current status,
+    // whose case differs between the server and the names of JiraFields#getJiraStatus
+    String getTransitionsKey() {
+        return projectKey + '/' + issueTypeId + '/' + status.toLowerCase(Locale.ROOT);
+    }
+}
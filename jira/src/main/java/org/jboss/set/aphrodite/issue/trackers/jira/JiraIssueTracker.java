@@ -22,11 +22,13 @@
 
 package org.jboss.set.aphrodite.issue.trackers.jira;
 
+import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.ALL_FIELDS;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.API_ISSUE_PATH;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.BROWSE_ISSUE_PATH;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.FLAG_MAP;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.JSON_CUSTOM_FIELD;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.PROJECTS_ISSUE_PATTERN;
+import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.REQUIRED_SEARCH_FIELDS;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.SECURITY_SENSITIVE;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.SECURITY_SENSITIVE_VALUE_TRUE;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.TARGET_RELEASE;
@@ -37,20 +39,34 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+
+import javax.ws.rs.core.UriBuilder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -64,26 +80,42 @@ import org.jboss.set.aphrodite.domain.Release;
 import org.jboss.set.aphrodite.domain.SearchCriteria;
 import org.jboss.set.aphrodite.issue.trackers.common.AbstractIssueTracker;
 import org.jboss.set.aphrodite.issue.trackers.common.IssueCreationDetails;
+import org.jboss.set.aphrodite.issue.trackers.common.IssueLookupResult;
+import org.jboss.set.aphrodite.issue.trackers.common.IssueUpdateResult;
 import org.jboss.set.aphrodite.issue.trackers.jira.auth.BearerHttpAuthenticationHandler;
+import org.jboss.set.aphrodite.jira.rest.client.api.domain.Page;
+import org.jboss.set.aphrodite.jira.rest.client.internal.async.AsynchronousPagedIssueRestClient;
 import org.jboss.set.aphrodite.spi.AphroditeException;
 import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.jboss.set.aphrodite.spi.UncheckedAphroditeException;
 
+import com.atlassian.jira.rest.client.api.AuthenticationHandler;
 import com.atlassian.jira.rest.client.api.IssueRestClient;
 import com.atlassian.jira.rest.client.api.JiraRestClient;
-import com.atlassian.jira.rest.client.api.JiraRestClientFactory;
+import com.atlassian.jira.rest.client.api.RestClientException;
 import com.atlassian.jira.rest.client.api.SearchRestClient;
 import com.atlassian.jira.rest.client.api.domain.BasicIssue;
 import com.atlassian.jira.rest.client.api.domain.Filter;
-import com.atlassian.jira.rest.client.api.domain.Project;
+import com.atlassian.jira.rest.client.api.domain.IssueFieldId;
 import com.atlassian.jira.rest.client.api.domain.SearchResult;
 import com.atlassian.jira.rest.client.api.domain.Transition;
 import com.atlassian.jira.rest.client.api.domain.Version;
 import com.atlassian.jira.rest.client.api.domain.input.ComplexIssueInputFieldValue;
+import com.atlassian.jira.rest.client.api.domain.input.FieldInput;
 import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
 import com.atlassian.jira.rest.client.api.domain.input.IssueInputBuilder;
 import com.atlassian.jira.rest.client.api.domain.input.LinkIssuesInput;
 import com.atlassian.jira.rest.client.api.domain.input.TransitionInput;
-import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClientFactory;
+import com.atlassian.jira.rest.client.auth.BasicHttpAuthenticationHandler;
+import com.atlassian.jira.rest.client.internal.async.AsynchronousHttpClientFactory;
+import com.atlassian.jira.rest.client.internal.async.AsynchronousJiraRestClient;
+import com.atlassian.jira.rest.client.internal.async.DisposableHttpClient;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import io.atlassian.util.concurrent.Promise;
 
@@ -99,14 +131,52 @@ public class JiraIssueTracker extends AbstractIssueTracker {
 
     private static final Log LOG = LogFactory.getLog(JiraIssueTracker.class);
 
+    // The comments and changelog are then retrieved on first access, see getIssue(URL)
+    private static final List<String> LAZY_ISSUE_FIELDS = Arrays.asList(ALL_FIELDS, "-" + IssueFieldId.COMMENT_FIELD.id);
+    // Custom fields are looked up by name, so their names must be retrieved as the JIRA client does
+    private static final List<String> LAZY_ISSUE_EXPAND = Arrays.asList("names", "schema");
+    private static final int HISTORY_PAGE_SIZE = 100;
+
+    // Versions and components rarely change, and a missing version triggers an immediate reload
+    private static final long PROJECT_METADATA_REFRESH_MINUTES = 10;
+    // An unreleased version may have been released since, which isCPReleased checks again once the metadata is older than this
+    static final long RELEASE_STATE_MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    // JQL relative dates only have a minute precision
+    static final long INCREMENTAL_SEARCH_OVERLAP_MINUTES = 2;
+    // Each incremental search keeps its whole result, so only the most recently used ones are kept
+    static final int MAX_INCREMENTAL_SEARCHES = 32;
+
     private final IssueWrapper WRAPPER = new IssueWrapper();
     private final JiraQueryBuilder queryBuilder = new JiraQueryBuilder();
     private JiraRestClient restClient ;
+    private LoadingCache<String, IncrementalSearch> incrementalSearches;
+    private final Map<String, JiraReleaseCatalog> releaseCatalogs = new ConcurrentHashMap<>();
+    private AsynchronousPagedIssueRestClient pagedIssueClient;
+    private volatile boolean changelogPagingSupported = true;
+    private LoadingCache<String, JiraProjectMetadata> projectMetadata;
+    long releaseStateMaxAgeMillis = RELEASE_STATE_MAX_AGE_MILLIS;
+    // Available transitions, see JiraIssueSnapshot#getTransitionsKey
+    private final Map<String, Iterable<Transition>> transitions = new ConcurrentHashMap<>();
 
     public JiraIssueTracker() {
         super(TrackerType.JIRA);
     }
 
+    // Used by the tests, with clients which do not connect to a server
+    JiraIssueTracker(IssueTrackerConfig config, JiraRestClient restClient) {
+        this(config, restClient, null);
+    }
+
+    JiraIssueTracker(IssueTrackerConfig config, JiraRestClient restClient, AsynchronousPagedIssueRestClient pagedIssueClient) {
+        this();
+        super.init(config);
+        this.restClient = restClient;
+        this.pagedIssueClient = pagedIssueClient;
+        this.projectMetadata = createProjectMetadataCache();
+        this.incrementalSearches = createIncrementalSearchCache();
+    }
+
     @Override
     public boolean init(IssueTrackerConfig config) {
         boolean parentInitiated = super.init(config);
@@ -114,17 +184,24 @@ public class JiraIssueTracker extends AbstractIssueTracker {
             return false;
 
         try {
-            JiraRestClientFactory factory = new AsynchronousJiraRestClientFactory();
             URI jiraServerUri = baseUrl.toURI();
             String username = config.getUsername();
             String password = config.getPassword();
+            AuthenticationHandler authenticationHandler;
             if (username == null || username.isEmpty()) {
                 // We're moving to use PAT for Jira, username is null and password is taken as PAT from configuration.
-                restClient= factory.createWithAuthenticationHandler(jiraServerUri, new BearerHttpAuthenticationHandler(password));
+                authenticationHandler = new BearerHttpAuthenticationHandler(password);
             } else {
                 // Attempt with username/password for Basic Authentication.
-                restClient = factory.createWithBasicHttpAuthentication(jiraServerUri, username, password);
+                authenticationHandler = new BasicHttpAuthenticationHandler(username, password);
             }
+            // Same as AsynchronousJiraRestClientFactory, but the http client is shared with our own REST clients
+            DisposableHttpClient httpClient = new AsynchronousHttpClientFactory().createClient(jiraServerUri, authenticationHandler);
+            restClient = new AsynchronousJiraRestClient(jiraServerUri, httpClient);
+            pagedIssueClient = new AsynchronousPagedIssueRestClient(
+                    UriBuilder.fromUri(jiraServerUri).path("/rest/api/latest").build(), httpClient);
+            projectMetadata = createProjectMetadataCache();
+            incrementalSearches = createIncrementalSearchCache();
             //work around to auth. No need to check number, its just garbage or general login failure number, not related to our
             //activity.
             restClient.getSessionClient().getCurrentSession().get().getLoginInfo().getFailedLoginCount();
@@ -135,15 +212,31 @@ public class JiraIssueTracker extends AbstractIssueTracker {
         return true;
     }
 
+    /**
+     * Unless {@link IssueTrackerConfig#isEagerLoading()} is set, the comments and changelog of the returned issue are
+     * only retrieved, page by page, when {@link JiraIssue#getComments()} and {@link JiraIssue#getChangelog()} are first
+     * called.
+     */
     @Override
     public Issue getIssue(URL url) throws NotFoundException {
         String issueKey = getIssueKey(url);
         List<IssueRestClient.Expandos> expandos = createExpandos();
         try {
             checkHost(url);
-            com.atlassian.jira.rest.client.api.domain.Issue issue = restClient.getIssueClient().getIssue(issueKey, expandos)
-                    .get();
-            return WRAPPER.jiraIssueToIssue(url, issue);
+            if (config.isEagerLoading()) {
+                com.atlassian.jira.rest.client.api.domain.Issue issue = restClient.getIssueClient().getIssue(issueKey, expandos)
+                        .get();
+                return WRAPPER.jiraIssueToIssue(url, issue);
+            }
+
+            com.atlassian.jira.rest.client.api.domain.Issue jiraIssue = pagedIssueClient
+                    .getIssue(issueKey, LAZY_ISSUE_FIELDS, LAZY_ISSUE_EXPAND).get();
+            JiraIssue issue = new JiraIssue(url);
+            WRAPPER.copy(url, jiraIssue, issue);
+            String trackerId = jiraIssue.getKey();
+            issue.setCommentsLoader(() -> getComments(trackerId));
+            issue.setChangelogLoader(() -> getChangelog(trackerId));
+            return issue;
         } catch (InterruptedException e) {
             throw new NotFoundException("Something interrupted the execution when trying to retrieve issue " + issueKey, e);
         } catch (ExecutionException e) {
@@ -152,6 +245,68 @@ public class JiraIssueTracker extends AbstractIssueTracker {
 
     }
 
+    /**
+     * @throws UncheckedAphroditeException wrapping a {@link NotFoundException} if the comments cannot be retrieved.
+     */
+    List<Comment> getComments(String trackerId) {
+        try {
+            return WRAPPER.jiraCommentsToComments(trackerId,
+                    getAllPages((startAt, maxResults) -> pagedIssueClient.getComments(trackerId, startAt, maxResults)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedAphroditeException(new NotFoundException(
+                    "Something interrupted the execution when trying to retrieve the comments of issue " + trackerId, e));
+        } catch (ExecutionException e) {
+            throw new UncheckedAphroditeException(new NotFoundException("Unable to retrieve the comments of issue " + trackerId, e));
+        }
+    }
+
+    /**
+     * @throws UncheckedAphroditeException wrapping a {@link NotFoundException} if the changelog cannot be retrieved.
+     */
+    List<JiraChangelogGroup> getChangelog(String trackerId) {
+        try {
+            if (changelogPagingSupported) {
+                try {
+                    return WRAPPER.jiraChangelogToChangelog(
+                            getAllPages((startAt, maxResults) -> pagedIssueClient.getChangelog(trackerId, startAt, maxResults)));
+                } catch (ExecutionException e) {
+                    if (!isNotFound(e))
+                        throw e;
+                }
+            }
+            com.atlassian.jira.rest.client.api.domain.Issue jiraIssue = pagedIssueClient
+                    .getIssue(trackerId, REQUIRED_SEARCH_FIELDS, Collections.singletonList("changelog")).get();
+            // the issue exists, so it is the changelog endpoint which is missing on this JIRA version
+            changelogPagingSupported = false;
+            return WRAPPER.jiraChangelogToChangelog(jiraIssue.getChangelog());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedAphroditeException(new NotFoundException(
+                    "Something interrupted the execution when trying to retrieve the changelog of issue " + trackerId, e));
+        } catch (ExecutionException e) {
+            throw new UncheckedAphroditeException(new NotFoundException("Unable to retrieve the changelog of issue " + trackerId, e));
+        }
+    }
+
+    private <T> List<T> getAllPages(BiFunction<Long, Integer, Promise<Page<T>>> pageRequest)
+            throws InterruptedException, ExecutionException {
+        List<T> values = new ArrayList<>();
+        long startAt = 0;
+        while (true) {
+            Page<T> page = pageRequest.apply(startAt, HISTORY_PAGE_SIZE).get();
+            page.getValues().forEach(values::add);
+            if (page.isLast() || values.size() == startAt)
+                return values;
+            startAt = values.size();
+        }
+    }
+
+    private static boolean isNotFound(ExecutionException e) {
+        return e.getCause() instanceof RestClientException
+                && ((RestClientException) e.getCause()).getStatusCode().filter(status -> status == 404).isPresent();
+    }
+
     public List<Issue> getIssues(String project, Version version) {
         List<Issue> issues;
         SearchCriteria sc = new SearchCriteria.Builder()
@@ -175,6 +330,49 @@ public class JiraIssueTracker extends AbstractIssueTracker {
         return issues;
     }
 
+    /**
+     * Retrieve the issues of all the given fix versions of the project, grouped by version name. The issues are
+     * searched with <code>fixVersion in (...)</code> queries, split into chunks by
+     * {@link JiraQueryBuilder#getFixVersionChunks(String, Collection)} and executed concurrently, instead of one
+     * search per version.
+     */
+    public Map<String, List<Issue>> getIssuesByFixVersion(String project, Collection<String> versions) {
+        Map<String, List<Issue>> issuesByVersion = new HashMap<>();
+        versions.forEach(version -> issuesByVersion.put(version, new ArrayList<>()));
+
+        List<List<String>> chunks = queryBuilder.getFixVersionChunks(project, versions);
+        List<List<Issue>> results = executeConcurrently(chunks,
+                chunk -> searchIssues(queryBuilder.getFixVersionsJQL(project, chunk), config.getDefaultIssueLimit()));
+        for (int i = 0; i < chunks.size(); i++) {
+            // an issue is returned by every chunk containing one of its versions, so only group it under those
+            Set<String> chunk = new HashSet<>(chunks.get(i));
+            for (Issue issue : results.get(i)) {
+                issue.getReleases().stream()
+                        .map(release -> release.getVersion().map(String::trim).orElse(null))
+                        .filter(chunk::contains)
+                        .distinct()
+                        .forEach(version -> issuesByVersion.get(version).add(issue));
+            }
+        }
+        return issuesByVersion;
+    }
+
+    /**
+     * @return the issues of the project updated during the last given number of minutes, with their fix versions.
+     */
+    List<Issue> getIssuesUpdatedSince(String project, long minutes) {
+        Set<String> fields = JiraFields.withRequiredSearchFields(Collections.singleton(IssueFieldId.FIX_VERSIONS_FIELD.id));
+        return searchIssues(queryBuilder.getProjectUpdatedSinceJQL(project, minutes), config.getDefaultIssueLimit(), fields);
+    }
+
+    /**
+     * @return the catalog of the releases of the project, shared by all the callers of this tracker.
+     */
+    public JiraReleaseCatalog getReleaseCatalog(String project) {
+        return releaseCatalogs.computeIfAbsent(project,
+                key -> new JiraReleaseCatalog(this, key, config.getFullSyncIntervalMinutes()));
+    }
+
     private List<IssueRestClient.Expandos> createExpandos() {
         List<IssueRestClient.Expandos> expandos = new ArrayList<>();
         expandos.add(IssueRestClient.Expandos.CHANGELOG);
@@ -194,81 +392,228 @@ public class JiraIssueTracker extends AbstractIssueTracker {
         }
     }
 
+    /**
+     * Same as {@link #lookupIssues(Collection)}, except that the URLs which cannot be resolved are only logged.
+     */
     @Override
     public List<Issue> getIssues(Collection<URL> urls) {
+        IssueLookupResult result = lookupIssues(urls);
+        if (!result.isComplete())
+            Utils.logWarnMessage(LOG, "Unable to retrieve issues, they do not exist or are not visible: "
+                    + result.getUnresolvedUrls());
+        return result.getIssues();
+    }
+
+    /**
+     * The issue keys are looked up with compact <code>key in (...)</code> queries, split into chunks by
+     * {@link JiraQueryBuilder#getMultipleIssueChunks(Collection)} and executed concurrently. Keys which do not
+     * correspond to an issue are skipped, the remaining issues are still returned.
+     *
+     * JIRA returns the issues moved to another project under their new key. The keys which do not match a returned
+     * issue are therefore fetched individually once all the chunks are done, at most
+     * {@link IssueTrackerConfig#getMaxConcurrentRequests()} at a time, which follows the move, and are only reported
+     * as unresolved if that fails too.
+     *
+     * @return the issues found, and the URLs of this tracker which could not be resolved to an issue.
+     * @throws UncheckedAphroditeException wrapping a {@link NotFoundException} if the issues cannot be searched.
+     */
+    public IssueLookupResult lookupIssues(Collection<URL> urls) {
         urls = filterUrlsByHost(urls);
         if (urls.isEmpty())
-            return new ArrayList<>();
+            return new IssueLookupResult(new ArrayList<>(), new ArrayList<>());
 
-        List<String> ids = new ArrayList<>();
+        List<URL> unresolvedUrls = new ArrayList<>();
+        Map<String, List<URL>> urlsByKey = new LinkedHashMap<>();
         for (URL url : urls) {
             try {
-                ids.add(getIssueKey(url));
+                urlsByKey.computeIfAbsent(getIssueKey(url).toUpperCase(), key -> new ArrayList<>()).add(url);
             } catch (NotFoundException e) {
                 if (LOG.isWarnEnabled())
                     LOG.warn("Unable to extract trackerId from: " + url);
+                unresolvedUrls.add(url);
             }
         }
-        String jql = queryBuilder.getMultipleIssueJQL(ids);
-        return searchIssues(jql, ids.size());
+
+        List<Issue> issues = new ArrayList<>();
+        Set<String> foundKeys = new HashSet<>();
+        Set<String> missingKeys = new LinkedHashSet<>();
+        Deque<Map.Entry<List<String>, Promise<SearchResult>>> pending = new ArrayDeque<>();
+        try {
+            for (List<String> chunk : queryBuilder.getMultipleIssueChunks(urlsByKey.keySet())) {
+                if (pending.size() >= config.getMaxConcurrentRequests())
+                    addIssueKeysResult(pending.poll(), issues, foundKeys, missingKeys);
+                pending.add(new AbstractMap.SimpleImmutableEntry<>(chunk, searchIssueKeys(chunk)));
+            }
+            while (!pending.isEmpty())
+                addIssueKeysResult(pending.poll(), issues, foundKeys, missingKeys);
+        } catch (InterruptedException | ExecutionException e) {
+            throw new UncheckedAphroditeException(new NotFoundException("Unable to retrieve issues " + urls, e));
+        }
+
+        // the issues may have been moved, in which case they are returned under their new key
+        List<String> unmatchedKeys = new ArrayList<>(urlsByKey.keySet());
+        unmatchedKeys.removeAll(foundKeys);
+        unmatchedKeys.removeAll(missingKeys);
+        List<com.atlassian.jira.rest.client.api.domain.Issue> movedIssues = executeConcurrently(unmatchedKeys, key -> {
+            try {
+                return getIssue(key);
+            } catch (NotFoundException e) {
+                return null;
+            }
+        });
+        for (int i = 0; i < unmatchedKeys.size(); i++) {
+            com.atlassian.jira.rest.client.api.domain.Issue issue = movedIssues.get(i);
+            if (issue == null)
+                missingKeys.add(unmatchedKeys.get(i));
+            else if (foundKeys.add(issue.getKey().toUpperCase()))
+                issues.add(WRAPPER.jiraSearchIssueToIssue(baseUrl, issue));
+        }
+
+        missingKeys.forEach(key -> unresolvedUrls.addAll(urlsByKey.get(key)));
+        return new IssueLookupResult(issues, unresolvedUrls);
     }
 
+    private Promise<SearchResult> searchIssueKeys(List<String> keys) {
+        return searchIssueKeys(keys, keys.size(), 0);
+    }
+
+    private Promise<SearchResult> searchIssueKeys(List<String> keys, int maxResults, int startAt) {
+        return restClient.getSearchClient()
+                .searchJql(queryBuilder.getMultipleIssueJQL(keys), maxResults, startAt, Collections.singleton(ALL_FIELDS));
+    }
+
+    /**
+     * The remaining pages of the chunk are retrieved if the server capped its page size below the number of keys.
+     */
+    private void addIssueKeysResult(Map.Entry<List<String>, Promise<SearchResult>> request, List<Issue> issues,
+                                    Set<String> foundKeys, Set<String> missingKeys) throws InterruptedException, ExecutionException {
+        List<String> keys = new ArrayList<>(request.getKey());
+        SearchResult result;
+        try {
+            result = request.getValue().get();
+        } catch (ExecutionException e) {
+            // JIRA rejects the whole query if any of the keys does not exist, so retry without the unknown keys
+            Set<String> unknownKeys = JiraFields.getUnknownIssueKeys(String.valueOf(e.getCause()));
+            if (unknownKeys.isEmpty() || !keys.removeIf(key -> unknownKeys.contains(key) || unknownKeys.contains(key.toUpperCase())))
+                throw e;
+
+            unknownKeys.forEach(key -> missingKeys.add(key.toUpperCase()));
+            if (keys.isEmpty())
+                return;
+            addIssueKeysResult(new AbstractMap.SimpleImmutableEntry<>(keys, searchIssueKeys(keys)), issues, foundKeys,
+                    missingKeys);
+            return;
+        }
+
+        int retrieved = addIssueKeysPage(result, issues, foundKeys);
+        while (retrieved > 0 && retrieved < result.getTotal()) {
+            int added = addIssueKeysPage(searchIssueKeys(keys, keys.size() - retrieved, retrieved).get(), issues, foundKeys);
+            if (added == 0)
+                break;
+            retrieved += added;
+        }
+    }
+
+    /**
+     * @return the number of issues in the page.
+     */
+    private int addIssueKeysPage(SearchResult page, List<Issue> issues, Set<String> foundKeys) {
+        int count = 0;
+        for (com.atlassian.jira.rest.client.api.domain.Issue issue : page.getIssues()) {
+            if (foundKeys.add(issue.getKey().toUpperCase()))
+                issues.add(WRAPPER.jiraSearchIssueToIssue(baseUrl, issue));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Only the fields returned by {@link SearchCriteria#getFields()} are retrieved and converted, if set. The fields
+     * required by the JIRA client to parse a search response (see {@link JiraFields#REQUIRED_SEARCH_FIELDS}) are
+     * always retrieved.
+     */
     @Override
     public List<Issue> searchIssues(SearchCriteria searchCriteria) {
         String jql = queryBuilder.getSearchJQL(searchCriteria);
         int maxResults = searchCriteria.getMaxResults().orElse(config.getDefaultIssueLimit());
-        return searchIssues(jql, maxResults);
+        Set<String> fields = searchCriteria.getFields()
+                .map(JiraFields::withRequiredSearchFields)
+                .orElse(Collections.singleton(ALL_FIELDS));
+        return searchIssues(jql, maxResults, fields);
     }
 
     private List<Issue> searchIssues(String jql, int maxResults) {
+        return searchIssues(jql, maxResults, Collections.singleton(ALL_FIELDS));
+    }
+
+    private List<Issue> searchIssues(String jql, int maxResults, Set<String> fields) {
+        return toIssues(searchJiraIssues(jql, maxResults, fields), fields);
+    }
+
+    private List<com.atlassian.jira.rest.client.api.domain.Issue> searchJiraIssues(String jql, int maxResults,
+            Set<String> fields) {
         try {
-            Set<String> fields = new HashSet<>();
-            fields.add("*all");
             return paginateResults(restClient.getSearchClient(), jql, fields, maxResults);
         } catch (InterruptedException | ExecutionException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private List<Issue> toIssues(Collection<com.atlassian.jira.rest.client.api.domain.Issue> jiraIssues, Set<String> fields) {
+        return jiraIssues.stream()
+                .map(issue -> WRAPPER.jiraSearchIssueToIssue(baseUrl, issue, fields))
+                .collect(Collectors.toList());
+    }
+
     private List<Issue> searchNewIssues(String jql, int maxResults) {
-        try {
-            /* minimal amount of required fields */
-            Set<String> fields = new HashSet<>();
-            fields.add("summary");
-            fields.add("issuetype");
-            fields.add("created");
-            fields.add("updated");
-            fields.add("project");
-            fields.add("status");
-            fields.add("priority");
-            fields.add("components");
-            return paginateResults(restClient.getSearchClient(), jql, fields, maxResults);
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException(e);
-        }
+        /* minimal amount of required fields */
+        Set<String> fields = new HashSet<>(REQUIRED_SEARCH_FIELDS);
+        fields.add("priority");
+        fields.add("components");
+        return searchIssues(jql, maxResults, fields);
     }
 
-    private static int NB_TOTAL_ISSUE_NOT_INITIATED = -1;
-    private List<Issue> paginateResults(SearchRestClient searchClient, String jql, Set<String> fields, int maxResults) throws InterruptedException, ExecutionException {
-        List<Issue> issues = new ArrayList<>();
-        int startPosition = 0;
-        int nbTotalIssue = NB_TOTAL_ISSUE_NOT_INITIATED;
+    /**
+     * Fetches the first page synchronously to learn the total number of matching issues, then requests the
+     * remaining pages concurrently through the async client. At most {@link IssueTrackerConfig#getMaxConcurrentRequests()}
+     * pages are in flight at any time, and pages are always consumed in order so that the returned list has the
+     * same ordering as a sequential walk of the result set.
+     */
+    private List<com.atlassian.jira.rest.client.api.domain.Issue> paginateResults(SearchRestClient searchClient,
+            String jql, Set<String> fields, int maxResults) throws InterruptedException, ExecutionException {
+        List<com.atlassian.jira.rest.client.api.domain.Issue> issues = new ArrayList<>();
         if ( LOG.isDebugEnabled() ) LOG.debug("Max Results:" + maxResults);
 
-        do {
+        SearchResult firstPage = searchClient.searchJql(jql, maxResults, 0, fields).get();
+        int nbTotalIssue = firstPage.getTotal();
+        if ( LOG.isDebugEnabled() ) LOG.debug("Total Issues in result:" + nbTotalIssue);
+        addSearchResult(firstPage, issues);
+
+        // the server may cap the page size below the requested maxResults, so step by what it actually returned
+        int pageSize = firstPage.getMaxResults() > 0 ? firstPage.getMaxResults() : maxResults;
+        if (pageSize <= 0)
+            return issues;
+
+        int maxConcurrentRequests = config.getMaxConcurrentRequests();
+        Deque<Promise<SearchResult>> pending = new ArrayDeque<>(maxConcurrentRequests);
+        for (int startPosition = pageSize; startPosition < nbTotalIssue; startPosition += pageSize) {
+            if (pending.size() >= maxConcurrentRequests)
+                addSearchResult(pending.poll().get(), issues);
+
             if ( LOG.isDebugEnabled() ) LOG.debug("Start Position:" + startPosition);
-            SearchResult result = searchClient.searchJql(jql, maxResults, startPosition, fields).get();
-            if ( nbTotalIssue == NB_TOTAL_ISSUE_NOT_INITIATED ) {
-                nbTotalIssue = result.getTotal();
-                if ( LOG.isDebugEnabled() ) LOG.debug("Total Issues in result:" + nbTotalIssue);
-            }
-            result.getIssues().forEach(issue -> issues.add(WRAPPER.jiraSearchIssueToIssue(baseUrl, issue)));
-            startPosition += maxResults;
-        } while ( startPosition < nbTotalIssue );
+            pending.add(searchClient.searchJql(jql, pageSize, startPosition, fields));
+        }
+        while (!pending.isEmpty())
+            addSearchResult(pending.poll().get(), issues);
+
         if ( LOG.isDebugEnabled() ) LOG.debug("Total issues:" + issues.size());
         return issues;
     }
 
+    private static void addSearchResult(SearchResult result, List<com.atlassian.jira.rest.client.api.domain.Issue> issues) {
+        result.getIssues().forEach(issues::add);
+    }
+
     @Override
     public List<Issue> searchIssuesByFilter(URL filterUrl) throws NotFoundException {
         String jql = getJQLFromFilter(filterUrl);
@@ -286,6 +631,78 @@ public class JiraIssueTracker extends AbstractIssueTracker {
         }
     }
 
+    /**
+     * Incremental variant of {@link #searchIssues(SearchCriteria)}, meant to be called repeatedly with the same
+     * criteria. The first call retrieves every matching issue, later calls only retrieve the issues updated since the
+     * previous call started and merge them into the previous result. A full search is run again once
+     * {@link IssueTrackerConfig#getFullSyncIntervalMinutes()} have elapsed, so that issues which were deleted, moved or
+     * no longer match the criteria are eventually dropped from the result.
+     * <p>
+     * Only the {@link #MAX_INCREMENTAL_SEARCHES} most recently used searches are kept, and a search which was not run
+     * for a full sync interval is dropped, as its next call would be a full search anyway. The returned issues are
+     * built from the kept JIRA issues on each call, so that they can be modified by the caller.
+     */
+    public List<Issue> searchIssuesIncrementally(SearchCriteria searchCriteria) {
+        String jql = queryBuilder.getSearchJQL(searchCriteria);
+        int maxResults = searchCriteria.getMaxResults().orElse(config.getDefaultIssueLimit());
+        Set<String> fields = searchCriteria.getFields()
+                .map(JiraFields::withRequiredSearchFields)
+                .orElse(Collections.singleton(ALL_FIELDS));
+        return searchIssuesIncrementally(jql, maxResults, fields);
+    }
+
+    /**
+     * Incremental variant of {@link #searchIssuesByFilter(URL)}, see {@link #searchIssuesIncrementally(SearchCriteria)}.
+     */
+    public List<Issue> searchIssuesByFilterIncrementally(URL filterUrl) throws NotFoundException {
+        String jql = getJQLFromFilter(filterUrl);
+        return searchIssuesIncrementally(jql, config.getDefaultIssueLimit(), Collections.singleton(ALL_FIELDS));
+    }
+
+    private List<Issue> searchIssuesIncrementally(String jql, int maxResults, Set<String> fields) {
+        IncrementalSearch search = incrementalSearches.getUnchecked(jql);
+        synchronized (search) {
+            long start = System.currentTimeMillis();
+            long fullSyncInterval = TimeUnit.MINUTES.toMillis(config.getFullSyncIntervalMinutes());
+            if (!fields.equals(search.fields) || start - search.lastFullSearch >= fullSyncInterval) {
+                List<com.atlassian.jira.rest.client.api.domain.Issue> issues = searchJiraIssues(jql, maxResults, fields);
+                search.issues.clear();
+                search.fields = fields;
+                search.lastFullSearch = start;
+                search.merge(issues);
+            } else {
+                // both ends of the window come from the local clock, so its offset from the server clock cancels out
+                long minutes = TimeUnit.MILLISECONDS.toMinutes(start - search.lastSearch) + INCREMENTAL_SEARCH_OVERLAP_MINUTES;
+                List<com.atlassian.jira.rest.client.api.domain.Issue> issues = searchJiraIssues(
+                        queryBuilder.getUpdatedSinceJQL(jql, minutes), maxResults, fields);
+                if (LOG.isDebugEnabled())
+                    LOG.debug("Merging " + issues.size() + " issues updated during the last " + minutes + " minutes");
+                search.merge(issues);
+            }
+            search.lastSearch = start;
+            return toIssues(search.issues.values(), fields);
+        }
+    }
+
+    private LoadingCache<String, IncrementalSearch> createIncrementalSearchCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(MAX_INCREMENTAL_SEARCHES)
+                .expireAfterAccess(config.getFullSyncIntervalMinutes(), TimeUnit.MINUTES)
+                .build(CacheLoader.from(jql -> new IncrementalSearch()));
+    }
+
+    private static class IncrementalSearch {
+        // JIRA issues are immutable, unlike the issues built from them
+        private final Map<String, com.atlassian.jira.rest.client.api.domain.Issue> issues = new LinkedHashMap<>();
+        private Set<String> fields;
+        private long lastSearch;
+        private long lastFullSearch;
+
+        private void merge(List<com.atlassian.jira.rest.client.api.domain.Issue> updatedIssues) {
+            updatedIssues.forEach(issue -> issues.put(issue.getKey(), issue));
+        }
+    }
+
     /**
      * Known limitations:
      * - Jira api does not allow an issue type to be update (WTF?)
@@ -293,30 +710,187 @@ public class JiraIssueTracker extends AbstractIssueTracker {
      */
     @Override
     public boolean updateIssue(Issue issue) throws NotFoundException, AphroditeException {
+        checkHost(issue.getURL());
+        return updateIssue(issue, issue instanceof JiraIssue ? ((JiraIssue) issue).getSnapshot() : null);
+    }
+
+    /**
+     * JIRA does not provide a bulk endpoint to edit arbitrary fields, so the issues are updated concurrently. The
+     * issues which were not retrieved by this tracker are looked up together with chunked <code>key in (...)</code>
+     * queries instead of being fetched one by one, and the project metadata and transitions are shared through
+     * their caches.
+     */
+    @Override
+    public List<IssueUpdateResult> updateIssues(Collection<Issue> issues) {
+        Objects.requireNonNull(issues);
+        List<Issue> issueList = new ArrayList<>(issues);
+
+        List<URL> unknownIssues = issueList.stream()
+                .filter(issue -> !(issue instanceof JiraIssue) || ((JiraIssue) issue).getSnapshot() == null)
+                .map(Issue::getURL)
+                .collect(Collectors.toList());
+        Map<String, JiraIssueSnapshot> snapshots = new HashMap<>();
+        if (!unknownIssues.isEmpty()) {
+            for (Issue issue : getIssues(unknownIssues)) {
+                JiraIssueSnapshot snapshot = ((JiraIssue) issue).getSnapshot();
+                if (snapshot != null)
+                    snapshots.put(snapshot.getKey().toUpperCase(), snapshot);
+            }
+        }
+
+        return executeConcurrently(issueList, issue -> {
+            try {
+                checkHost(issue.getURL());
+                JiraIssueSnapshot snapshot = issue instanceof JiraIssue ? ((JiraIssue) issue).getSnapshot() : null;
+                if (snapshot == null)
+                    snapshot = snapshots.get(issue.getTrackerId().orElse(getIssueKey(issue.getURL())).toUpperCase());
+                updateIssue(issue, snapshot);
+                return IssueUpdateResult.success(issue);
+            } catch (NotFoundException | AphroditeException | RuntimeException e) {
+                Utils.logException(LOG, "Unable to update issue " + issue.getURL() + ":", e);
+                return IssueUpdateResult.failure(issue, e);
+            }
+        });
+    }
+
+    /**
+     * @param snapshot the state of the issue when it was retrieved, if known. The issue is fetched again if it is
+     *                 unknown, if the update based on it fails, or if no transition to the requested status is
+     *                 available from its status. The fields are not sent again if they were updated before the
+     *                 failure. If no transition is available from the current status either, only the fields are
+     *                 updated.
+     */
+    private boolean updateIssue(Issue issue, JiraIssueSnapshot snapshot) throws NotFoundException, AphroditeException {
+        AtomicBoolean fieldsUpdated = new AtomicBoolean();
         try {
-            checkHost(issue.getURL());
-
-            com.atlassian.jira.rest.client.api.domain.Issue jiraIssue = getIssue(issue);
-            Project project = restClient.getProjectClient().getProject(jiraIssue.getProject().getSelf()).claim();
-            IssueInput update = WRAPPER.issueToFluentUpdate(issue, jiraIssue, project);
-
-            IssueRestClient issueClient = restClient.getIssueClient();
-            issueClient.updateIssue(jiraIssue.getKey(), update).claim();
-            if (!JiraFields.hasSameIssueStatus(issue, jiraIssue)) {
-                String transition = getJiraTransition(issue, jiraIssue);
-                for(Transition t : issueClient.getTransitions(jiraIssue).get()) {
-                    if(t.getName().equals(transition)) {
-                        issueClient.transition(jiraIssue, new TransitionInput(t.getId())).claim();
-                    }
+            if (snapshot != null) {
+                try {
+                    if (applyUpdate(issue, snapshot, fieldsUpdated, false))
+                        return true;
+                    if (LOG.isDebugEnabled())
+                        LOG.debug("No transition of " + snapshot.getKey() + " from " + snapshot.getStatus()
+                                + ", retrying with its current status");
+                } catch (RestClientException e) {
+                    // the issue may have changed since it was retrieved, e.g. moved to another status
+                    if (LOG.isDebugEnabled())
+                        LOG.debug("Unable to update " + snapshot.getKey() + ", retrying with its current state", e);
+                    transitions.remove(snapshot.getTransitionsKey());
                 }
             }
 
-            return true;
+            JiraIssueSnapshot current = JiraIssueSnapshot.of(getIssue(issue));
+            return applyUpdate(issue, current, fieldsUpdated, true);
         } catch (ExecutionException | InterruptedException e) {
             throw new AphroditeException(getUpdateErrorMessage(issue, e), e);
         }
     }
 
+    /**
+     * The fields are sent along with the status transition in a single request when they are all on the screen of
+     * the transition, otherwise they are updated first.
+     *
+     * @param fieldsUpdated whether the fields have already been updated, set once they are.
+     * @param skipMissingTransition whether to only update the fields if no transition to the requested status is
+     *                              available, instead of leaving the issue unchanged.
+     * @return false, without any change to the issue, if no transition to the requested status is available and
+     *         it is not skipped.
+     */
+    private boolean applyUpdate(Issue issue, JiraIssueSnapshot snapshot, AtomicBoolean fieldsUpdated,
+            boolean skipMissingTransition) throws NotFoundException, AphroditeException, ExecutionException, InterruptedException {
+        Transition transition = null;
+        if (!JiraFields.hasSameIssueStatus(issue, snapshot.getStatus())) {
+            String name = getJiraTransition(issue, snapshot.getStatus());
+            transition = getTransition(snapshot, name);
+            if (transition == null) {
+                if (!skipMissingTransition)
+                    return false;
+                LOG.warn("No transition " + name + " of " + snapshot.getKey() + " is available from status "
+                        + snapshot.getStatus() + ", only its fields are updated");
+            }
+        }
+
+        IssueRestClient issueClient = restClient.getIssueClient();
+        IssueInput update = fieldsUpdated.get() ? null : getFluentUpdate(issue, snapshot);
+        if (transition == null) {
+            if (update != null)
+                issueClient.updateIssue(snapshot.getKey(), update).claim();
+            fieldsUpdated.set(true);
+        } else {
+            List<FieldInput> fields = update != null ? getTransitionFields(transition, update) : Collections.emptyList();
+            if (fields == null) {
+                issueClient.updateIssue(snapshot.getKey(), update).claim();
+                fieldsUpdated.set(true);
+                fields = Collections.emptyList();
+            }
+            issueClient.transition(snapshot.getTransitionsUri(), fields.isEmpty() ?
+                    new TransitionInput(transition.getId()) : new TransitionInput(transition.getId(), fields)).claim();
+            fieldsUpdated.set(true);
+
+            String status = JiraFields.getJiraStatus(issue.getStatus());
+            snapshot = status != null ? snapshot.withStatus(status) : null;
+        }
+
+        if (issue instanceof JiraIssue)
+            ((JiraIssue) issue).setSnapshot(snapshot);
+        return true;
+    }
+
+    private IssueInput getFluentUpdate(Issue issue, JiraIssueSnapshot snapshot) throws NotFoundException, AphroditeException {
+        try {
+            return WRAPPER.issueToFluentUpdate(issue, snapshot, getProjectMetadata(snapshot.getProjectKey()));
+        } catch (NotFoundException e) {
+            // the release or stream may have been created since the project metadata was cached
+            return WRAPPER.issueToFluentUpdate(issue, snapshot, refreshProjectMetadata(snapshot.getProjectKey()));
+        }
+    }
+
+    private Transition getTransition(JiraIssueSnapshot snapshot, String name) throws ExecutionException, InterruptedException {
+        Iterable<Transition> available = transitions.get(snapshot.getTransitionsKey());
+        boolean cached = available != null;
+        if (!cached)
+            available = getTransitions(snapshot);
+
+        Transition transition = findTransition(available, name);
+        if (transition == null && cached) {
+            // the workflow may have been changed since the transitions were cached
+            transition = findTransition(getTransitions(snapshot), name);
+        }
+        return transition;
+    }
+
+    private Iterable<Transition> getTransitions(JiraIssueSnapshot snapshot) throws ExecutionException, InterruptedException {
+        Iterable<Transition> available = restClient.getIssueClient().getTransitions(snapshot.getTransitionsUri()).get();
+        transitions.put(snapshot.getTransitionsKey(), available);
+        return available;
+    }
+
+    private static Transition findTransition(Iterable<Transition> available, String name) {
+        for (Transition transition : available) {
+            if (transition.getName().equals(name))
+                return transition;
+        }
+        return null;
+    }
+
+    /**
+     * @return the fields of the update if they can all be set by the transition, otherwise null. The project and
+     * issue type cannot be changed and are only part of the update to identify the issue.
+     */
+    private static List<FieldInput> getTransitionFields(Transition transition, IssueInput update) {
+        Set<String> screenFields = new HashSet<>();
+        transition.getFields().forEach(field -> screenFields.add(field.getId()));
+
+        List<FieldInput> fields = new ArrayList<>();
+        for (FieldInput field : update.getFields().values()) {
+            if (field.getId().equals(IssueFieldId.PROJECT_FIELD.id) || field.getId().equals(IssueFieldId.ISSUE_TYPE_FIELD.id))
+                continue;
+            if (!screenFields.contains(field.getId()))
+                return null;
+            fields.add(field);
+        }
+        return fields;
+    }
+
     private String toKey(URL url) {
         try {
             return getIssueKey(url);
@@ -443,21 +1017,48 @@ public class JiraIssueTracker extends AbstractIssueTracker {
         if (!matcher.matches()) {
             return false;
         }
-        Promise<Project> promise = restClient.getProjectClient().getProject("JBEAP");
-        Project project = promise.claim();
+        JiraProjectMetadata metadata = getProjectMetadata("JBEAP");
+        Optional<Version> version = metadata.getVersion(cpVersion);
+        if (!version.isPresent() || !version.get().isReleased() && metadata.getAgeMillis() >= releaseStateMaxAgeMillis) {
+            // the version may have been created or released since the project metadata was cached
+            version = refreshProjectMetadata("JBEAP").getVersion(cpVersion);
+        }
+        return version.map(Version::isReleased).orElse(false);
+    }
+
+    /**
+     * @return the versions of the project, as cached until the project metadata is refreshed
+     */
+    public Iterable<Version> getVersionsByProject(String projectName) {
+        return getProjectMetadata(projectName).getVersions();
+    }
+
+    private LoadingCache<String, JiraProjectMetadata> createProjectMetadataCache() {
+        // stale entries keep being served while they are reloaded by the executor
+        Executor refreshExecutor = executorService != null ? executorService : MoreExecutors.directExecutor();
+        return CacheBuilder.newBuilder()
+                .refreshAfterWrite(PROJECT_METADATA_REFRESH_MINUTES, TimeUnit.MINUTES)
+                .build(CacheLoader.asyncReloading(CacheLoader.from(this::loadProjectMetadata), refreshExecutor));
+    }
 
-        Optional<Version> version = StreamSupport.stream(project.getVersions().spliterator(), false)
-                                                 .filter(v -> v.getName().equals(cpVersion))
-                                                 .findAny();
-        if (version.isPresent()) {
-            return version.get().isReleased();
+    private JiraProjectMetadata getProjectMetadata(String projectKey) {
+        try {
+            return projectMetadata.getUnchecked(projectKey);
+        } catch (UncheckedExecutionException e) {
+            // rethrow the JIRA client exception, as callers would get it without the cache
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
         }
+    }
 
-        return false;
+    private JiraProjectMetadata refreshProjectMetadata(String projectKey) {
+        projectMetadata.invalidate(projectKey);
+        return getProjectMetadata(projectKey);
     }
 
-    public Iterable<Version> getVersionsByProject(String projectName) {
-        return restClient.getProjectClient().getProject(projectName).claim().getVersions();
+    private JiraProjectMetadata loadProjectMetadata(String projectKey) {
+        return new JiraProjectMetadata(restClient.getProjectClient().getProject(projectKey).claim());
     }
 
     @Override
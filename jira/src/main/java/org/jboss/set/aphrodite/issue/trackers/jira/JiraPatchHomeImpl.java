@@ -18,69 +18,24 @@ package org.jboss.set.aphrodite.issue.trackers.jira;
 
 import java.net.URL;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-import org.jboss.set.aphrodite.Aphrodite;
-import org.jboss.set.aphrodite.common.Utils;
 import org.jboss.set.aphrodite.domain.Issue;
 import org.jboss.set.aphrodite.domain.Patch;
-import org.jboss.set.aphrodite.domain.PatchState;
-import org.jboss.set.aphrodite.domain.PatchType;
-import org.jboss.set.aphrodite.domain.PullRequest;
 import org.jboss.set.aphrodite.domain.spi.PatchHome;
-import org.jboss.set.aphrodite.spi.AphroditeException;
-import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.jboss.set.aphrodite.issue.trackers.common.PatchResolver;
 
 /**
  * @author wangc
  *
  */
 public class JiraPatchHomeImpl implements PatchHome {
-    private static final Log logger = LogFactory.getLog(JiraPatchHomeImpl.class);
+
+    private final PatchResolver patchResolver = new PatchResolver();
 
     @Override
     public java.util.stream.Stream<Patch> findPatchesByIssue(Issue issue) {
         List<URL> urls = ((JiraIssue) issue).getPullRequests();
-        return mapURLtoPatchStream(urls);
-    }
-
-    private java.util.stream.Stream<Patch> mapURLtoPatchStream(List<URL> urls) {
-        List<Patch> list = urls.stream().map(e -> {
-            PatchType patchType = getPatchType(e);
-            PatchState patchState = getPatchState(e, patchType);
-            return new Patch(e, patchType, patchState);
-            }).collect(Collectors.toList());
-        return list.stream();
-    }
-
-    private PatchType getPatchType(URL url) {
-        String urlStr = url.toString();
-        if (urlStr.contains("/pull/"))
-            return PatchType.PULLREQUEST;
-        else if (urlStr.contains("/commit/"))
-            return PatchType.COMMIT;
-        else
-            return PatchType.FILE;
-    }
-
-    private PatchState getPatchState(URL url, PatchType patchType) {
-        if (patchType.equals(PatchType.PULLREQUEST)) {
-            try {
-                PullRequest pullRequest = Aphrodite.instance().getPullRequest(url);
-                if (pullRequest !=null && pullRequest.getState() != null) {
-                    return PatchState.valueOf(pullRequest.getState().toString());
-                }
-            } catch (NotFoundException e) {
-                Utils.logException(logger, "Unable to find pull request with url: " + url, e);
-            } catch (AphroditeException e) {
-                Utils.logException(logger, e);
-            }
-        } else if (patchType.equals(PatchType.COMMIT)) {
-            return PatchState.CLOSED;
-        }
-        return PatchState.UNDEFINED;
+        return patchResolver.getPatches(urls);
     }
 
-}
\ No newline at end of file
+}
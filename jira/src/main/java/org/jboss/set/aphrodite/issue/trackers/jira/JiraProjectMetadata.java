@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.jira;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.atlassian.jira.rest.client.api.domain.BasicComponent;
+import com.atlassian.jira.rest.client.api.domain.Project;
+import com.atlassian.jira.rest.client.api.domain.Version;
+
+/**
+ * The versions and components of a JIRA project, which are needed by most updates but rarely change.
+ */
+class JiraProjectMetadata {
+
+    private final String projectKey;
+    private final List<Version> versions;
+    private final List<BasicComponent> components;
+    private final Map<String, Version> versionsByName;
+    private final long loadTime = System.currentTimeMillis();
+
+    JiraProjectMetadata(Project project) {
+        this.projectKey = project.getKey();
+        this.versions = Collections.unmodifiableList(StreamSupport.stream(project.getVersions().spliterator(), false)
+                .collect(Collectors.toList()));
+        this.components = Collections.unmodifiableList(StreamSupport.stream(project.getComponents().spliterator(), false)
+                .collect(Collectors.toList()));
+        // names are unique within a project, keep the first one if the server ever says otherwise
+        this.versionsByName = Collections.unmodifiableMap(versions.stream()
+                .collect(Collectors.toMap(Version::getName, Function.identity(), (first, second) -> first)));
+    }
+
+    String getProjectKey() {
+        return projectKey;
+    }
+
+    List<Version> getVersions() {
+        return versions;
+    }
+
+    List<BasicComponent> getComponents() {
+        return components;
+    }
+
+    Map<String, Version> getVersionsByName() {
+        return versionsByName;
+    }
+
+    Optional<Version> getVersion(String name) {
+        return Optional.ofNullable(versionsByName.get(name));
+    }
+
+    /**
+     * @return the time elapsed since the metadata was retrieved.
+     */
+    long getAgeMillis() {
+        return System.currentTimeMillis() - loadTime;
+    }
+}
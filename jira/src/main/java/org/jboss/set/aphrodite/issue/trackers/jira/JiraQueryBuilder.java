@@ -26,7 +26,13 @@ import org.jboss.set.aphrodite.domain.FlagStatus;
 import org.jboss.set.aphrodite.domain.SearchCriteria;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.CUSTOM_FIELD_MAP;
 import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.TARGET_RELEASE;
@@ -38,6 +44,18 @@ import static org.jboss.set.aphrodite.issue.trackers.jira.JiraFields.getJiraStat
  */
 class JiraQueryBuilder {
 
+    // Keeps the search request URL well within the limits of common servers and proxies once the JQL is encoded
+    static final int MAX_MULTIPLE_ISSUE_JQL_LENGTH = 2000;
+    // Small enough for all the issues of a single query to be returned in one page
+    static final int MAX_ISSUES_PER_QUERY = 100;
+
+    private static final String MULTIPLE_ISSUE_JQL_PREFIX = "key in (";
+    private static final String MULTIPLE_ISSUE_JQL_SUFFIX = ")";
+    private static final String FIX_VERSION_JQL_PREFIX = " AND fixVersion in (";
+    private static final String FIX_VERSION_JQL_SUFFIX = ")";
+
+    private static final Pattern ORDER_BY = Pattern.compile("(?:^|\\s)ORDER\\s+BY\\s", Pattern.CASE_INSENSITIVE);
+
     // TODO add streams query support when implemented in JIRA
     String getSearchJQL(SearchCriteria criteria) {
         StringBuilder sb = new StringBuilder();
@@ -89,10 +107,83 @@ class JiraQueryBuilder {
         return sb.toString();
     }
 
-    String getMultipleIssueJQL(List<String> ids) {
+    String getMultipleIssueJQL(Collection<String> keys) {
+        return keys.stream()
+                .map(key -> "'" + key + "'")
+                .collect(Collectors.joining(", ", MULTIPLE_ISSUE_JQL_PREFIX, MULTIPLE_ISSUE_JQL_SUFFIX));
+    }
+
+    /**
+     * Restrict the query to the issues updated during the last given number of minutes, keeping its ORDER BY clause
+     * if any. A relative date is used because JIRA interprets absolute ones in the time zone of the user's profile.
+     */
+    String getUpdatedSinceJQL(String jql, long minutes) {
+        String query = jql;
+        String orderBy = "";
+        Matcher matcher = ORDER_BY.matcher(jql);
+        if (matcher.find()) {
+            query = jql.substring(0, matcher.start());
+            orderBy = " " + jql.substring(matcher.start()).trim();
+        }
+
         StringBuilder sb = new StringBuilder();
-        ids.forEach(id -> addCriteriaToJQL("id = ", id, " OR ", sb));
-        return sb.toString();
+        if (!query.trim().isEmpty())
+            sb.append('(').append(query.trim()).append(')');
+        addCriteriaToJQL("updated >= ", "-" + minutes + "m", " AND ", sb);
+        return sb.append(orderBy).toString();
+    }
+
+    /**
+     * Split the issue keys into chunks whose {@link #getMultipleIssueJQL(Collection)} query is no longer than
+     * {@link #MAX_MULTIPLE_ISSUE_JQL_LENGTH} characters and which contain at most {@link #MAX_ISSUES_PER_QUERY} keys.
+     */
+    List<List<String>> getMultipleIssueChunks(Collection<String> keys) {
+        return getChunks(keys, MULTIPLE_ISSUE_JQL_PREFIX.length() + MULTIPLE_ISSUE_JQL_SUFFIX.length(), MAX_ISSUES_PER_QUERY);
+    }
+
+    String getFixVersionsJQL(String project, Collection<String> versions) {
+        StringBuilder sb = new StringBuilder();
+        addCriteriaToJQL("project = ", project, " AND ", sb);
+        return sb.append(versions.stream()
+                .map(version -> "'" + version + "'")
+                .collect(Collectors.joining(", ", FIX_VERSION_JQL_PREFIX, FIX_VERSION_JQL_SUFFIX)))
+                .toString();
+    }
+
+    /**
+     * Split the versions into chunks whose {@link #getFixVersionsJQL(String, Collection)} query is no longer than
+     * {@link #MAX_MULTIPLE_ISSUE_JQL_LENGTH} characters. The issues of each chunk are paginated, so the number of
+     * versions per chunk is not limited.
+     */
+    List<List<String>> getFixVersionChunks(String project, Collection<String> versions) {
+        int length = getFixVersionsJQL(project, Collections.emptyList()).length();
+        return getChunks(versions, length, Integer.MAX_VALUE);
+    }
+
+    String getProjectUpdatedSinceJQL(String project, long minutes) {
+        StringBuilder sb = new StringBuilder();
+        addCriteriaToJQL("project = ", project, " AND ", sb);
+        return getUpdatedSinceJQL(sb.toString(), minutes);
+    }
+
+    private List<List<String>> getChunks(Collection<String> values, int baseLength, int maxValuesPerChunk) {
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> chunk = new ArrayList<>();
+        int length = baseLength;
+        for (String value : values) {
+            // quotes plus the ", " separator
+            int valueLength = value.length() + 4;
+            if (!chunk.isEmpty() && (chunk.size() == maxValuesPerChunk || length + valueLength > MAX_MULTIPLE_ISSUE_JQL_LENGTH)) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                length = baseLength;
+            }
+            chunk.add(value);
+            length += valueLength;
+        }
+        if (!chunk.isEmpty())
+            chunks.add(chunk);
+        return chunks;
     }
 
     private void addCriteriaToJQL(String criteria, Object value, String connector, StringBuilder sb) {
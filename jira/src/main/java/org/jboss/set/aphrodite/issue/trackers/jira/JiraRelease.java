@@ -36,6 +36,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Created by Marek Marusic <mmarusic@redhat.com> on 6/17/19.
@@ -87,54 +88,59 @@ public class JiraRelease {
     }
 
     public static Collection<JiraRelease> findAll() throws NameNotFoundException {
-        Map<String, JiraRelease> releases = new HashMap<>();
-
         JiraIssueTracker issueTrackerService = SimpleContainer.instance().lookup(JiraIssueTracker.class.getSimpleName(), JiraIssueTracker.class);
 
         //Find all fix version with x.x.x.GA or with x.x.x.CRx
-
         Iterable<Version> versions = issueTrackerService.getVersionsByProject(PROJECT_NAME);
+        return createReleases(versions, version -> new CandidateRelease(PROJECT_NAME, version));
+    }
 
-        versions.forEach(version -> {
-            if (CandidateRelease.isGA(version.getName())) {
-                try {
-                    JiraRelease release = new JiraRelease(version, new ArrayList<>());
-                    release.addCandidateRelease(new CandidateRelease(PROJECT_NAME, version));
-                    releases.put(CandidateRelease.extractVersion(version.getName()), release);
-
-                } catch (NotFoundException e) {
-                    e.printStackTrace();
-                }
+    /**
+     * Same as {@link #findAll()}, with the issues of all releases retrieved at once from the catalog of the tracker
+     * instead of with a search per candidate release.
+     */
+    public static Collection<JiraRelease> findAllWithIssues() throws NameNotFoundException {
+        JiraIssueTracker issueTrackerService = SimpleContainer.instance().lookup(JiraIssueTracker.class.getSimpleName(), JiraIssueTracker.class);
+        return issueTrackerService.getReleaseCatalog(PROJECT_NAME).getReleases();
+    }
 
-            }
-        });
+    static Collection<JiraRelease> createReleases(Iterable<Version> versions, Function<Version, CandidateRelease> candidateRelease) {
+        Map<String, JiraRelease> releases = new HashMap<>();
+        List<Version> candidateVersions = new ArrayList<>();
+        Map<String, JiraRelease> updateReleases = new HashMap<>();
 
-        versions.forEach(version -> {
-            if (CandidateRelease.isCR(version.getName())) {
-                try {
-                    String nameGA = CandidateRelease.extractVersion(version.getName());
-                    if(releases.containsKey(nameGA)) {
-                        releases.get(nameGA).addCandidateRelease(new CandidateRelease(PROJECT_NAME, version));
-                    }
-                } catch (NotFoundException e) {
-                    e.printStackTrace();
+        for (Version version : versions) {
+            try {
+                if (CandidateRelease.isGA(version.getName())) {
+                    JiraRelease release = new JiraRelease(version, new ArrayList<>());
+                    release.addCandidateRelease(candidateRelease.apply(version));
+                    releases.put(CandidateRelease.extractVersion(version.getName()), release);
+                } else if (CandidateRelease.isCR(version.getName())) {
+                    candidateVersions.add(version);
+                } else if (CandidateRelease.isCPUpdate(version.getName())) {
+                    // Since EAP 8 first CP, the version format has been changed to "8.0 Update 1"
+                    JiraRelease release = new JiraRelease(version, new ArrayList<>());
+                    release.addCandidateRelease(candidateRelease.apply(version));
+                    updateReleases.put(CandidateRelease.extractCPUpdateVersion(version.getName()), release);
                 }
+            } catch (NotFoundException e) {
+                e.printStackTrace();
             }
-        });
+        }
 
-        // Since EAP 8 first CP, the version format has been changed to "8.0 Update 1"
-        versions.forEach(version -> {
-            if (CandidateRelease.isCPUpdate(version.getName())) {
-                try {
-                    JiraRelease release = new JiraRelease(version, new ArrayList<>());
-                    release.addCandidateRelease(new CandidateRelease(PROJECT_NAME, version));
-                    releases.put(CandidateRelease.extractCPUpdateVersion(version.getName()), release);
-                } catch (NotFoundException e) {
-                    e.printStackTrace();
+        // The CRs can only be added once all GA releases are known
+        for (Version version : candidateVersions) {
+            try {
+                String nameGA = CandidateRelease.extractVersion(version.getName());
+                if (releases.containsKey(nameGA)) {
+                    releases.get(nameGA).addCandidateRelease(candidateRelease.apply(version));
                 }
+            } catch (NotFoundException e) {
+                e.printStackTrace();
             }
-        });
+        }
 
+        releases.putAll(updateReleases);
         return releases.values();
     }
 
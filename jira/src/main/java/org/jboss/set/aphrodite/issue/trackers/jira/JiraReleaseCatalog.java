@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.set.aphrodite.issue.trackers.jira;
+
+import static org.jboss.set.aphrodite.issue.trackers.jira.JiraIssueTracker.INCREMENTAL_SEARCH_OVERLAP_MINUTES;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jboss.set.aphrodite.domain.Issue;
+
+import com.atlassian.jira.rest.client.api.domain.Version;
+
+/**
+ * The releases of a project together with their issues, see {@link JiraRelease}. The issues of all candidate
+ * releases are retrieved at once with {@link JiraIssueTracker#getIssuesByFixVersion(String, Collection)}.
+ *
+ * The issues are cached between calls. Only the versions whose issues have been updated since the previous call,
+ * or which contained such issues, are retrieved again, and the whole catalog is rebuilt once the full sync interval
+ * of the tracker has elapsed.
+ */
+public class JiraReleaseCatalog {
+
+    private static final Log LOG = LogFactory.getLog(JiraReleaseCatalog.class);
+
+    private final JiraIssueTracker issueTracker;
+    private final String project;
+    private final long fullSyncInterval;
+
+    private final Map<String, List<Issue>> issuesByVersion = new HashMap<>();
+    private long lastBuild;
+    private long lastFullBuild;
+
+    JiraReleaseCatalog(JiraIssueTracker issueTracker, String project, int fullSyncIntervalMinutes) {
+        this.issueTracker = issueTracker;
+        this.project = project;
+        this.fullSyncInterval = TimeUnit.MINUTES.toMillis(fullSyncIntervalMinutes);
+    }
+
+    public synchronized Collection<JiraRelease> getReleases() {
+        Iterable<Version> versions = issueTracker.getVersionsByProject(project);
+        Set<String> names = new LinkedHashSet<>();
+        for (Version version : versions) {
+            String name = version.getName();
+            if (CandidateRelease.isGA(name) || CandidateRelease.isCR(name) || CandidateRelease.isCPUpdate(name))
+                names.add(name.trim());
+        }
+
+        long start = System.currentTimeMillis();
+        if (start - lastFullBuild >= fullSyncInterval) {
+            issuesByVersion.clear();
+            issuesByVersion.putAll(issueTracker.getIssuesByFixVersion(project, names));
+            lastFullBuild = start;
+        } else {
+            refresh(names, start);
+        }
+        lastBuild = start;
+
+        return JiraRelease.createReleases(versions,
+                version -> new CandidateRelease(project, version, copyIssues(version.getName().trim())));
+    }
+
+    // the cached lists are updated by the next builds, so each release gets its own copy
+    private List<Issue> copyIssues(String name) {
+        List<Issue> issues = issuesByVersion.get(name);
+        return issues != null ? new ArrayList<>(issues) : null;
+    }
+
+    private void refresh(Set<String> names, long start) {
+        issuesByVersion.keySet().retainAll(names);
+
+        Set<String> changedVersions = new HashSet<>(names);
+        changedVersions.removeAll(issuesByVersion.keySet());
+
+        // both ends of the window come from the local clock, so its offset from the server clock cancels out
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(start - lastBuild) + INCREMENTAL_SEARCH_OVERLAP_MINUTES;
+        Set<String> updatedKeys = new HashSet<>();
+        for (Issue issue : issueTracker.getIssuesUpdatedSince(project, minutes)) {
+            issue.getTrackerId().ifPresent(updatedKeys::add);
+            // the versions the issue has been added to
+            issue.getReleases().forEach(release -> release.getVersion()
+                    .map(String::trim)
+                    .filter(names::contains)
+                    .ifPresent(changedVersions::add));
+        }
+        // the versions the issues may have been removed from
+        issuesByVersion.forEach((version, issues) -> {
+            if (issues.stream().anyMatch(issue -> issue.getTrackerId().filter(updatedKeys::contains).isPresent()))
+                changedVersions.add(version);
+        });
+
+        if (LOG.isDebugEnabled())
+            LOG.debug("Refreshing the issues of " + changedVersions.size() + " " + project + " versions");
+        if (!changedVersions.isEmpty())
+            issuesByVersion.putAll(issueTracker.getIssuesByFixVersion(project, changedVersions));
+    }
+}
@@ -37,6 +37,18 @@ public class Page<V> {
         this.values = values;
     }
 
+    public long getStartAt() {
+        return startAt;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public boolean isLast() {
+        return isLast;
+    }
+
     public Iterable<V> getValues() {
         return values;
     }
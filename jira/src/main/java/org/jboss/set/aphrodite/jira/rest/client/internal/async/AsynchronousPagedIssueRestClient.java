@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.set.aphrodite.jira.rest.client.internal.async;
+
+import com.atlassian.httpclient.api.HttpClient;
+import com.atlassian.jira.rest.client.api.domain.ChangelogGroup;
+import com.atlassian.jira.rest.client.api.domain.Comment;
+import com.atlassian.jira.rest.client.api.domain.Issue;
+import com.atlassian.jira.rest.client.internal.async.AbstractAsynchronousRestClient;
+import com.atlassian.jira.rest.client.internal.json.ChangelogJsonParser;
+import com.atlassian.jira.rest.client.internal.json.CommentJsonParser;
+import com.atlassian.jira.rest.client.internal.json.IssueJsonParser;
+import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
+
+import io.atlassian.util.concurrent.Promise;
+
+import org.jboss.set.aphrodite.jira.rest.client.api.domain.Page;
+import org.jboss.set.aphrodite.jira.rest.client.internal.json.PageParser;
+
+import javax.ws.rs.core.UriBuilder;
+import java.net.URI;
+import java.util.Collection;
+
+/**
+ * Retrieves an issue without its comments and history, which can then be fetched page by page when needed.
+ */
+public class AsynchronousPagedIssueRestClient extends AbstractAsynchronousRestClient {
+    private final JsonObjectParser<Issue> issueParser = new IssueJsonParser();
+    private final JsonObjectParser<Page<Comment>> commentPageParser = new PageParser<>(new CommentJsonParser(), "comments");
+    private final JsonObjectParser<Page<ChangelogGroup>> changelogPageParser = new PageParser<>(new ChangelogJsonParser());
+
+    private final URI baseUri;
+
+    public AsynchronousPagedIssueRestClient(final URI baseUri, final HttpClient client) {
+        super(client);
+        this.baseUri = baseUri;
+    }
+
+    public Promise<Issue> getIssue(final String issueKey, final Collection<String> fields, final Collection<String> expand) {
+        final UriBuilder builder = UriBuilder.fromUri(baseUri).path("issue").path(issueKey);
+        if (!fields.isEmpty()) builder.queryParam("fields", String.join(",", fields));
+        if (!expand.isEmpty()) builder.queryParam("expand", String.join(",", expand));
+        final URI uri = builder.build();
+        return getAndParse(uri, issueParser);
+    }
+
+    // https://docs.atlassian.com/software/jira/docs/api/REST/latest/#api/2/issue/{issueIdOrKey}/comment-getComments
+    public Promise<Page<Comment>> getComments(final String issueKey, final Long startAt, final Integer maxResults) {
+        final UriBuilder builder = UriBuilder.fromUri(baseUri).path("issue").path(issueKey).path("comment");
+        if (startAt != null) builder.queryParam("startAt", startAt);
+        if (maxResults != null) builder.queryParam("maxResults", maxResults);
+        builder.queryParam("orderBy", "created");
+        final URI uri = builder.build();
+        return getAndParse(uri, commentPageParser);
+    }
+
+    // Not available on every JIRA version, the history then has to be expanded with the issue instead
+    public Promise<Page<ChangelogGroup>> getChangelog(final String issueKey, final Long startAt, final Integer maxResults) {
+        final UriBuilder builder = UriBuilder.fromUri(baseUri).path("issue").path(issueKey).path("changelog");
+        if (startAt != null) builder.queryParam("startAt", startAt);
+        if (maxResults != null) builder.queryParam("maxResults", maxResults);
+        final URI uri = builder.build();
+        return getAndParse(uri, changelogPageParser);
+    }
+}
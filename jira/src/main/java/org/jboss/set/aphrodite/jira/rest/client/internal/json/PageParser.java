@@ -24,6 +24,7 @@ package org.jboss.set.aphrodite.jira.rest.client.internal.json;
 import com.atlassian.jira.rest.client.internal.json.GenericJsonArrayParser;
 import com.atlassian.jira.rest.client.internal.json.JsonArrayParser;
 import com.atlassian.jira.rest.client.internal.json.JsonObjectParser;
+import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 import org.jboss.set.aphrodite.jira.rest.client.api.domain.Page;
@@ -34,14 +35,27 @@ import org.jboss.set.aphrodite.jira.rest.client.api.domain.Page;
 public class PageParser<V> implements JsonObjectParser<Page<V>> {
     private final JsonObjectParser<V> valueParser;
     private final JsonArrayParser<Iterable<V>> valuesParser;
+    private final String valuesKey;
 
     public PageParser(final JsonObjectParser<V> valueParser) {
+        this(valueParser, "values");
+    }
+
+    /**
+     * For the older endpoints which name their values array after the resource, e.g. "comments", and only report the
+     * total number of values instead of whether the page is the last one.
+     */
+    public PageParser(final JsonObjectParser<V> valueParser, final String valuesKey) {
         this.valueParser = valueParser;
         this.valuesParser = GenericJsonArrayParser.create(valueParser);
+        this.valuesKey = valuesKey;
     }
 
     @Override
     public Page<V> parse(final JSONObject json) throws JSONException {
-        return new Page<>(json.getLong("startAt"), json.getInt("maxResults"), json.getBoolean("isLast"), valuesParser.parse(json.getJSONArray("values")));
+        final long startAt = json.getLong("startAt");
+        final JSONArray values = json.getJSONArray(valuesKey);
+        final boolean isLast = json.has("isLast") ? json.getBoolean("isLast") : startAt + values.length() >= json.getLong("total");
+        return new Page<>(startAt, json.getInt("maxResults"), isLast, valuesParser.parse(values));
     }
 }
@@ -0,0 +1,473 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.jira;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.jboss.set.aphrodite.config.IssueTrackerConfig;
+import org.jboss.set.aphrodite.config.TrackerType;
+import org.jboss.set.aphrodite.domain.Comment;
+import org.jboss.set.aphrodite.domain.Issue;
+import org.jboss.set.aphrodite.domain.IssueStatus;
+import org.jboss.set.aphrodite.domain.SearchCriteria;
+import org.jboss.set.aphrodite.issue.trackers.common.IssueLookupResult;
+import org.jboss.set.aphrodite.jira.rest.client.api.domain.Page;
+import org.jboss.set.aphrodite.jira.rest.client.internal.async.AsynchronousPagedIssueRestClient;
+import org.jboss.set.aphrodite.spi.NotFoundException;
+import org.jboss.set.aphrodite.spi.UncheckedAphroditeException;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.atlassian.jira.rest.client.api.IssueRestClient;
+import com.atlassian.jira.rest.client.api.JiraRestClient;
+import com.atlassian.jira.rest.client.api.ProjectRestClient;
+import com.atlassian.jira.rest.client.api.RestClientException;
+import com.atlassian.jira.rest.client.api.SearchRestClient;
+import com.atlassian.jira.rest.client.api.domain.BasicProject;
+import com.atlassian.jira.rest.client.api.domain.IssueType;
+import com.atlassian.jira.rest.client.api.domain.Project;
+import com.atlassian.jira.rest.client.api.domain.SearchResult;
+import com.atlassian.jira.rest.client.api.domain.Status;
+import com.atlassian.jira.rest.client.api.domain.Transition;
+import com.atlassian.jira.rest.client.api.domain.Version;
+import com.atlassian.jira.rest.client.api.domain.input.IssueInput;
+import com.atlassian.jira.rest.client.api.domain.input.TransitionInput;
+
+import io.atlassian.util.concurrent.Promise;
+import io.atlassian.util.concurrent.Promises;
+
+/**
+ * Runs the {@link JiraIssueTracker} against a mocked JIRA client.
+ */
+public class JiraIssueTrackerTest {
+
+    private static final String JIRA_URL = "https://issues.redhat.com/";
+    private static final String KEY = "JBEAP-1";
+
+    private JiraRestClient restClient;
+    private IssueRestClient issueClient;
+    private AsynchronousPagedIssueRestClient pagedIssueClient;
+    private ProjectRestClient projectClient;
+    private Project project;
+    private JiraIssueTracker tracker;
+
+    @Before
+    public void setUp() {
+        restClient = mock(JiraRestClient.class);
+        issueClient = mock(IssueRestClient.class);
+        when(restClient.getIssueClient()).thenReturn(issueClient);
+
+        projectClient = mock(ProjectRestClient.class);
+        project = mock(Project.class);
+        when(project.getKey()).thenReturn("JBEAP");
+        when(project.getVersions()).thenReturn(Collections.emptyList());
+        when(project.getComponents()).thenReturn(Collections.emptyList());
+        when(projectClient.getProject("JBEAP")).thenReturn(Promises.promise(project));
+        when(restClient.getProjectClient()).thenReturn(projectClient);
+
+        when(issueClient.updateIssue(anyString(), any(IssueInput.class))).thenReturn(Promises.promise(null));
+        when(issueClient.transition(any(URI.class), any(TransitionInput.class))).thenReturn(Promises.promise(null));
+
+        pagedIssueClient = mock(AsynchronousPagedIssueRestClient.class);
+        tracker = new JiraIssueTracker(new IssueTrackerConfig(JIRA_URL, null, "token", TrackerType.JIRA, 100), restClient,
+                pagedIssueClient);
+    }
+
+    private static com.atlassian.jira.rest.client.api.domain.Issue mockJiraIssue(String status) {
+        return mockJiraIssue(KEY, status);
+    }
+
+    private static com.atlassian.jira.rest.client.api.domain.Issue mockJiraIssue(String key, String status) {
+        com.atlassian.jira.rest.client.api.domain.Issue jiraIssue = mock(com.atlassian.jira.rest.client.api.domain.Issue.class);
+        when(jiraIssue.getSelf()).thenReturn(URI.create(JIRA_URL + "rest/api/2/issue/" + key));
+        when(jiraIssue.getKey()).thenReturn(key);
+        when(jiraIssue.getSummary()).thenReturn("Summary of " + key);
+        when(jiraIssue.getCreationDate()).thenReturn(new DateTime(0));
+        when(jiraIssue.getUpdateDate()).thenReturn(new DateTime(0));
+        BasicProject project = mock(BasicProject.class);
+        when(project.getKey()).thenReturn("JBEAP");
+        when(project.getName()).thenReturn("JBoss EAP");
+        when(jiraIssue.getProject()).thenReturn(project);
+        IssueType issueType = mock(IssueType.class);
+        when(issueType.getId()).thenReturn(1L);
+        when(issueType.getName()).thenReturn("Bug");
+        when(jiraIssue.getIssueType()).thenReturn(issueType);
+        Status jiraStatus = mock(Status.class);
+        when(jiraStatus.getName()).thenReturn(status);
+        when(jiraIssue.getStatus()).thenReturn(jiraStatus);
+        return jiraIssue;
+    }
+
+    // The status of the issue as retrieved by the tracker, and the requested status
+    private JiraIssue createIssue(String retrievedStatus, IssueStatus status) throws Exception {
+        JiraIssue issue = new JiraIssue(new URL(JIRA_URL + "browse/" + KEY));
+        issue.setTrackerId(KEY);
+        issue.setSummary("Summary");
+        issue.setStatus(status);
+        issue.setSnapshot(JiraIssueSnapshot.of(mockJiraIssue(retrievedStatus)));
+        return issue;
+    }
+
+    private void setCurrentState(String status, String... transitions) {
+        when(issueClient.getIssue(KEY)).thenReturn(Promises.promise(mockJiraIssue(status)));
+        setTransitions(transitions);
+    }
+
+    private void setTransitions(String... names) {
+        Transition[] transitions = new Transition[names.length];
+        for (int i = 0; i < names.length; i++)
+            transitions[i] = new Transition(names[i], i + 1, Collections.emptyList());
+        when(issueClient.getTransitions(any(URI.class))).thenReturn(Promises.promise(Arrays.asList(transitions)));
+    }
+
+    @Test
+    public void transitionsKeyIgnoresCaseTest() {
+        JiraIssueSnapshot retrieved = JiraIssueSnapshot.of(mockJiraIssue("Coding In Progress"));
+        JiraIssueSnapshot transitioned = JiraIssueSnapshot.of(mockJiraIssue("Open"))
+                .withStatus(JiraFields.getJiraStatus(IssueStatus.ASSIGNED));
+
+        assertEquals(retrieved.getTransitionsKey(), transitioned.getTransitionsKey());
+    }
+
+    @Test
+    public void outdatedStatusRefreshedTest() throws Exception {
+        // retrieved when open, but the issue has been assigned since then
+        JiraIssue issue = createIssue("Open", IssueStatus.MODIFIED);
+        setCurrentState("Coding In Progress", "Stop Progress", "Resolve Issue");
+        when(issueClient.getTransitions(any(URI.class))).thenReturn(Promises.promise(Collections.emptyList()),
+                Promises.promise(Collections.singletonList(new Transition("Resolve Issue", 5, Collections.emptyList()))));
+
+        assertTrue(tracker.updateIssue(issue));
+
+        verify(issueClient).getIssue(KEY);
+        verify(issueClient, times(1)).updateIssue(anyString(), any(IssueInput.class));
+        verify(issueClient, times(1)).transition(any(URI.class), any(TransitionInput.class));
+        assertEquals(JiraFields.getJiraStatus(IssueStatus.MODIFIED), issue.getSnapshot().getStatus());
+    }
+
+    @Test
+    public void missingTransitionTest() throws Exception {
+        JiraIssue issue = createIssue("Open", IssueStatus.MODIFIED);
+        setCurrentState("Open", "Start Progress");
+
+        // the issue cannot be resolved from its current status, so only its fields are updated
+        assertTrue(tracker.updateIssue(issue));
+
+        verify(issueClient, times(1)).updateIssue(anyString(), any(IssueInput.class));
+        verify(issueClient, never()).transition(any(URI.class), any(TransitionInput.class));
+        assertEquals("Open", issue.getSnapshot().getStatus());
+    }
+
+    @Test
+    public void fieldsNotUpdatedTwiceTest() throws Exception {
+        JiraIssue issue = createIssue("Open", IssueStatus.MODIFIED);
+        setCurrentState("Open", "Resolve Issue");
+        // the summary is not on the screen of the transition, so the fields are updated first
+        when(issueClient.transition(any(URI.class), any(TransitionInput.class)))
+                .thenReturn(Promises.rejected(new RestClientException(new IllegalStateException("Conflict"))))
+                .thenReturn(Promises.promise(null));
+
+        assertTrue(tracker.updateIssue(issue));
+
+        verify(issueClient, times(1)).updateIssue(anyString(), any(IssueInput.class));
+        verify(issueClient, times(2)).transition(any(URI.class), any(TransitionInput.class));
+    }
+
+    @Test
+    public void lookupIssuesTest() throws Exception {
+        // JBEAP-1 has been moved to JBEAP-10, and JBEAP-3 does not exist
+        SearchRestClient searchClient = mock(SearchRestClient.class);
+        when(restClient.getSearchClient()).thenReturn(searchClient);
+        List<com.atlassian.jira.rest.client.api.domain.Issue> found = Arrays.asList(
+                mockJiraIssue("JBEAP-10", "Open"), mockJiraIssue("JBEAP-2", "Open"));
+        when(searchClient.searchJql(anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Promises.promise(new SearchResult(0, 3, 2, found)));
+        when(issueClient.getIssue("JBEAP-1")).thenReturn(Promises.promise(found.get(0)));
+        when(issueClient.getIssue("JBEAP-3"))
+                .thenReturn(Promises.rejected(new RestClientException(new IllegalStateException("Not found"))));
+
+        URL missing = new URL(JIRA_URL + "browse/JBEAP-3");
+        IssueLookupResult result = tracker.lookupIssues(Arrays.asList(
+                new URL(JIRA_URL + "browse/JBEAP-1"), new URL(JIRA_URL + "browse/JBEAP-2"), missing));
+
+        List<String> keys = result.getIssues().stream()
+                .map(issue -> issue.getTrackerId().get())
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("JBEAP-10", "JBEAP-2"), keys);
+        assertEquals(Collections.singletonList(missing), result.getUnresolvedUrls());
+        assertFalse(result.isComplete());
+    }
+
+    @Test
+    public void lookupIssuesCappedPageTest() throws Exception {
+        // the server returns at most 2 issues per page, although the 3 keys were requested at once
+        SearchRestClient searchClient = mock(SearchRestClient.class);
+        when(restClient.getSearchClient()).thenReturn(searchClient);
+        when(searchClient.searchJql(anyString(), anyInt(), eq(0), any())).thenReturn(Promises.promise(new SearchResult(
+                0, 2, 3, Arrays.asList(mockJiraIssue("JBEAP-1", "Open"), mockJiraIssue("JBEAP-2", "Open")))));
+        when(searchClient.searchJql(anyString(), anyInt(), eq(2), any())).thenReturn(Promises.promise(new SearchResult(
+                2, 2, 3, Collections.singletonList(mockJiraIssue("JBEAP-3", "Open")))));
+
+        IssueLookupResult result = tracker.lookupIssues(Arrays.asList(new URL(JIRA_URL + "browse/JBEAP-1"),
+                new URL(JIRA_URL + "browse/JBEAP-2"), new URL(JIRA_URL + "browse/JBEAP-3")));
+
+        assertEquals(Arrays.asList("JBEAP-1", "JBEAP-2", "JBEAP-3"), getKeys(result.getIssues()));
+        assertTrue(result.isComplete());
+        verify(issueClient, never()).getIssue(anyString());
+    }
+
+    private static Version version(String name) {
+        return new Version(URI.create(JIRA_URL + "rest/api/2/version/" + name.trim()), null, name, null, false, false, null);
+    }
+
+    @Test
+    public void issuesByFixVersionTest() throws Exception {
+        SearchRestClient searchClient = mock(SearchRestClient.class);
+        when(restClient.getSearchClient()).thenReturn(searchClient);
+        com.atlassian.jira.rest.client.api.domain.Issue first = mockJiraIssue("JBEAP-1", "Open");
+        // the names of the versions are trimmed
+        when(first.getFixVersions()).thenReturn(Collections.singletonList(version("7.4.1.GA ")));
+        com.atlassian.jira.rest.client.api.domain.Issue both = mockJiraIssue("JBEAP-2", "Open");
+        when(both.getFixVersions()).thenReturn(Arrays.asList(version("7.4.1.GA"), version("7.4.2.GA"), version("8.0.0.GA")));
+        when(searchClient.searchJql(anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Promises.promise(new SearchResult(0, 100, 2, Arrays.asList(first, both))));
+
+        Map<String, List<Issue>> issuesByVersion = tracker.getIssuesByFixVersion("JBEAP", Arrays.asList("7.4.1.GA", "7.4.2.GA"));
+
+        assertEquals(2, issuesByVersion.size());
+        assertEquals(Arrays.asList("JBEAP-1", "JBEAP-2"), getKeys(issuesByVersion.get("7.4.1.GA")));
+        // 8.0.0.GA was not requested
+        assertEquals(Collections.singletonList("JBEAP-2"), getKeys(issuesByVersion.get("7.4.2.GA")));
+        verify(searchClient, times(1)).searchJql(anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void missingFixVersionTest() throws Exception {
+        SearchRestClient searchClient = mock(SearchRestClient.class);
+        when(restClient.getSearchClient()).thenReturn(searchClient);
+        when(searchClient.searchJql(anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(Promises.promise(new SearchResult(0, 100, 0, Collections.emptyList())));
+
+        Map<String, List<Issue>> issuesByVersion = tracker.getIssuesByFixVersion("JBEAP", Collections.singletonList("7.4.99.GA"));
+
+        assertEquals(Collections.singletonMap("7.4.99.GA", Collections.emptyList()), issuesByVersion);
+    }
+
+    @Test
+    public void incrementalSearchTest() throws Exception {
+        SearchRestClient searchClient = mock(SearchRestClient.class);
+        when(restClient.getSearchClient()).thenReturn(searchClient);
+        when(searchClient.searchJql(anyString(), anyInt(), anyInt(), any())).thenReturn(Promises.promise(new SearchResult(
+                0, 100, 2, Arrays.asList(mockJiraIssue("JBEAP-1", "Open"), mockJiraIssue("JBEAP-2", "Open")))));
+        when(searchClient.searchJql(contains("updated >= '-"), anyInt(), anyInt(), any())).thenReturn(Promises.promise(
+                new SearchResult(0, 100, 1, Collections.singletonList(mockJiraIssue("JBEAP-2", "Closed")))));
+        SearchCriteria criteria = new SearchCriteria.Builder().setProduct("JBEAP").build();
+
+        List<Issue> first = tracker.searchIssuesIncrementally(criteria);
+        first.get(0).setSummary("Modified by the caller");
+        List<Issue> second = tracker.searchIssuesIncrementally(criteria);
+
+        assertEquals(Arrays.asList("JBEAP-1", "JBEAP-2"), getKeys(second));
+        // the kept issues are not shared with the callers
+        assertEquals("Summary of JBEAP-1", second.get(0).getSummary().get());
+        assertEquals("OPEN", first.get(1).getRawStatus());
+        assertEquals("CLOSED", second.get(1).getRawStatus());
+        verify(searchClient, times(1)).searchJql(contains("updated >= '-"), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void paginateResultsTest() throws Exception {
+        // 100 issues are requested per page, but the server caps the pages at 10 of the 95 matching issues
+        int total = 95;
+        int pageSize = 10;
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Map<Integer, Promise<SearchResult>> pages = new HashMap<>();
+        for (int startAt = 0; startAt < total; startAt += pageSize) {
+            List<com.atlassian.jira.rest.client.api.domain.Issue> page = new ArrayList<>();
+            for (int i = startAt + 1; i <= Math.min(startAt + pageSize, total); i++)
+                page.add(mockJiraIssue("JBEAP-" + i, "Open"));
+            SearchResult result = new SearchResult(startAt, pageSize, total, page);
+            Promise<SearchResult> promise = mock(Promise.class);
+            when(promise.get()).thenAnswer(invocation -> {
+                inFlight.decrementAndGet();
+                return result;
+            });
+            pages.put(startAt, promise);
+        }
+        List<Integer> startPositions = new ArrayList<>();
+        SearchRestClient searchClient = mock(SearchRestClient.class);
+        when(restClient.getSearchClient()).thenReturn(searchClient);
+        when(searchClient.searchJql(anyString(), anyInt(), anyInt(), any())).thenAnswer(invocation -> {
+            int startAt = invocation.getArgument(2);
+            startPositions.add(startAt);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return pages.get(startAt);
+        });
+
+        List<Issue> issues = tracker.searchIssues(new SearchCriteria.Builder().setProduct("JBEAP").build());
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= total; i++)
+            expected.add("JBEAP-" + i);
+        assertEquals(expected, getKeys(issues));
+        assertEquals(Arrays.asList(0, 10, 20, 30, 40, 50, 60, 70, 80, 90), startPositions);
+        verify(searchClient, times(1)).searchJql(anyString(), eq(100), eq(0), any());
+        verify(searchClient, times(9)).searchJql(anyString(), eq(pageSize), anyInt(), any());
+        assertEquals(IssueTrackerConfig.DEFAULT_MAX_CONCURRENT_REQUESTS, maxInFlight.get());
+    }
+
+    private static List<String> getKeys(List<Issue> issues) {
+        return issues.stream()
+                .map(issue -> issue.getTrackerId().get())
+                .collect(Collectors.toList());
+    }
+
+    private static com.atlassian.jira.rest.client.api.domain.Comment mockComment(long id) {
+        com.atlassian.jira.rest.client.api.domain.Comment comment = mock(com.atlassian.jira.rest.client.api.domain.Comment.class);
+        when(comment.getId()).thenReturn(id);
+        when(comment.getBody()).thenReturn("Comment " + id);
+        return comment;
+    }
+
+    private JiraIssue createLazyIssue() throws Exception {
+        JiraIssue issue = new JiraIssue(new URL(JIRA_URL + "browse/" + KEY));
+        issue.setTrackerId(KEY);
+        issue.setCommentsLoader(() -> tracker.getComments(KEY));
+        issue.setChangelogLoader(() -> tracker.getChangelog(KEY));
+        return issue;
+    }
+
+    @Test
+    public void lazyCommentsTest() throws Exception {
+        when(pagedIssueClient.getComments(eq(KEY), anyLong(), anyInt())).thenReturn(
+                Promises.promise(new Page<>(0, 1, false, Collections.singletonList(mockComment(1)))),
+                Promises.promise(new Page<>(1, 1, true, Collections.singletonList(mockComment(2)))));
+
+        JiraIssue issue = createLazyIssue();
+        verify(pagedIssueClient, never()).getComments(anyString(), anyLong(), anyInt());
+
+        List<String> bodies = issue.getComments().stream().map(Comment::getBody).collect(Collectors.toList());
+        assertEquals(Arrays.asList("Comment 1", "Comment 2"), bodies);
+        assertEquals(2, issue.getComments().size());
+        // both pages are requested once
+        verify(pagedIssueClient, times(2)).getComments(eq(KEY), anyLong(), anyInt());
+        assertTrue(issue.toString().contains("#comments=2"));
+    }
+
+    @Test
+    public void lazyCommentsFailureTest() throws Exception {
+        when(pagedIssueClient.getComments(eq(KEY), anyLong(), anyInt()))
+                .thenReturn(Promises.rejected(new RestClientException(new IllegalStateException("Unavailable"))))
+                .thenReturn(Promises.promise(new Page<>(0, 1, true, Collections.singletonList(mockComment(1)))));
+        JiraIssue issue = createLazyIssue();
+
+        try {
+            issue.getComments();
+            fail("The comments cannot be retrieved");
+        } catch (UncheckedAphroditeException e) {
+            assertTrue(e.getCause() instanceof NotFoundException);
+            assertTrue(e.getMessage(), e.getMessage().contains(KEY));
+        }
+        // the comments are retrieved again on the next access
+        assertEquals(1, issue.getComments().size());
+    }
+
+    @Test
+    public void lazyChangelogFailureTest() throws Exception {
+        when(pagedIssueClient.getChangelog(eq(KEY), anyLong(), anyInt()))
+                .thenReturn(Promises.rejected(new RestClientException(new IllegalStateException("Unavailable"))));
+        JiraIssue issue = createLazyIssue();
+
+        try {
+            issue.getChangelog();
+            fail("The changelog cannot be retrieved");
+        } catch (UncheckedAphroditeException e) {
+            assertTrue(e.getCause() instanceof NotFoundException);
+        }
+        // not a missing endpoint, so the issue is not retrieved with its whole changelog instead
+        verify(pagedIssueClient, never()).getIssue(anyString(), any(), any());
+    }
+
+    @Test
+    public void releasedVersionNoticedTest() throws Exception {
+        when(project.getVersions()).thenReturn(Collections.singletonList(new Version(null, 1L, "7.4.1.GA", null, false, false, null)));
+        assertFalse(tracker.isCPReleased("7.4.1.GA"));
+
+        // released in JIRA, while the metadata is cached
+        when(project.getVersions()).thenReturn(Collections.singletonList(new Version(null, 1L, "7.4.1.GA", null, false, true, null)));
+        assertFalse(tracker.isCPReleased("7.4.1.GA"));
+        verify(projectClient, times(1)).getProject("JBEAP");
+
+        // the unreleased version is checked again once the metadata is old enough
+        tracker.releaseStateMaxAgeMillis = 0;
+        assertTrue(tracker.isCPReleased("7.4.1.GA"));
+        verify(projectClient, times(2)).getProject("JBEAP");
+        // a released version is not checked again
+        assertTrue(tracker.isCPReleased("7.4.1.GA"));
+        verify(projectClient, times(2)).getProject("JBEAP");
+    }
+
+    @Test
+    public void versionsCachedTest() throws Exception {
+        when(project.getVersions()).thenReturn(Collections.singletonList(new Version(null, 1L, "7.4.1.GA", null, false, false, null)));
+        assertFalse(tracker.getVersionsByProject("JBEAP").iterator().next().isReleased());
+
+        // the release state is only checked again by isCPReleased, the versions are served until the metadata refresh
+        when(project.getVersions()).thenReturn(Collections.singletonList(new Version(null, 1L, "7.4.1.GA", null, false, true, null)));
+        tracker.releaseStateMaxAgeMillis = 0;
+        assertFalse(tracker.getVersionsByProject("JBEAP").iterator().next().isReleased());
+        verify(projectClient, times(1)).getProject("JBEAP");
+
+        assertTrue(tracker.isCPReleased("7.4.1.GA"));
+        assertTrue(tracker.getVersionsByProject("JBEAP").iterator().next().isReleased());
+        verify(projectClient, times(2)).getProject("JBEAP");
+    }
+}
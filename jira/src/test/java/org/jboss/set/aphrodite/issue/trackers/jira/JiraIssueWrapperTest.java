@@ -151,6 +151,27 @@ public class JiraIssueWrapperTest {
         assertNull(result);
     }
 
+    @Test
+    public void projectedJIRAToIssueTest() {
+        Set<String> fields = JiraFields.withRequiredSearchFields(new HashSet<>(
+                Collections.singletonList("fixVersions")));
+        Issue result = issueWrapper.jiraSearchIssueToIssue(jiraURL, jiraIssue01, fields);
+
+        assertNotNull(result);
+        assertEquals("Test Issue", result.getSummary().get());
+        assertEquals(IssueStatus.NEW, result.getStatus());
+        assertEquals(Collections.singletonList(new Release("6.4.4")), result.getReleases());
+        assertEquals("EAP", result.getProduct().get());
+        assertTrue(result.getComponents().isEmpty());
+        assertTrue(result.getComments().isEmpty());
+        assertTrue(result.getStreamStatus().isEmpty());
+        assertEquals(FlagStatus.NO_SET, result.getStage().getStatus(Flag.DEV));
+        assertNull(result.getPriority());
+        assertNull(((JiraIssue) result).getResolution());
+        assertTrue(!result.getDescription().isPresent());
+        assertTrue(!result.getAssignee().isPresent());
+    }
+
     private void mockJiraIssue01() {
         when(jiraIssue01.getKey()).thenReturn("1111111");
         when(jiraIssue01.getDescription()).thenReturn("Test jira");
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.set.aphrodite.issue.trackers.jira;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class JiraQueryBuilderTest {
+
+    private final JiraQueryBuilder queryBuilder = new JiraQueryBuilder();
+
+    @Test
+    public void multipleIssueJQLTest() {
+        assertEquals("key in ('WFLY-1', 'JBEAP-2')", queryBuilder.getMultipleIssueJQL(Arrays.asList("WFLY-1", "JBEAP-2")));
+    }
+
+    @Test
+    public void multipleIssueChunksByCountTest() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < JiraQueryBuilder.MAX_ISSUES_PER_QUERY * 2 + 1; i++)
+            keys.add("A-" + i);
+
+        List<List<String>> chunks = queryBuilder.getMultipleIssueChunks(keys);
+        assertEquals(3, chunks.size());
+        assertEquals(1, chunks.get(2).size());
+        assertEquals(keys, chunks.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void multipleIssueChunksByLengthTest() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < JiraQueryBuilder.MAX_ISSUES_PER_QUERY; i++)
+            keys.add("LONGPROJECTKEY-" + (100000 + i));
+
+        List<List<String>> chunks = queryBuilder.getMultipleIssueChunks(keys);
+        assertTrue(chunks.size() > 1);
+        for (List<String> chunk : chunks)
+            assertTrue(queryBuilder.getMultipleIssueJQL(chunk).length() <= JiraQueryBuilder.MAX_MULTIPLE_ISSUE_JQL_LENGTH);
+        assertEquals(keys, chunks.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void fixVersionsJQLTest() {
+        assertEquals("project = 'JBEAP' AND fixVersion in ('7.4.0.GA', '7.4.0.CR1')",
+                queryBuilder.getFixVersionsJQL("JBEAP", Arrays.asList("7.4.0.GA", "7.4.0.CR1")));
+    }
+
+    @Test
+    public void fixVersionChunksByLengthTest() {
+        List<String> versions = new ArrayList<>();
+        for (int i = 0; i < 200; i++)
+            versions.add("8.0 Update " + i);
+
+        List<List<String>> chunks = queryBuilder.getFixVersionChunks("JBEAP", versions);
+        assertTrue(chunks.size() > 1);
+        for (List<String> chunk : chunks)
+            assertTrue(queryBuilder.getFixVersionsJQL("JBEAP", chunk).length() <= JiraQueryBuilder.MAX_MULTIPLE_ISSUE_JQL_LENGTH);
+        assertEquals(versions, chunks.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void updatedSinceJQLTest() {
+        assertEquals("(project = 'WFLY') AND updated >= '-12m'", queryBuilder.getUpdatedSinceJQL("project = 'WFLY'", 12));
+        assertEquals("(project = WFLY OR project = JBEAP) AND updated >= '-5m' order by key DESC",
+                queryBuilder.getUpdatedSinceJQL("project = WFLY OR project = JBEAP order by key DESC", 5));
+        assertEquals("updated >= '-5m' ORDER BY updated", queryBuilder.getUpdatedSinceJQL("ORDER BY updated", 5));
+        assertEquals("updated >= '-5m'", queryBuilder.getUpdatedSinceJQL("", 5));
+    }
+
+    @Test
+    public void unknownIssueKeysTest() {
+        String message = "RestClientException{statusCode=Optional.of(400), errorCollections=[ErrorCollection{status=400, "
+                + "errors={}, errorMessages=[An issue with key 'WFLY-0' does not exist for field 'key'., "
+                + "The issue key 'foo' for field 'key' is invalid.]}]}";
+        assertEquals(Arrays.asList("WFLY-0", "foo"), new ArrayList<>(JiraFields.getUnknownIssueKeys(message)));
+    }
+}